@@ -0,0 +1,74 @@
+package com.example.coconote.common;
+
+import com.example.coconote.api.search.dto.EntityType;
+import com.example.coconote.api.search.dto.IndexEntityMessage;
+import com.example.coconote.api.search.entity.ThreadDocument;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 검색 인덱싱 리스너의 메시지 파싱 비용 비교
+// perMessageMapper: 메시지마다 ObjectMapper 를 새로 만들고 문자열로 감싼 JSON 을 두 번 파싱하던 예전 방식
+// sharedCodec: KafkaMessageCodec 하나를 공유하고 봉투를 한 번만 파싱하는 현재 방식
+// 실행: ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaMessageCodecBenchmark {
+
+    private KafkaMessageCodec codec;
+    private String message;
+    private String legacyMessage;
+
+    @Setup
+    public void setUp() throws Exception {
+        codec = new KafkaMessageCodec();
+        ThreadDocument document = ThreadDocument.builder()
+                .threadId("42")
+                .content("검색 인덱싱 벤치마크용 쓰레드 본문입니다. ".repeat(10))
+                .workspaceMemberId(7L)
+                .memberName("member")
+                .channelId(3L)
+                .channelName("general")
+                .createdTime("2024-10-01T12:00:00")
+                .fileUrls(List.of("https://example.com/a.png", "https://example.com/b.pdf"))
+                .tags(List.of("backend", "search", "kafka"))
+                .build();
+        ObjectMapper objectMapper = codec.getObjectMapper();
+        message = objectMapper.writeValueAsString(new IndexEntityMessage<>(1L, EntityType.THREAD, document));
+        legacyMessage = objectMapper.writeValueAsString(message);
+    }
+
+    @Benchmark
+    public ThreadDocument perMessageMapper() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        String json = objectMapper.readValue(legacyMessage, String.class);
+        JsonNode envelope = objectMapper.readTree(json);
+        return objectMapper.treeToValue(envelope.get("entity"), ThreadDocument.class);
+    }
+
+    @Benchmark
+    public ThreadDocument sharedCodec() {
+        IndexEntityMessage<JsonNode> envelope = codec.decodeIndexEntityMessage(message);
+        return codec.decode(envelope.getEntity(), ThreadDocument.class);
+    }
+}
@@ -65,6 +65,7 @@ public class BlockController {
     )
     @GetMapping("/{canvasId}/list")
     public ResponseEntity<?> getBlockListFromCanvas(@PathVariable Long canvasId){
+        blockService.prepareBlockList(canvasId);
         List<BlockListResDto> blockListResDtos = blockService.getBlockListFromCanvas(canvasId);
         CommonResDto commonResDto = new CommonResDto(HttpStatus.OK, "Canvas 기준으로 블록 리스트가 성공적으로 조회되었습니다.", blockListResDtos);
         return new ResponseEntity<>(commonResDto, HttpStatus.OK);
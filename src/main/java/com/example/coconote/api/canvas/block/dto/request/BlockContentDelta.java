@@ -0,0 +1,21 @@
+package com.example.coconote.api.canvas.block.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 블록 내용 변경 한 조각: position 부터 deleteCount 글자를 지우고 그 자리에 text 를 넣는다
+// 위치는 직전 조각까지 적용된 문자열 기준 (front 문자열 인덱스와 같은 UTF-16 단위)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BlockContentDelta {
+    private Integer position;
+
+    @Builder.Default
+    private Integer deleteCount = 0;
+
+    private String text;
+}
@@ -32,6 +32,7 @@ public class BlockListResDto {
 
     private Integer level;
     private Integer indent;
+    private Long version; // 블록 내용 버전 (delta 편집의 기준 버전)
 
 }
 
@@ -20,6 +20,7 @@ import java.util.Objects;
 
 @Slf4j
 @Entity
+@Table(indexes = @Index(name = "idx_block_canvas_order_key", columnList = "canvas_id, order_key"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -60,6 +61,15 @@ public class Block extends BaseEntity {
     @Column(unique = true)
     private String feId; // 프론트에서 적용해주는 uuid 형식의 block id
 
+    // 캔버스 안의 문서 순서 (fractional index, 문자열 오름차순 = 문서 순서)
+    // 아직 변환되지 않은 예전 블록은 null 이고, 그동안은 prevBlock 연결로 순서를 계산한다
+    @Column(name = "order_key", length = 64)
+    private String orderKey;
+
+    // 내용이 바뀔 때마다 1씩 오르는 버전 (delta 편집이 어느 내용을 기준으로 만들어졌는지 확인)
+    @Column(name = "content_version")
+    private Long contentVersion;
+
     // 소프트 삭제 메서드
     public void markAsDeleted(List<Block> parentLinkedChildrenBlocks) {
         this.isDeleted = IsDeleted.Y;
@@ -77,6 +87,10 @@ public class Block extends BaseEntity {
         this.prevBlock = block;
     }
 
+    public void changeOrderKey(String orderKey) {
+        this.orderKey = orderKey;
+    }
+
     public void updateAllInfo(Block prevBlock, Block parentBlock, String contents) {
         if (this.prevBlock == null || (this.prevBlock != null && !Objects.equals(this.prevBlock.getId(), prevBlock.getId()))) {
             this.prevBlock = prevBlock;
@@ -88,9 +102,21 @@ public class Block extends BaseEntity {
 
         if (!Objects.equals(this.contents, contents)) {
             this.contents = contents;
+            this.contentVersion = currentContentVersion() + 1;
         }
     }
 
+    public long currentContentVersion() {
+        return contentVersion != null ? contentVersion : 0L;
+    }
+
+    // 캔버스 세션(메모리)에서 편집된 최종 상태를 그대로 반영
+    public void applySessionState(String contents, Integer indent, long contentVersion) {
+        this.contents = contents;
+        this.indent = indent;
+        this.contentVersion = contentVersion;
+    }
+
     public BlockListResDto fromEntity() {
         return BlockListResDto.builder()
                 .feId(this.feId)
@@ -100,6 +126,7 @@ public class Block extends BaseEntity {
                 .content(this.contents)
                 .workspaceMemberId(this.workspaceMember != null ? this.workspaceMember.getWorkspaceMemberId() : null)
                 .prevBlockFeId(this.prevBlock != null ? this.prevBlock.getFeId() : null) // 이전 블록의 feId 설정
+                .version(currentContentVersion())
                 .build();
     }
 
@@ -114,6 +141,8 @@ public class Block extends BaseEntity {
                 .type(this.type)
                 .level(this.level)
                 .feId(this.feId)
+                .orderKey(this.orderKey)
+                .contentVersion(this.contentVersion)
                 .build();
     }
 
@@ -123,6 +152,7 @@ public class Block extends BaseEntity {
 
     public void patchBlockContents(String blockContents) {
         this.contents = blockContents;
+        this.contentVersion = currentContentVersion() + 1;
     }
 
     // HTML 태그를 모두 제거하고 텍스트만 추출하는 메서드
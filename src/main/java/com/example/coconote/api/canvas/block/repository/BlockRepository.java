@@ -2,9 +2,13 @@ package com.example.coconote.api.canvas.block.repository;
 
 import com.example.coconote.api.canvas.block.entity.Block;
 import com.example.coconote.common.IsDeleted;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +20,8 @@ public interface BlockRepository extends JpaRepository<Block, Long> {
 
     Optional<Block> findByFeIdAndIsDeleted(String feId, IsDeleted isDeleted);
 
+    List<Block> findByFeIdInAndIsDeleted(Collection<String> feIds, IsDeleted isDeleted);
+
     Optional<Block> findByPrevBlockFeIdAndIsDeleted(String feId, IsDeleted isDeleted);
     Optional<Block> findByPrevBlock_FeIdAndIsDeleted(String feId, IsDeleted isDeleted);
 
@@ -29,4 +35,17 @@ public interface BlockRepository extends JpaRepository<Block, Long> {
     Optional<Block> findByCanvasIdAndIsDeletedAndPrevBlockFeId(Long canvasId, String prevBlockFeId, IsDeleted isDeleted);
 
     Optional<Block> findByCanvasIdAndPrevBlockIsNullAndIsDeleted(Long canvasId, IsDeleted isDeleted);
+
+    // 순서 키 기반 조회
+    List<Block> findByCanvasIdAndIsDeletedOrderByOrderKeyAscIdAsc(Long canvasId, IsDeleted isDeleted);
+
+    Optional<Block> findFirstByCanvasIdAndIsDeletedOrderByOrderKeyAscIdAsc(Long canvasId, IsDeleted isDeleted);
+
+    Optional<Block> findFirstByCanvasIdAndIsDeletedAndOrderKeyGreaterThanOrderByOrderKeyAscIdAsc(Long canvasId, IsDeleted isDeleted, String orderKey);
+
+    boolean existsByCanvasIdAndIsDeletedAndOrderKeyIsNull(Long canvasId, IsDeleted isDeleted);
+
+    // 순서 키가 아직 없는 블록이 남아 있는 캔버스 (백그라운드 변환 대상)
+    @Query("SELECT DISTINCT b.canvas.id FROM Block b WHERE b.orderKey IS NULL AND b.isDeleted = :isDeleted")
+    List<Long> findCanvasIdsWithoutOrderKey(@Param("isDeleted") IsDeleted isDeleted, Pageable pageable);
 }
@@ -0,0 +1,53 @@
+package com.example.coconote.api.canvas.block.service;
+
+import com.example.coconote.api.canvas.block.dto.request.BlockContentDelta;
+import com.example.coconote.api.canvas.canvas.dto.request.CanvasSocketReqDto;
+
+import java.util.List;
+
+// 블록 내용 delta 전송
+// 클라이언트는 자신이 가진 블록 버전(blockBaseVersion)에 대한 변경 조각(blockDelta)만 보내고,
+// 서버는 버전이 맞으면 적용 후 같은 조각을 새 버전(blockVersion)과 함께 다시 브로드캐스트한다
+// 버전이 맞지 않거나 조각을 적용할 수 없으면 서버의 현재 내용 전체(snapshot)를 브로드캐스트해서 모두 다시 맞춘다
+// blockDelta 없이 blockContents 를 보내는 예전 방식도 그대로 받는다
+final class BlockDeltas {
+
+    private BlockDeltas() {
+    }
+
+    // 메시지를 현재 내용에 적용한 새 내용, 적용할 수 없으면 null
+    static String apply(String contents, long version, CanvasSocketReqDto message) {
+        List<BlockContentDelta> delta = message.getBlockDelta();
+        if (delta == null) {
+            return message.getBlockContents();
+        }
+        if (message.getBlockBaseVersion() == null || message.getBlockBaseVersion() != version) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder(contents != null ? contents : "");
+        for (BlockContentDelta op : delta) {
+            int position = op.getPosition() != null ? op.getPosition() : -1;
+            int deleteCount = op.getDeleteCount() != null ? op.getDeleteCount() : 0;
+            if (position < 0 || deleteCount < 0 || position + deleteCount > result.length()) {
+                return null;
+            }
+            result.replace(position, position + deleteCount, op.getText() != null ? op.getText() : "");
+        }
+        return result.toString();
+    }
+
+    // 적용 성공: delta 로 보낸 메시지는 내용 전체를 빼고 조각과 새 버전만 브로드캐스트
+    static void toApplied(CanvasSocketReqDto message, long newVersion) {
+        if (message.getBlockDelta() != null) {
+            message.setBlockContents(null);
+        }
+        message.setBlockVersion(newVersion);
+    }
+
+    // 버전 불일치: 조각 대신 서버의 현재 내용 전체를 브로드캐스트
+    static void toSnapshot(CanvasSocketReqDto message, String contents, long version) {
+        message.setBlockDelta(null);
+        message.setBlockContents(contents);
+        message.setBlockVersion(version);
+    }
+}
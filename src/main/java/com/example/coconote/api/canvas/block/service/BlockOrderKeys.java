@@ -0,0 +1,126 @@
+package com.example.coconote.api.canvas.block.service;
+
+// 블록 순서 키 (fractional index)
+// 키는 0~9, a~z 36진수 소수부 자릿수 문자열이고, 문자열 비교 순서가 곧 문서 순서다
+// 두 키 사이에는 항상 새 키를 만들 수 있어서 삽입/이동 시 자기 행 하나만 쓰면 된다
+// - 소문자만 써서 DB 의 대소문자 무시 collation 에서도 정렬이 같다
+// - 마지막 자리가 '0' 인 키는 만들지 않는다 ("a" 와 "a0" 사이에는 키가 없기 때문)
+final class BlockOrderKeys {
+
+    static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final char ZERO = DIGITS.charAt(0);
+
+    // 같은 자리에 삽입이 반복되면 키가 길어지므로 이 길이를 넘으면 캔버스 키를 다시 고르게 나눈다
+    static final int REBALANCE_LENGTH = 24;
+
+    private BlockOrderKeys() {
+    }
+
+    // lower < upper 사이의 키 (lower 가 null 이면 맨 앞, upper 가 null 이면 맨 뒤)
+    static String between(String lower, String upper) {
+        String a = lower != null ? lower : "";
+        if (upper != null && a.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("순서 키 범위가 올바르지 않습니다: " + lower + " >= " + upper);
+        }
+        if (upper == null && !a.isEmpty()) {
+            return increment(a);
+        }
+        return midpoint(a, upper);
+    }
+
+    // lower < upper 사이에 오름차순 count 개의 키 (하위 블록과 함께 옮기거나, 키 없는 블록 여러 개를 한 자리에 채울 때)
+    // 양 끝이 모두 열려 있으면 고르게 나누고, 아니면 가운데 키부터 반씩 나눠서 키 길이가 count 의 로그로만 늘어나게 한다
+    static String[] between(String lower, String upper, int count) {
+        if (lower == null && upper == null) {
+            return evenlySpaced(count);
+        }
+        String[] keys = new String[count];
+        fill(keys, 0, count, lower, upper);
+        return keys;
+    }
+
+    private static void fill(String[] keys, int from, int to, String lower, String upper) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        keys[mid] = between(lower, upper);
+        fill(keys, from, mid, lower, keys[mid]);
+        fill(keys, mid + 1, to, keys[mid], upper);
+    }
+
+    // 맨 뒤에 붙이는 경우: 중간값 대신 앞자리부터 1씩 올려서 연속으로 추가해도 키가 천천히 길어지게 한다
+    private static String increment(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            int digit = DIGITS.indexOf(key.charAt(i));
+            if (digit < BASE - 1) {
+                return key.substring(0, i) + DIGITS.charAt(digit + 1);
+            }
+        }
+        return key + DIGITS.charAt(1);
+    }
+
+    // count 개의 키를 같은 길이로 고르게 나눈다 (마이그레이션/재조정용)
+    static String[] evenlySpaced(int count) {
+        // 블록 수보다 한 자리 더 써서 각 키 사이에 36칸 이상 여유를 둔다
+        int width = 1;
+        long capacity = BASE;
+        while (capacity < count + 1L) {
+            width++;
+            capacity *= BASE;
+        }
+        width++;
+        capacity *= BASE;
+
+        long step = capacity / (count + 1L);
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = stripTrailingZeros(toDigits((i + 1) * step, width));
+        }
+        return keys;
+    }
+
+    // 공통 접두어를 건너뛰고, 첫 자리 사이에 빈 자리가 있으면 중간 자리 하나로, 없으면 한 자리 더 내려가서 찾는다
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            int n = 0;
+            while (n < b.length() && digitAt(a, n) == b.charAt(n)) {
+                n++;
+            }
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(a.substring(Math.min(n, a.length())), b.substring(n));
+            }
+        }
+        int digitA = a.isEmpty() ? 0 : DIGITS.indexOf(a.charAt(0));
+        int digitB = b != null ? DIGITS.indexOf(b.charAt(0)) : BASE;
+        if (digitB - digitA > 1) {
+            return String.valueOf(DIGITS.charAt((digitA + digitB + 1) / 2));
+        }
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(digitA) + midpoint(a.isEmpty() ? "" : a.substring(1), null);
+    }
+
+    private static char digitAt(String key, int index) {
+        return index < key.length() ? key.charAt(index) : ZERO;
+    }
+
+    private static String toDigits(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(digits);
+    }
+
+    private static String stripTrailingZeros(String key) {
+        int end = key.length();
+        while (end > 1 && key.charAt(end - 1) == ZERO) {
+            end--;
+        }
+        return key.substring(0, end);
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.coconote.api.canvas.block.service;
+
+import com.example.coconote.api.canvas.block.entity.Block;
+import com.example.coconote.api.canvas.block.repository.BlockRepository;
+import com.example.coconote.common.IsDeleted;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+// 블록 순서 키(orderKey) 관리
+// - 문서 순서는 예전 prevBlock/parentBlock 연결과 같다: 블록, 그 하위 블록들(parentBlock), 다음 형제 블록
+// - 삽입/이동: prevBlock(같은 레벨의 이전 블록, 첫 자식이면 부모 블록)의 하위 블록들 바로 뒤 키를 만들고,
+//   자기 행과 함께 움직이는 하위 블록만 수정한다 (이웃 블록의 prevBlock 은 고쳐 쓰지 않는다)
+//   그래서 저장된 prevBlock 연결은 더 이상 문서 순서가 아니고, 조회 응답의 prevBlockFeId 는 순서 키로 다시 계산한다 (BlockService)
+// - 예전 캔버스: 키가 없는 블록만 prevBlock 연결 순서에서 바로 앞의 키 있는 블록 뒤에 채운다 (편집/조회 트랜잭션 전에, 나머지는 백그라운드로)
+// - 같은 자리에 삽입이 반복되어 키가 길어지면 캔버스 전체 키를 다시 고르게 나눈다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlockOrderService {
+
+    private final BlockRepository blockRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${block.order-key.migration-batch-size:50}")
+    private int migrationBatchSize;
+
+    // self(새 블록이면 저장 전)를 prevBlock/parentBlock 이 가리키는 자리로 옮기고, 이미 있는 하위 블록도 순서를 지켜 바로 뒤로 같이 옮긴다
+    // prevBlock 이 부모 블록이면 첫 자식 자리, 아니면 prevBlock 의 하위 블록들 뒤, prevBlock 이 없으면 부모 바로 뒤 (부모도 없으면 맨 앞)
+    // 이미 그 자리에 있으면 키를 바꾸지 않는다, 반환값은 가장 긴 새 키 (rebalanceIfNeeded 용)
+    public String place(Long canvasId, Block self, Block prevBlock, Block parentBlock) {
+        List<Block> blocks = blockRepository.findByCanvasIdAndIsDeletedOrderByOrderKeyAscIdAsc(canvasId, IsDeleted.N);
+        List<Block> moving = self.getId() != null ? subtree(blocks, self) : new ArrayList<>(List.of(self));
+        Set<Long> movingIds = new HashSet<>();
+        moving.forEach(block -> movingIds.add(block.getId()));
+
+        // 나머지 블록 (키 순), 다른 캔버스 블록이나 함께 옮기는 블록을 가리키면 없는 것으로 본다
+        List<Block> rest = blocks.stream()
+                .filter(block -> !movingIds.contains(block.getId()) && block.getOrderKey() != null)
+                .toList();
+        Block prev = find(rest, prevBlock);
+        Block parent = find(rest, parentBlock);
+
+        Block anchor;
+        if (prev != null) {
+            anchor = parent != null && prev.getId().equals(parent.getId()) ? prev : last(subtree(rest, prev));
+        } else {
+            anchor = parent;
+        }
+        String lower = anchor != null ? anchor.getOrderKey() : null;
+        String upper = rest.stream()
+                .map(Block::getOrderKey)
+                .filter(key -> lower == null || key.compareTo(lower) > 0)
+                .findFirst()
+                .orElse(null);
+
+        if (inPlace(moving, lower, upper)) {
+            return self.getOrderKey();
+        }
+        String[] keys = BlockOrderKeys.between(lower, upper, moving.size());
+        String longest = keys[0];
+        for (int i = 0; i < keys.length; i++) {
+            moving.get(i).changeOrderKey(keys[i]);
+            if (keys[i].length() > longest.length()) {
+                longest = keys[i];
+            }
+        }
+        // self 는 호출하는 쪽에서 저장한다
+        blockRepository.saveAll(moving.subList(1, moving.size()));
+        return longest;
+    }
+
+    // 새로 만든 키가 너무 길어졌으면 같은 트랜잭션에서 캔버스 키를 다시 나눈다 (방금 저장한 블록도 포함)
+    public void rebalanceIfNeeded(Long canvasId, String orderKey) {
+        if (orderKey == null || orderKey.length() <= BlockOrderKeys.REBALANCE_LENGTH) {
+            return;
+        }
+        List<Block> blocks = blockRepository.findByCanvasIdAndIsDeletedOrderByOrderKeyAscIdAsc(canvasId, IsDeleted.N);
+        assignKeys(blocks);
+        log.info("Rebalanced block order keys - canvas: {}, blocks: {}", canvasId, blocks.size());
+    }
+
+    // 순서 키가 없는 예전 블록이 있으면 키를 채운다 (별도 트랜잭션으로 바로 커밋)
+    // 편집/조회 트랜잭션을 열기 전에 불러야 한다: REPEATABLE READ 트랜잭션 안에서 부르면 그 트랜잭션의 스냅샷에는 새 키가 보이지 않는다
+    public void ensureOrderKeys(Long canvasId) {
+        if (!blockRepository.existsByCanvasIdAndIsDeletedAndOrderKeyIsNull(canvasId, IsDeleted.N)) {
+            return;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> migrateCanvas(canvasId));
+    }
+
+    // 아직 변환되지 않은 캔버스를 조금씩 변환 (기본 1분마다 50개)
+    @Scheduled(fixedDelayString = "${block.order-key.migration-interval-ms:60000}", initialDelayString = "${block.order-key.migration-interval-ms:60000}")
+    public void migratePendingCanvases() {
+        List<Long> canvasIds = blockRepository.findCanvasIdsWithoutOrderKey(IsDeleted.N, PageRequest.of(0, migrationBatchSize));
+        for (Long canvasId : canvasIds) {
+            try {
+                ensureOrderKeys(canvasId);
+            } catch (RuntimeException e) {
+                log.error("Failed to migrate block order keys - canvas: {}", canvasId, e);
+            }
+        }
+        if (!canvasIds.isEmpty()) {
+            log.info("Migrated block order keys for {} canvases", canvasIds.size());
+        }
+    }
+
+    // 키가 있는 블록은 그대로 두고, 키가 없는 블록만 prevBlock 연결 순서에서 바로 앞의 키 있는 블록 뒤(그 다음 키 앞)에 채운다
+    // 롤링 배포 중 예전 서버가 키 없이 만든 블록이 섞여 들어와도, 이미 키로 옮겨진 블록의 순서는 바뀌지 않는다
+    private void migrateCanvas(Long canvasId) {
+        List<Block> blocks = blockRepository.findByCanvasIdAndIsDeleted(canvasId, IsDeleted.N);
+        if (blocks.stream().allMatch(block -> block.getOrderKey() != null)) {
+            return;
+        }
+        BlockOrdering.Result order = BlockOrdering.order(blocks);
+        if (order.hasBrokenLinks()) {
+            // 연결이 끊긴 블록은 문서 끝에 붙여서 키를 준다, 얼마나 자주 생기는지 메트릭으로 본다
+            log.warn("Canvas {} has blocks unreachable from the first block, appended at the end - orphaned: {}, cyclic: {}",
+                    canvasId, order.orphanIds(), order.cycleIds());
+            meterRegistry.counter("canvas.block.order.unreachable", "reason", "orphan").increment(order.orphanIds().size());
+            meterRegistry.counter("canvas.block.order.unreachable", "reason", "cycle").increment(order.cycleIds().size());
+        }
+
+        TreeSet<String> keys = new TreeSet<>();
+        blocks.stream().map(Block::getOrderKey).filter(Objects::nonNull).forEach(keys::add);
+        List<Block> changed = new ArrayList<>();
+        List<Block> run = new ArrayList<>();
+        String lower = null;
+        for (Block block : order.ordered()) {
+            if (block.getOrderKey() == null) {
+                run.add(block);
+                continue;
+            }
+            assignRun(run, lower, keys, changed);
+            lower = block.getOrderKey();
+        }
+        assignRun(run, lower, keys, changed);
+        blockRepository.saveAll(changed);
+        changed.stream()
+                .map(Block::getOrderKey)
+                .filter(key -> key.length() > BlockOrderKeys.REBALANCE_LENGTH)
+                .findFirst()
+                .ifPresent(key -> rebalanceIfNeeded(canvasId, key));
+    }
+
+    // 연속된 키 없는 블록들을 lower 와 키 순서상 그 다음 키 사이에 채운다
+    private void assignRun(List<Block> run, String lower, TreeSet<String> keys, List<Block> changed) {
+        if (run.isEmpty()) {
+            return;
+        }
+        String upper = lower == null ? (keys.isEmpty() ? null : keys.first()) : keys.higher(lower);
+        String[] runKeys = BlockOrderKeys.between(lower, upper, run.size());
+        for (int i = 0; i < runKeys.length; i++) {
+            run.get(i).changeOrderKey(runKeys[i]);
+            keys.add(runKeys[i]);
+        }
+        changed.addAll(run);
+        run.clear();
+    }
+
+    private void assignKeys(List<Block> orderedBlocks) {
+        String[] keys = BlockOrderKeys.evenlySpaced(orderedBlocks.size());
+        for (int i = 0; i < keys.length; i++) {
+            orderedBlocks.get(i).changeOrderKey(keys[i]);
+        }
+        blockRepository.saveAll(orderedBlocks);
+    }
+
+    // 이미 lower 와 upper 사이에 root 가 있고 하위 블록들이 그 뒤에 순서대로 있으면 옮길 필요가 없다
+    private boolean inPlace(List<Block> moving, String lower, String upper) {
+        String previous = lower;
+        for (Block block : moving) {
+            String key = block.getOrderKey();
+            if (key == null || (previous != null && key.compareTo(previous) <= 0)) {
+                return false;
+            }
+            previous = key;
+        }
+        return upper == null || previous.compareTo(upper) < 0;
+    }
+
+    // root 와 그 하위 블록들 (ordered 의 순서대로, root 가 맨 앞)
+    private List<Block> subtree(List<Block> ordered, Block root) {
+        Map<Long, List<Block>> children = new HashMap<>();
+        for (Block block : ordered) {
+            if (block.getParentBlock() != null) {
+                children.computeIfAbsent(block.getParentBlock().getId(), id -> new ArrayList<>()).add(block);
+            }
+        }
+        Set<Long> ids = new HashSet<>();
+        ids.add(root.getId());
+        Deque<Long> stack = new ArrayDeque<>(List.of(root.getId()));
+        while (!stack.isEmpty()) {
+            for (Block child : children.getOrDefault(stack.pop(), List.of())) {
+                if (ids.add(child.getId())) {
+                    stack.push(child.getId());
+                }
+            }
+        }
+        List<Block> result = new ArrayList<>();
+        result.add(root);
+        ordered.stream()
+                .filter(block -> !block.getId().equals(root.getId()) && ids.contains(block.getId()))
+                .forEach(result::add);
+        return result;
+    }
+
+    private Block find(List<Block> blocks, Block target) {
+        if (target == null) {
+            return null;
+        }
+        return blocks.stream().filter(block -> block.getId().equals(target.getId())).findFirst().orElse(null);
+    }
+
+    private Block last(List<Block> blocks) {
+        return blocks.get(blocks.size() - 1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.coconote.api.canvas.block.service;
+
+import com.example.coconote.api.canvas.block.entity.Block;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// prevBlock/parentBlock 연결로 캔버스 블록의 문서 순서 계산
+// 문서 순서는 이제 orderKey 로 정하므로(BlockOrderService), 이 계산은 순서 키가 없는 예전 블록을 변환할 때만 쓴다
+// prev -> next, parent -> children 인접 목록을 한 번에 만들고, 명시적 스택으로 깊이 우선 순회한다 (블록 수에 선형, 재귀 없음)
+// 순서 규칙: 블록 다음에 자식 블록들(및 각 자식의 다음 블록들), 그 다음에 자신의 다음 블록
+// 루트(prev 가 없는 블록)에서 닿지 않는 블록은
+// - orphan: prev/parent 가 캔버스에 없는 블록을 가리킴 (삭제된 블록 등)
+// - cycle : prev/parent 가 서로를 가리켜 루트로 이어지지 않음
+// 으로 보고하고, 내용이 사라지지 않도록 문서 끝에 id 순으로 붙인다 (호출하는 쪽에서 개수를 메트릭으로 남긴다)
+final class BlockOrdering {
+
+    private static final Comparator<Block> BY_ID = Comparator.comparing(Block::getId);
+
+    private BlockOrdering() {
+    }
+
+    static Result order(List<Block> blocks) {
+        List<Block> sorted = blocks.stream().sorted(BY_ID).toList();
+        Map<Long, Block> blockMap = new HashMap<>();
+        sorted.forEach(block -> blockMap.put(block.getId(), block));
+
+        // 인접 목록 (id 오름차순으로 채워진다)
+        Map<Long, List<Block>> children = new HashMap<>();
+        Map<Long, List<Block>> nexts = new HashMap<>();
+        List<Block> roots = new ArrayList<>();
+        for (Block block : sorted) {
+            Long prevId = block.getPrevBlock() != null ? block.getPrevBlock().getId() : null;
+            Long parentId = block.getParentBlock() != null ? block.getParentBlock().getId() : null;
+            if (prevId == null) {
+                roots.add(block);
+            } else {
+                nexts.computeIfAbsent(prevId, id -> new ArrayList<>()).add(block);
+            }
+            if (parentId != null) {
+                children.computeIfAbsent(parentId, id -> new ArrayList<>()).add(block);
+            }
+        }
+
+        List<Block> ordered = new ArrayList<>(sorted.size());
+        Set<Long> visited = new HashSet<>();
+        Deque<Iterator<Block>> stack = new ArrayDeque<>();
+        for (Block root : roots) {
+            if (!visited.add(root.getId())) {
+                continue;
+            }
+            ordered.add(root);
+            stack.push(successors(root, children, nexts));
+            while (!stack.isEmpty()) {
+                Iterator<Block> iterator = stack.peek();
+                if (!iterator.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                Block next = iterator.next();
+                if (visited.add(next.getId())) {
+                    ordered.add(next);
+                    stack.push(successors(next, children, nexts));
+                }
+            }
+        }
+
+        List<Long> orphanIds = new ArrayList<>();
+        List<Long> cycleIds = new ArrayList<>();
+        for (Block block : sorted) {
+            if (visited.contains(block.getId())) {
+                continue;
+            }
+            boolean dangling = (block.getPrevBlock() != null && !blockMap.containsKey(block.getPrevBlock().getId()))
+                    || (block.getParentBlock() != null && !blockMap.containsKey(block.getParentBlock().getId()));
+            (dangling ? orphanIds : cycleIds).add(block.getId());
+            ordered.add(block);
+        }
+        return new Result(ordered, blockMap, orphanIds, cycleIds);
+    }
+
+    // 자식 블록들 다음에 다음 블록들
+    private static Iterator<Block> successors(Block block, Map<Long, List<Block>> children, Map<Long, List<Block>> nexts) {
+        return Stream.concat(
+                children.getOrDefault(block.getId(), List.of()).stream(),
+                nexts.getOrDefault(block.getId(), List.of()).stream()
+        ).iterator();
+    }
+
+    // ordered: 문서 순서, blockMap: id -> 블록 (prev 블록 feId 조회용)
+    record Result(List<Block> ordered, Map<Long, Block> blockMap, List<Long> orphanIds, List<Long> cycleIds) {
+        boolean hasBrokenLinks() {
+            return !orphanIds.isEmpty() || !cycleIds.isEmpty();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.example.coconote.api.canvas.canvas.entity.Canvas;
 import com.example.coconote.api.canvas.canvas.service.CanvasService;
 import com.example.coconote.api.member.entity.Member;
 import com.example.coconote.api.member.repository.MemberRepository;
+import com.example.coconote.api.search.component.BlockIndexCoalescer;
 import com.example.coconote.api.search.dto.EntityType;
 import com.example.coconote.api.search.dto.IndexEntityMessage;
 import com.example.coconote.api.search.entity.CanvasBlockDocument;
@@ -44,11 +45,14 @@ public class BlockService {
     private final CanvasRepository canvasRepository; // 순환참조로 인해 service -> repository로 변경
     private final BlockRepository blockRepository;
     private final SearchService searchService;
+    private final BlockIndexCoalescer blockIndexCoalescer;
     private final CanvasBlockMapper canvasBlockMapper;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final MemberRepository memberRepository;
     private final WorkspaceRepository workspaceRepository;
     private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final BlockOrderService blockOrderService;
+    private final CanvasSessionManager canvasSessionManager;
 
 
     @Transactional
@@ -67,17 +71,10 @@ public class BlockService {
                     .orElseThrow(() -> new IllegalArgumentException("해당 부모 Block이 존재하지 않습니다."));
         }
 
-        Block existingBlock = null; // 현재 생성하는 block의 prev block이 null일 때 첫번째 block 찾는 용
-
         Block prevBlock = null;
         if (canvasSocketReqDto.getPrevBlockId() != null) {
             prevBlock = blockRepository.findByFeIdAndIsDeleted(canvasSocketReqDto.getPrevBlockId(), IsDeleted.N)
                     .orElse(null);
-        }else{
-            // 생성하려는 block의 previd가 null 이면, 기존에 previd가 null인 block을 호출하여 현재 save 하려는 block의 id로 넣어줘야함
-            existingBlock = blockRepository.findByCanvasIdAndPrevBlockIsNullAndIsDeleted(canvasSocketReqDto.getCanvasId(), IsDeleted.N) // prevBlockId가 null인 Block을 조회
-                    .orElse(null); // prevBlock이 null인 블록을 찾음
-
         }
 
 
@@ -93,27 +90,17 @@ public class BlockService {
                 .indent(canvasSocketReqDto.getBlockIndent())
                 .workspaceMember(workspaceMember)
                 .build();
-
-//        prev block 존재 및 이전에 해당 prev block을 갖고있는 block 주소 업데이트
-        if (prevBlock != null) {
-            Block originalPrevBlockHolder = blockRepository.findByPrevBlockIdAndIsDeleted(prevBlock.getId(), IsDeleted.N)
-                    .orElse(null);
-            if (originalPrevBlockHolder != null) {
-                originalPrevBlockHolder.changePrevBlock(block);
-            }
-        }
-
-        if (existingBlock != null) {
-            existingBlock.changePrevBlock(block);
-        }
+        // prev block(첫 자식이면 부모 블록)의 하위 블록들 바로 뒤 순서 키, 이웃 블록은 수정하지 않는다
+        String orderKey = blockOrderService.place(canvas.getId(), block, prevBlock, parentBlock);
 
         // Block 저장 및 리턴
         blockRepository.save(block);
+        blockOrderService.rebalanceIfNeeded(canvas.getId(), orderKey);
 // Kafka에 인덱싱 메시지 전송
         CanvasBlockDocument document = canvasBlockMapper.toDocument(block);
         IndexEntityMessage<CanvasBlockDocument> indexEntityMessage = new IndexEntityMessage<>(
                 canvas.getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.BLOCK, document);
-        kafkaTemplate.send("canvas_block_entity_search", indexEntityMessage);
+        kafkaTemplate.send("canvas_block_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
 
         return CreateBlockResDto.fromEntity(block);
@@ -122,7 +109,6 @@ public class BlockService {
     @Transactional
     public void updateBlock(CanvasSocketReqDto canvasSocketReqDto, WorkspaceMember workspaceMember) {
         try {
-
             Block block = blockRepository.findByFeIdAndIsDeleted(canvasSocketReqDto.getBlockFeId(), IsDeleted.N)
                     .orElseThrow(() -> new IllegalArgumentException("해당 Block이 존재하지 않습니다."));
             Block prevBlock = canvasSocketReqDto.getPrevBlockId() != null
@@ -130,27 +116,31 @@ public class BlockService {
                     .orElseThrow(() -> new IllegalArgumentException("해당 Prev Block이 존재하지 않습니다."))
                     : null;
 
-            //        prev block 존재 및 이전에 해당 prev block을 갖고있는 block 주소 업데이트
-            if (prevBlock != null) {
-                Block originalPrevBlockHolder = blockRepository.findByPrevBlockFeIdAndIsDeleted(prevBlock.getFeId(), IsDeleted.N)
-                        .orElse(null);
-                if (originalPrevBlockHolder != null) {
-                    originalPrevBlockHolder.changePrevBlock(block);
-                }
-            }
-
             Block parentBlock = canvasSocketReqDto.getParentBlockId() != null
                     ? blockRepository.findByFeIdAndIsDeleted(canvasSocketReqDto.getParentBlockId(), IsDeleted.N)
                     .orElseThrow(() -> new IllegalArgumentException("해당 Parent Block이 존재하지 않습니다."))
                     : null;
 
-            block.updateAllInfo(prevBlock, parentBlock, canvasSocketReqDto.getBlockContents());
+            String contents = BlockDeltas.apply(block.getContents(), block.currentContentVersion(), canvasSocketReqDto);
+            boolean snapshot = contents == null;
+            block.updateAllInfo(prevBlock, parentBlock, snapshot ? block.getContents() : contents);
+            // prev block 뒤로 하위 블록과 함께 순서 키만 바꾼다 (이미 그 자리면 그대로)
+            Long canvasId = block.getCanvas().getId();
+            String orderKey = blockOrderService.place(canvasId, block, prevBlock, block.getParentBlock());
             blockRepository.save(block);
+            if (snapshot) {
+                // 기준 버전이 다르면 내용은 그대로 두고 위치만 반영, 현재 내용 전체를 브로드캐스트
+                BlockDeltas.toSnapshot(canvasSocketReqDto, block.getContents(), block.currentContentVersion());
+            } else {
+                BlockDeltas.toApplied(canvasSocketReqDto, block.currentContentVersion());
+            }
+            blockOrderService.rebalanceIfNeeded(canvasId, orderKey);
+            blockIndexCoalescer.discardBlock(block.getId()); // 대기 중인 이전 버전은 버린다
 
             CanvasBlockDocument document = canvasBlockMapper.toDocument(block);
             IndexEntityMessage<CanvasBlockDocument> indexEntityMessage = new IndexEntityMessage<>(
                     block.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.BLOCK, document);
-            kafkaTemplate.send("canvas_block_entity_search", indexEntityMessage);
+            kafkaTemplate.send("canvas_block_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
         } catch (Exception e) {
             log.info(e.getMessage());
@@ -165,14 +155,27 @@ public class BlockService {
             block.patchBlockIndent(canvasSocketReqDto.getBlockIndent());
             blockRepository.save(block);
         }else if (canvasSocketReqDto.getMethod().equals(CanvasMessageMethod.HOT_UPDATE_CONTENTS_BLOCK)) {
-            block.patchBlockContents(canvasSocketReqDto.getBlockContents());
+            String contents = BlockDeltas.apply(block.getContents(), block.currentContentVersion(), canvasSocketReqDto);
+            if (contents == null) {
+                // 기준 버전이 다르면 적용하지 않고 현재 내용 전체를 브로드캐스트
+                BlockDeltas.toSnapshot(canvasSocketReqDto, block.getContents(), block.currentContentVersion());
+                return;
+            }
+            block.patchBlockContents(contents);
             blockRepository.save(block);
+            BlockDeltas.toApplied(canvasSocketReqDto, block.currentContentVersion());
+
+            // 타이핑 중에는 키 입력마다 인덱싱하지 않고, 입력이 멈출 때 최신 버전만 한 번 인덱싱
+            blockIndexCoalescer.submitBlock(block.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(),
+                    canvasBlockMapper.toDocument(block));
+            return;
         }
-        // Kafka에 인덱싱 메시지 전송
+        // Kafka에 인덱싱 메시지 전송 (대기 중인 이전 버전은 버린다)
+        blockIndexCoalescer.discardBlock(block.getId());
         CanvasBlockDocument document = canvasBlockMapper.toDocument(block);
         IndexEntityMessage<CanvasBlockDocument> indexEntityMessage = new IndexEntityMessage<>(
                 block.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.BLOCK, document);
-        kafkaTemplate.send("canvas_block_entity_search", indexEntityMessage);
+        kafkaTemplate.send("canvas_block_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
     }
 
     @Transactional
@@ -183,76 +186,28 @@ public class BlockService {
         Block currentBlock = blockRepository.findByFeIdAndIsDeleted(changeOrderBlockReqDto.getBlockFeId(), IsDeleted.N)
                 .orElseThrow(() -> new IllegalArgumentException("해당 Block이 존재하지 않습니다."));
 
-        // 2. 새로운 prevBlockId와 nextBlockId로 블록 찾기 (없으면 null 허용)
+        // 2. 새로운 prevBlockId로 블록 찾기 (없으면 null 허용)
+        // 자리는 prevBlock(같은 레벨의 이전 블록)과 부모로 정해지므로 nextBlockId 는 보지 않는다
         Block newPrevBlock = null;
         if (changeOrderBlockReqDto.getPrevBlockId() != null) {
             newPrevBlock = blockRepository.findByFeIdAndIsDeleted(changeOrderBlockReqDto.getPrevBlockId(), IsDeleted.N)
                     .orElse(null); // null 허용 (맨 앞 블록일 수 있음)
         }
 
-        Block newNextBlock = null;
-        if (changeOrderBlockReqDto.getNextBlockId() != null) {
-            newNextBlock = blockRepository.findByFeIdAndIsDeleted(changeOrderBlockReqDto.getNextBlockId(), IsDeleted.N)
-                    .orElse(null); // null 허용 (맨 뒤 블록일 수 있음)
-        }
-
-        // 3. 기존 prevBlock과 nextBlock 연결 끊기
-        Block originalPrevBlock = currentBlock.getPrevBlock();
-        Block originalNextBlock = blockRepository.findByPrevBlockFeIdAndIsDeleted(currentBlock.getFeId(), IsDeleted.N)
-                .orElse(null);
-
-        // 기존 prevBlock이 연결한 nextBlock을 업데이트
-        if (originalNextBlock != null) {
-            originalNextBlock.changePrevBlock(originalPrevBlock);
-            blockRepository.save(originalNextBlock);
-
-            CanvasBlockDocument nextBlockDocument = canvasBlockMapper.toDocument(originalNextBlock);
-            IndexEntityMessage<CanvasBlockDocument> nextIndexMessage = new IndexEntityMessage<>(
-                    originalNextBlock.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.BLOCK, nextBlockDocument);
-            kafkaTemplate.send("canvas_block_entity_search", nextIndexMessage);
-        }
-
-        // 4. 새로운 prevBlock과의 연결 설정
-        if (newPrevBlock != null) {
-            Block nextOfNewPrevBlock = blockRepository.findByPrevBlockFeIdAndIsDeleted(newPrevBlock.getFeId(), IsDeleted.N)
-                    .orElse(null);
-
-            // 새 prevBlock이 가지고 있던 nextBlock의 prevBlock을 currentBlock으로 설정
-            if (nextOfNewPrevBlock != null && !nextOfNewPrevBlock.equals(currentBlock)) {
-                nextOfNewPrevBlock.changePrevBlock(currentBlock);
-                blockRepository.save(nextOfNewPrevBlock);
-
-                CanvasBlockDocument nextOfNewPrevDocument = canvasBlockMapper.toDocument(nextOfNewPrevBlock);
-                IndexEntityMessage<CanvasBlockDocument> nextOfNewPrevIndexMessage = new IndexEntityMessage<>(
-                        nextOfNewPrevBlock.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.BLOCK, nextOfNewPrevDocument);
-                kafkaTemplate.send("canvas_block_entity_search", nextOfNewPrevIndexMessage);
-            }
-
-            // 현재 블록의 prevBlock을 새로운 prevBlock으로 설정
-            currentBlock.changePrevBlock(newPrevBlock);
-        } else {
-            // 새 prevBlock이 없다면, 현재 블록을 첫 번째 블록으로 만듭니다.
-            currentBlock.changePrevBlock(null);
-        }
-
-        // 5. 새로운 nextBlock과의 연결 설정
-        if (newNextBlock != null) {
-            newNextBlock.changePrevBlock(currentBlock);
-            blockRepository.save(newNextBlock);
-
-            CanvasBlockDocument nextBlockDocument = canvasBlockMapper.toDocument(newNextBlock);
-            IndexEntityMessage<CanvasBlockDocument> nextIndexMessage = new IndexEntityMessage<>(
-                    newNextBlock.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.BLOCK, nextBlockDocument);
-            kafkaTemplate.send("canvas_block_entity_search", nextIndexMessage);
-        }
+        // 3. 새 prevBlock 뒤의 순서 키로 바꾼다 (현재 블록과 하위 블록만 수정)
+        Long canvasId = currentBlock.getCanvas().getId();
+        String orderKey = blockOrderService.place(canvasId, currentBlock, newPrevBlock, currentBlock.getParentBlock());
+        currentBlock.changePrevBlock(newPrevBlock);
 
-        // 6. 현재 블록을 저장하여 순서 변경 적용
+        // 4. 현재 블록을 저장하여 순서 변경 적용
         blockRepository.save(currentBlock);
+        blockOrderService.rebalanceIfNeeded(canvasId, orderKey);
+        blockIndexCoalescer.discardBlock(currentBlock.getId());
 
         CanvasBlockDocument currentBlockDocument = canvasBlockMapper.toDocument(currentBlock);
         IndexEntityMessage<CanvasBlockDocument> currentIndexMessage = new IndexEntityMessage<>(
                 currentBlock.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.BLOCK, currentBlockDocument);
-        kafkaTemplate.send("canvas_block_entity_search", currentIndexMessage);
+        kafkaTemplate.send("canvas_block_entity_search", String.valueOf(currentIndexMessage.getWorkspaceId()), currentIndexMessage);
 
         log.info("블록 순서가 성공적으로 변경되었습니다.");
 
@@ -264,16 +219,11 @@ public class BlockService {
     public void deleteBlock(String feId) {
         Block block = blockRepository.findByFeIdAndIsDeleted(feId, IsDeleted.N)
                 .orElseThrow(() -> new IllegalArgumentException("블록이 존재하지 않습니다."));
-        Block prevLinkedBlock = blockRepository.findByPrevBlockFeIdAndIsDeleted(feId, IsDeleted.N)
-                .orElse(null);
-
-        // 삭제하는 block을 참조하고 있던 block의 prev 값을 현 삭제 block의 prev 값으로 수정
-        if (prevLinkedBlock != null) {
-            prevLinkedBlock.changePrevBlock(block.getPrevBlock());
-        }
+        // 순서는 orderKey 로 정해지므로 다음 블록을 고쳐 쓸 필요가 없다
 
         List<Block> parentLinkedChildrenBlocks = blockRepository.findByParentBlockFeIdAndIsDeleted(feId, IsDeleted.N);
         block.markAsDeleted(parentLinkedChildrenBlocks); // 실제 삭제 대신 소프트 삭제 처리
+        blockIndexCoalescer.discardBlock(block.getId());
         searchService.deleteBlock(block.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(), block.getId());
 
     }
@@ -282,13 +232,7 @@ public class BlockService {
     public void deepDeleteBlock(String feId) {
         Block block = blockRepository.findByFeIdAndIsDeleted(feId, IsDeleted.N)
                 .orElseThrow(() -> new IllegalArgumentException("블록이 존재하지 않습니다."));
-        Block prevLinkedBlock = blockRepository.findByPrevBlockFeIdAndIsDeleted(feId, IsDeleted.N)
-                .orElse(null);
-
-        // 삭제하는 block을 참조하고 있던 block의 prev 값을 현 삭제 block의 prev 값으로 수정
-        if (prevLinkedBlock != null) {
-            prevLinkedBlock.changePrevBlock(block.getPrevBlock());
-        }
+        // 순서는 orderKey 로 정해지므로 다음 블록을 고쳐 쓸 필요가 없다
 
         List<Block> parentLinkedChildrenBlocks = blockRepository.findByParentBlockFeIdAndIsDeleted(feId, IsDeleted.N);
 
@@ -309,40 +253,44 @@ public class BlockService {
 
         // 블록을 물리적으로 삭제
         blockRepository.delete(block);
+        blockIndexCoalescer.discardBlock(block.getId());
         searchService.deleteBlock(block.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(), block.getId());
     }
 
 
-    public List<BlockListResDto> getBlockListFromCanvas(Long canvasId) {
-        // 1. 데이터베이스에서 모든 블록을 가져옴
-        List<Block> blocks = blockRepository.findByCanvasIdAndIsDeleted(canvasId, IsDeleted.N);
-
-        // 2. 블록들을 Map에 저장 (id -> Block)
-        Map<Long, Block> blockMap = blocks.stream()
-                .collect(Collectors.toMap(Block::getId, block -> block));
-
-        // 3. 블록을 저장할 최종 리스트
-        List<BlockListResDto> result = new ArrayList<>();
-        Set<Long> visitedBlocks = new HashSet<>(); // 중복 방지를 위한 Set
+    // 블록 목록 조회 트랜잭션을 열기 전에 할 일 (트랜잭션 없이, 컨트롤러가 getBlockListFromCanvas 전에 호출)
+    // - 이 서버 메모리에만 있는 편집 내용을 DB 에 반영 (방 레인에서 앞선 편집이 처리된 뒤), 레인을 기다리는 동안 DB 커넥션을 잡지 않는다
+    // - 순서 키가 없는 예전 블록의 키를 채운다
+    // 둘 다 먼저 커밋해야 조회 트랜잭션의 스냅샷에 보인다
+    public void prepareBlockList(Long canvasId) {
+        canvasSessionManager.flushCanvasInLane(canvasId);
+        blockOrderService.ensureOrderKeys(canvasId);
+    }
 
-        // 4. 루트 블록 찾기: prev_block_fe_id가 null인 블록
+    @Transactional(readOnly = true)
+    public List<BlockListResDto> getBlockListFromCanvas(Long canvasId) {
+        // 1. 순서 키 순으로 모든 블록을 가져옴 (ORDER BY 한 번, 키가 없는 예전 블록은 prepareBlockList 에서 미리 채운다)
+        List<Block> blocks = blockRepository.findByCanvasIdAndIsDeletedOrderByOrderKeyAscIdAsc(canvasId, IsDeleted.N);
+
+        // 2. 순서대로 DTO 변환
+        // prevBlockFeId 는 예전 prevBlock 연결과 같은 의미: 같은 부모 아래 바로 앞 블록, 첫 자식이면 부모 블록, 맨 앞 블록이면 null
+        // (이웃 블록의 연결은 더 이상 갱신하지 않으므로 저장된 값 대신 순서 키로 계산한다)
+        List<BlockListResDto> result = new ArrayList<>(blocks.size());
+        Map<Long, String> lastChildFeIds = new HashMap<>(); // 부모 블록 id (최상위는 null) -> 마지막으로 나온 자식 feId
         for (Block block : blocks) {
-            if (block.getPrevBlock() == null) {
-                // 루트 블록이면 리스트에 추가
-                BlockListResDto rootBlockDto = convertToDto(block);
-                result.add(rootBlockDto);
-                visitedBlocks.add(block.getId());
-
-                // 루트 블록을 기준으로 자식과 형제 블록 추가
-                addChildBlocks(block, result, blockMap, visitedBlocks);
-                addSiblingBlocks(block, result, blockMap, visitedBlocks);
+            Block parentBlock = block.getParentBlock();
+            Long parentId = parentBlock != null ? parentBlock.getId() : null;
+            String prevBlockFeId = lastChildFeIds.get(parentId);
+            if (prevBlockFeId == null && parentBlock != null) {
+                prevBlockFeId = parentBlock.getFeId();
             }
+            result.add(convertToDto(block, prevBlockFeId));
+            lastChildFeIds.put(parentId, block.getFeId());
         }
-
         return result;
     }
 
-    private BlockListResDto convertToDto(Block block) {
+    private BlockListResDto convertToDto(Block block, String prevBlockFeId) {
         return BlockListResDto.builder()
                 .id(block.getId())
                 .content(block.getContents())
@@ -351,56 +299,11 @@ public class BlockService {
                 .level(block.getLevel())
                 .indent(block.getIndent())
                 .workspaceMemberId(block.getWorkspaceMember() != null ? block.getWorkspaceMember().getWorkspaceMemberId() : 0)
-                .prevBlockFeId(block.getPrevBlock() != null ? block.getPrevBlock().getFeId() : null)
+                .prevBlockFeId(prevBlockFeId)
+                .version(block.currentContentVersion())
                 .build();
     }
 
-    // 재귀적으로 자식 블록을 추가하는 메서드
-    private void addChildBlocks(Block parentBlock, List<BlockListResDto> result, Map<Long, Block> blockMap, Set<Long> visitedBlocks) {
-        for (Block block : blockMap.values()) {
-            if (block.getParentBlock() != null && block.getParentBlock().getId().equals(parentBlock.getId())) {
-                // 이미 방문한 블록이면 건너뜀
-                if (visitedBlocks.contains(block.getId())) {
-                    continue;
-                }
-
-                // 부모가 현재 블록인 자식 블록을 찾고 리스트에 추가
-                BlockListResDto childBlockDto = convertToDto(block);
-                result.add(childBlockDto);
-                visitedBlocks.add(block.getId());
-
-                // 자식 블록을 기준으로 다시 자식 블록을 추가 (재귀 호출)
-                addChildBlocks(block, result, blockMap, visitedBlocks);
-
-                // 자식 블록의 형제 블록을 추가 (재귀 호출)
-                addSiblingBlocks(block, result, blockMap, visitedBlocks);
-            }
-        }
-    }
-
-    // 재귀적으로 형제 블록을 prev_block_fe_id에 따라 추가하는 메서드
-    private void addSiblingBlocks(Block currentBlock, List<BlockListResDto> result, Map<Long, Block> blockMap, Set<Long> visitedBlocks) {
-        for (Block block : blockMap.values()) {
-            if (block.getPrevBlock() != null && block.getPrevBlock().getId().equals(currentBlock.getId())) {
-                // 이미 방문한 블록이면 건너뜀
-                if (visitedBlocks.contains(block.getId())) {
-                    continue;
-                }
-
-                // prev_block_fe_id가 현재 블록인 형제 블록을 리스트에 추가
-                BlockListResDto siblingBlockDto = convertToDto(block);
-                result.add(siblingBlockDto);
-                visitedBlocks.add(block.getId());
-
-                // 형제 블록을 기준으로 다시 자식 블록 추가 (재귀 호출)
-                addChildBlocks(block, result, blockMap, visitedBlocks);
-
-                // 형제 블록의 형제 블록을 추가 (재귀 호출)
-                addSiblingBlocks(block, result, blockMap, visitedBlocks);
-            }
-        }
-    }
-
 
     //    ================= 통신전용
     private final SimpMessageSendingOperations messagingTemplate;
@@ -443,7 +346,7 @@ public class BlockService {
             log.error("잘못된 block method");
         }
 
-        kafkaTemplate.send("canvas-topic", canvasSocketReqDto);
+        kafkaTemplate.send("canvas-topic", String.valueOf(canvasSocketReqDto.getChannelId()), canvasSocketReqDto);
     }
 
 
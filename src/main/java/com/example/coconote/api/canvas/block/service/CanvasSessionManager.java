@@ -0,0 +1,605 @@
+package com.example.coconote.api.canvas.block.service;
+
+import com.example.coconote.api.canvas.block.entity.Block;
+import com.example.coconote.api.canvas.block.repository.BlockRepository;
+import com.example.coconote.api.canvas.canvas.component.CanvasLaneExecutor;
+import com.example.coconote.api.canvas.canvas.dto.request.CanvasSocketReqDto;
+import com.example.coconote.api.canvas.canvas.entity.CanvasMessageMethod;
+import com.example.coconote.api.canvas.canvas.repository.CanvasRepository;
+import com.example.coconote.api.member.entity.Member;
+import com.example.coconote.api.member.repository.MemberRepository;
+import com.example.coconote.api.search.component.BlockIndexCoalescer;
+import com.example.coconote.api.search.mapper.CanvasBlockMapper;
+import com.example.coconote.api.workspace.workspace.entity.Workspace;
+import com.example.coconote.api.workspace.workspace.repository.WorkspaceRepository;
+import com.example.coconote.api.workspace.workspaceMember.entity.WorkspaceMember;
+import com.example.coconote.api.workspace.workspaceMember.repository.WorkspaceMemberRepository;
+import com.example.coconote.common.IsDeleted;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 편집 중인 캔버스의 블록 상태를 이 서버 메모리에 두는 세션 (write-behind)
+// - 타이핑(HOT_UPDATE_CONTENTS_BLOCK), 들여쓰기(UPDATE_INDENT_BLOCK)는 트랜잭션 없이 메모리에 반영하고 바로 브로드캐스트한다
+// - 바뀐 블록은 입력이 멈추거나(idle-flush) 일정 시간이 지나면(max-flush-delay) 한 트랜잭션으로 모아서 DB 에 쓴다
+// - 생성/수정/순서 변경/삭제 같은 구조 변경은 세션을 먼저 flush 한 뒤 기존 트랜잭션 경로로 처리한다
+// 캔버스당 한 서버만 세션을 가진다 (Redis 소유 lease), 다른 서버가 가진 캔버스의 블록 편집은 소유 서버로 넘긴다 (CanvasEditService)
+// 장애 대비: DB 에 아직 쓰지 않은 블록 상태는 Redis 저널에 남겨두고, 소유 서버가 죽어 lease 가 만료되면 다른 서버가 저널을 DB 에 반영한다
+// 세션 flush/정리와 저널 복구도 편집과 같은 방(채널) 레인에서 실행해서 편집 사이에 끼어들지 않게 한다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CanvasSessionManager {
+
+    private static final String OWNER_KEY_PREFIX = "canvas:session:owner:";
+    private static final String JOURNAL_KEY_PREFIX = "canvas:session:journal:";
+
+    // lease 연장/반납은 소유자 확인과 함께 한 번에 실행한다
+    // (GET 과 PEXPIRE/DEL 사이에 lease 가 만료되어 다른 서버가 잡으면, 그 서버의 lease 를 연장하거나 지우게 된다)
+    // 인자는 setIfAbsent 와 같은 값 직렬화를 거치므로 저장된 nodeId 와 그대로 비교할 수 있다
+    private static final RedisScript<Long> RENEW_LEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end", Long.class);
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final BlockRepository blockRepository;
+    private final MemberRepository memberRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final CanvasRepository canvasRepository;
+    private final BlockIndexCoalescer blockIndexCoalescer;
+    private final CanvasLaneExecutor canvasLaneExecutor;
+    private final CanvasBlockMapper canvasBlockMapper;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 이 서버를 구분하는 lease 값
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<Long, CanvasSession> sessions = new ConcurrentHashMap<>();
+
+    // 마지막 입력 후 이 시간(ms) 동안 추가 입력이 없으면 flush
+    @Value("${canvas.session.idle-flush-ms:1000}")
+    private long idleFlushMs;
+
+    // 계속 입력 중이어도 처음 바뀐 뒤 이 시간(ms)이 지나면 flush (DB 반영 지연 상한)
+    @Value("${canvas.session.max-flush-delay-ms:5000}")
+    private long maxFlushDelayMs;
+
+    // 이 시간(ms) 동안 입력이 없는 세션은 정리하고 lease 를 반납
+    @Value("${canvas.session.evict-after-ms:300000}")
+    private long evictAfterMs;
+
+    @Value("${canvas.session.lease-ms:30000}")
+    private long leaseMs;
+
+    // REST 조회 전 flush 를 레인에서 기다리는 최대 시간 (넘으면 조회 스레드에서 바로 flush)
+    @Value("${canvas.session.flush-wait-ms:3000}")
+    private long flushWaitMs;
+
+    // 저널 보존 기간: 복구 주기보다 충분히 길게, 복구되지 못한 저널이 Redis 에 무기한 쌓이지 않게
+    @Value("${canvas.session.journal-ttl-ms:86400000}")
+    private long journalTtlMs;
+
+    // 보낸 사람 -> 워크스페이스 멤버 확인 결과를 이 시간(ms) 동안 재사용 (메시지마다 SELECT 3번 하지 않도록)
+    @Value("${canvas.session.member-cache-ms:60000}")
+    private long memberCacheMs;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("canvas.session.active", sessions, Map::size)
+                .description("Canvas sessions held in memory on this node")
+                .register(meterRegistry);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // 다른 서버가 이 캔버스의 세션을 가지고 있으면 그 서버 id (이 서버가 가졌거나, 아무도 없거나, Redis 장애면 null)
+    public String remoteOwner(Long canvasId) {
+        if (canvasId == null || sessions.containsKey(canvasId)) {
+            return null;
+        }
+        try {
+            Object owner = redisTemplate.opsForValue().get(OWNER_KEY_PREFIX + canvasId);
+            return owner != null && !nodeId.equals(owner) ? owner.toString() : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read canvas session owner, writing through - canvas: {}", canvasId, e);
+            return null;
+        }
+    }
+
+    // 세션에서 처리할 수 있는 메시지면 메모리에 반영하고 브로드캐스트 (처리하지 못하면 false -> 기존 DB 경로)
+    public boolean applyInSession(CanvasSocketReqDto message) {
+        if (!isSessionMethod(message.getMethod()) || message.getCanvasId() == null || message.getBlockFeId() == null) {
+            return false;
+        }
+        CanvasSession session = session(message.getCanvasId(), message.getChannelId());
+        if (session == null) {
+            return false;
+        }
+        message.setWorkspaceMemberId(session.workspaceMemberId(message.getSenderId(), message.getWorkspaceId()));
+
+        boolean journaled;
+        synchronized (session) {
+            if (session.closed) {
+                // 방금 정리된 세션, 새 세션으로 다시 처리
+                return applyInSession(message);
+            }
+            SessionBlock block = session.block(message.getBlockFeId());
+            if (message.getMethod().equals(CanvasMessageMethod.UPDATE_INDENT_BLOCK)) {
+                block.indent = message.getBlockIndent();
+            } else {
+                String contents = BlockDeltas.apply(block.contents, block.contentVersion, message);
+                if (contents == null) {
+                    // 기준 버전이 다르면 적용하지 않고 현재 내용 전체를 브로드캐스트
+                    BlockDeltas.toSnapshot(message, block.contents, block.contentVersion);
+                    kafkaTemplate.send("canvas-topic", String.valueOf(message.getChannelId()), message);
+                    return true;
+                }
+                block.contents = contents;
+                block.contentVersion++;
+                BlockDeltas.toApplied(message, block.contentVersion);
+            }
+            block.version++;
+            session.markDirty();
+            journaled = journal(session.canvasId, block);
+        }
+        if (!journaled) {
+            // 저널을 못 남겼으면 장애 시 유실되지 않게 바로 DB 에 쓴다
+            flush(session);
+        }
+
+        kafkaTemplate.send("canvas-topic", String.valueOf(message.getChannelId()), message);
+        return true;
+    }
+
+    // 캔버스 조회(REST) 전: 레인에 쌓인 편집까지 반영된 뒤 메모리에만 있는 변경을 DB 에 쓴다
+    public void flushCanvasInLane(Long canvasId) {
+        if (canvasId == null) {
+            return;
+        }
+        CanvasSession session = sessions.get(canvasId);
+        if (session != null && !canvasLaneExecutor.runAndWait(session.channelId, () -> flush(session), flushWaitMs)) {
+            // 레인이 밀려 있으면 지금까지의 변경만 바로 쓴다 (flush 잠금으로 동시 flush 는 순서대로 커밋된다)
+            flush(session);
+        }
+    }
+
+    // 구조 변경 전(레인 안에서 호출): 메모리에만 있는 변경을 DB 에 반영
+    public void flushCanvas(Long canvasId) {
+        if (canvasId == null) {
+            return;
+        }
+        CanvasSession session = sessions.get(canvasId);
+        if (session != null) {
+            flush(session);
+        }
+    }
+
+    // 구조 변경 후: 변경되지 않은 블록은 버리고 다음 입력 때 DB 에서 다시 읽는다
+    public void forgetBlocks(Long canvasId) {
+        if (canvasId == null) {
+            return;
+        }
+        CanvasSession session = sessions.get(canvasId);
+        if (session != null) {
+            synchronized (session) {
+                session.blocks.values().removeIf(block -> !block.isDirty());
+            }
+        }
+    }
+
+    // 스케줄러는 할 일이 있는 세션의 정리 작업을 방 레인에 넣기만 한다 (세션마다 대기 중인 작업은 하나)
+    // lease 연장만 여기서 한다: 레인이 밀려도 lease 가 만료되지 않도록
+    @Scheduled(fixedDelayString = "${canvas.session.flush-check-ms:500}")
+    public void flushIdleSessions() {
+        long now = System.currentTimeMillis();
+        sessions.values().forEach(session -> {
+            try {
+                boolean idle = now - session.lastActivityAt >= idleFlushMs;
+                boolean tooOld = session.dirtySince > 0 && now - session.dirtySince >= maxFlushDelayMs;
+                boolean lostLease = now - session.leaseRenewedAt >= leaseMs / 3 && !renewLease(session);
+                if ((session.dirtySince > 0 && (idle || tooOld)) || now - session.lastActivityAt >= evictAfterMs || lostLease) {
+                    submitMaintenance(session, lostLease);
+                }
+            } catch (RuntimeException e) {
+                log.error("Canvas session maintenance failed - canvas: {}", session.canvasId, e);
+            }
+        });
+    }
+
+    // 소유 서버가 죽어서 lease 가 만료된 캔버스의 저널을 DB 에 반영
+    @Scheduled(fixedDelayString = "${canvas.session.recovery-interval-ms:30000}", initialDelayString = "${canvas.session.recovery-initial-delay-ms:10000}")
+    public void recoverOrphanedJournals() {
+        Set<Long> canvasIds = new HashSet<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(JOURNAL_KEY_PREFIX + "*").count(500).build())) {
+            cursor.forEachRemaining(key -> canvasIds.add(Long.valueOf(key.substring(JOURNAL_KEY_PREFIX.length(), key.lastIndexOf(':')))));
+        } catch (RuntimeException e) {
+            log.warn("Failed to scan canvas session journals", e);
+            return;
+        }
+        for (Long canvasId : canvasIds) {
+            if (sessions.containsKey(canvasId)) {
+                continue;
+            }
+            // 같은 캔버스의 편집이 세션을 여는 것과 겹치지 않게 방 레인에서 복구 (레인이 밀려 있으면 다음 주기에)
+            canvasLaneExecutor.submit(channelIdOf(canvasId), () -> {
+                if (sessions.containsKey(canvasId) || !acquireLease(canvasId)) {
+                    return;
+                }
+                try {
+                    replayJournal(canvasId);
+                } catch (RuntimeException e) {
+                    log.error("Failed to recover canvas session journal - canvas: {}", canvasId, e);
+                } finally {
+                    releaseLease(canvasId);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        log.info("Flushing {} canvas sessions", sessions.size());
+        sessions.values().forEach(session -> {
+            try {
+                flush(session);
+                releaseLease(session.canvasId);
+            } catch (RuntimeException e) {
+                // 저널이 남아 있으므로 다른 서버가 복구한다
+                log.error("Failed to flush canvas session on shutdown - canvas: {}", session.canvasId, e);
+            }
+        });
+        sessions.clear();
+    }
+
+    private boolean isSessionMethod(CanvasMessageMethod method) {
+        return CanvasMessageMethod.HOT_UPDATE_CONTENTS_BLOCK.equals(method) || CanvasMessageMethod.UPDATE_INDENT_BLOCK.equals(method);
+    }
+
+    // 이 서버의 세션, 없으면 lease 를 잡고 연다 (다른 서버가 가지고 있거나 Redis 장애면 null)
+    private CanvasSession session(Long canvasId, Long channelId) {
+        CanvasSession session = sessions.get(canvasId);
+        if (session != null) {
+            return session;
+        }
+        try {
+            if (!acquireLease(canvasId)) {
+                return null;
+            }
+            // 이전 소유 서버가 남긴 저널이 있으면 먼저 반영
+            replayJournal(canvasId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to open canvas session, writing through - canvas: {}", canvasId, e);
+            return null;
+        }
+        CanvasSession opened = new CanvasSession(canvasId, channelId);
+        CanvasSession existing = sessions.putIfAbsent(canvasId, opened);
+        return existing != null ? existing : opened;
+    }
+
+    // 스냅샷부터 커밋까지 세션의 flush 잠금을 잡는다
+    // (스케줄러/구조 변경/조회가 동시에 flush 하면 먼저 뜬 오래된 스냅샷이 나중에 커밋되어 최신 내용을 덮어쓸 수 있다)
+    private void flush(CanvasSession session) {
+        session.flushLock.lock();
+        try {
+            flushLocked(session);
+        } finally {
+            session.flushLock.unlock();
+        }
+    }
+
+    private void flushLocked(CanvasSession session) {
+        List<BlockSnapshot> snapshots = new ArrayList<>();
+        synchronized (session) {
+            session.blocks.values().stream()
+                    .filter(SessionBlock::isDirty)
+                    .forEach(block -> snapshots.add(block.snapshot()));
+            if (snapshots.isEmpty()) {
+                session.dirtySince = 0;
+                return;
+            }
+        }
+
+        Set<String> persisted = new HashSet<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, BlockSnapshot> byFeId = new HashMap<>();
+            snapshots.forEach(snapshot -> byFeId.put(snapshot.feId(), snapshot));
+            for (Block block : blockRepository.findByFeIdInAndIsDeleted(byFeId.keySet(), IsDeleted.N)) {
+                BlockSnapshot snapshot = byFeId.get(block.getFeId());
+                block.applySessionState(snapshot.contents(), snapshot.indent(), snapshot.contentVersion());
+                persisted.add(block.getFeId());
+                blockIndexCoalescer.submitBlock(block.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(),
+                        canvasBlockMapper.toDocument(block));
+            }
+        });
+
+        synchronized (session) {
+            for (BlockSnapshot snapshot : snapshots) {
+                SessionBlock block = session.blocks.get(snapshot.feId());
+                if (!persisted.contains(snapshot.feId())) {
+                    // 그 사이 삭제된 블록
+                    session.blocks.remove(snapshot.feId());
+                    deleteJournal(session.canvasId, snapshot.feId());
+                    continue;
+                }
+                if (block == null) {
+                    continue;
+                }
+                block.flushedVersion = Math.max(block.flushedVersion, snapshot.version());
+                if (!block.isDirty()) {
+                    deleteJournal(session.canvasId, snapshot.feId());
+                }
+            }
+            session.dirtySince = session.blocks.values().stream().anyMatch(SessionBlock::isDirty) ? System.currentTimeMillis() : 0;
+        }
+        log.debug("Flushed {} blocks of canvas {}", persisted.size(), session.canvasId);
+    }
+
+    private void submitMaintenance(CanvasSession session, boolean lostLease) {
+        if (!session.maintenanceQueued.compareAndSet(false, true)) {
+            return;
+        }
+        boolean accepted = canvasLaneExecutor.submit(session.channelId, () -> {
+            session.maintenanceQueued.set(false);
+            if (lostLease) {
+                close(session);
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (session.dirtySince > 0) {
+                flush(session);
+            }
+            if (now - session.lastActivityAt >= evictAfterMs) {
+                evict(session);
+            }
+        });
+        if (!accepted) {
+            // 다음 주기에 다시 시도
+            session.maintenanceQueued.set(false);
+        }
+    }
+
+    private void evict(CanvasSession session) {
+        flush(session);
+        synchronized (session) {
+            if (session.dirtySince > 0 || System.currentTimeMillis() - session.lastActivityAt < evictAfterMs) {
+                return;
+            }
+            session.closed = true;
+        }
+        sessions.remove(session.canvasId, session);
+        releaseLease(session.canvasId);
+        log.info("Evicted idle canvas session - canvas: {}", session.canvasId);
+    }
+
+    // 저널에 남은 블록 상태를 DB 에 쓰고 저널을 지운다 (lease 를 가진 상태에서만 호출)
+    // DB 의 내용 버전이 저널과 같거나 더 새로우면 건너뛴다: 이미 flush 된 저널이나, 그 뒤 다른 서버가 DB 에 쓴 편집을 덮어쓰지 않는다
+    private void replayJournal(Long canvasId) {
+        Map<String, BlockSnapshot> snapshots = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(JOURNAL_KEY_PREFIX + canvasId + ":*").count(500).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        for (String key : keys) {
+            Object value = redisTemplate.opsForValue().get(key);
+            if (value == null) {
+                continue;
+            }
+            try {
+                BlockSnapshot snapshot = objectMapper.readValue(value.toString(), BlockSnapshot.class);
+                snapshots.put(snapshot.feId(), snapshot);
+            } catch (Exception e) {
+                log.error("Dropping unreadable canvas session journal entry - key: {}", key, e);
+            }
+        }
+        if (!snapshots.isEmpty()) {
+            AtomicInteger recovered = new AtomicInteger();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Block block : blockRepository.findByFeIdInAndIsDeleted(snapshots.keySet(), IsDeleted.N)) {
+                    BlockSnapshot snapshot = snapshots.get(block.getFeId());
+                    if (snapshot.contentVersion() <= block.currentContentVersion()) {
+                        continue;
+                    }
+                    block.applySessionState(snapshot.contents(), snapshot.indent(), snapshot.contentVersion());
+                    recovered.incrementAndGet();
+                    blockIndexCoalescer.submitBlock(block.getCanvas().getChannel().getSection().getWorkspace().getWorkspaceId(),
+                            canvasBlockMapper.toDocument(block));
+                }
+            });
+            log.warn("Recovered {} of {} journaled blocks of canvas {} from the session journal", recovered.get(), snapshots.size(), canvasId);
+        }
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    private boolean journal(Long canvasId, SessionBlock block) {
+        try {
+            BlockSnapshot snapshot = block.snapshot();
+            redisTemplate.opsForValue().set(journalKey(canvasId, block.feId), objectMapper.writeValueAsString(snapshot), Duration.ofMillis(journalTtlMs));
+            return true;
+        } catch (Exception e) {
+            log.warn("Canvas session journal write failed - canvas: {}, block: {}", canvasId, block.feId, e);
+            return false;
+        }
+    }
+
+    private void deleteJournal(Long canvasId, String feId) {
+        try {
+            redisTemplate.delete(journalKey(canvasId, feId));
+        } catch (RuntimeException e) {
+            // 남은 저널은 DB 보다 새 버전이 아니므로 다음 복구 때 건너뛰고 지워진다 (복구되지 않아도 TTL 로 사라진다)
+            log.warn("Canvas session journal delete failed - canvas: {}, block: {}", canvasId, feId, e);
+        }
+    }
+
+    private boolean acquireLease(Long canvasId) {
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(OWNER_KEY_PREFIX + canvasId, nodeId, Duration.ofMillis(leaseMs));
+        return Boolean.TRUE.equals(acquired) || nodeId.equals(redisTemplate.opsForValue().get(OWNER_KEY_PREFIX + canvasId));
+    }
+
+    // lease 를 연장한다, 이미 잃었으면 false
+    private boolean renewLease(CanvasSession session) {
+        Long renewed = redisTemplate.execute(RENEW_LEASE_SCRIPT, List.of(OWNER_KEY_PREFIX + session.canvasId), nodeId, leaseMs);
+        if (renewed != null && renewed == 1L) {
+            session.leaseRenewedAt = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    // lease 를 잃었으면 (오래 멈췄던 경우 등) 지금까지의 변경만 쓰고 세션을 내려놓는다
+    private void close(CanvasSession session) {
+        log.warn("Lost canvas session lease - canvas: {}", session.canvasId);
+        flush(session);
+        synchronized (session) {
+            session.closed = true;
+        }
+        sessions.remove(session.canvasId, session);
+    }
+
+    // 저널 복구를 돌릴 방 레인 (캔버스가 없으면 캔버스 id 로 대신한다)
+    private Long channelIdOf(Long canvasId) {
+        return canvasRepository.findById(canvasId)
+                .map(canvas -> canvas.getChannel().getChannelId())
+                .orElse(canvasId);
+    }
+
+    private void releaseLease(Long canvasId) {
+        try {
+            redisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(OWNER_KEY_PREFIX + canvasId), nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release canvas session lease - canvas: {}", canvasId, e);
+        }
+    }
+
+    // 키: canvas:session:journal:{canvasId}:{blockFeId}
+    private String journalKey(Long canvasId, String feId) {
+        return JOURNAL_KEY_PREFIX + canvasId + ":" + feId;
+    }
+
+    // 저널 값이자 flush 단위: DB 에 써야 하는 블록의 최신 상태
+    record BlockSnapshot(String feId, String contents, Integer indent, long contentVersion, long version) {
+    }
+
+    private static class SessionBlock {
+        private final String feId;
+        private String contents;
+        private Integer indent;
+        private long contentVersion;
+        // 세션 안에서의 변경 횟수 (flushedVersion 보다 크면 DB 에 쓸 것이 있다)
+        private long version;
+        private long flushedVersion;
+
+        private SessionBlock(Block block) {
+            this.feId = block.getFeId();
+            this.contents = block.getContents();
+            this.indent = block.getIndent();
+            this.contentVersion = block.currentContentVersion();
+        }
+
+        private BlockSnapshot snapshot() {
+            return new BlockSnapshot(feId, contents, indent, contentVersion, version);
+        }
+
+        private boolean isDirty() {
+            return version > flushedVersion;
+        }
+    }
+
+    private record CachedMember(Long workspaceMemberId, long expiresAt) {
+    }
+
+    // 한 캔버스의 메모리 상태 (블록 변경은 synchronized(session) 안에서만, flush 는 flushLock 으로 한 번에 하나만)
+    private class CanvasSession {
+        private final Long canvasId;
+        private final Long channelId; // 레인 키 (방)
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private final AtomicBoolean maintenanceQueued = new AtomicBoolean();
+        private final Map<String, SessionBlock> blocks = new HashMap<>();
+        private final Map<String, CachedMember> members = new ConcurrentHashMap<>();
+        private volatile long lastActivityAt = System.currentTimeMillis();
+        private volatile long leaseRenewedAt = System.currentTimeMillis();
+        private volatile long dirtySince;
+        private boolean closed;
+
+        private CanvasSession(Long canvasId, Long channelId) {
+            this.canvasId = canvasId;
+            this.channelId = channelId;
+        }
+
+        // 처음 편집되는 블록만 DB 에서 읽는다
+        private SessionBlock block(String feId) {
+            SessionBlock block = blocks.get(feId);
+            if (block == null) {
+                Block entity = blockRepository.findByFeIdAndIsDeleted(feId, IsDeleted.N)
+                        .orElseThrow(() -> new IllegalArgumentException("해당 Block이 존재하지 않습니다."));
+                block = new SessionBlock(entity);
+                blocks.put(feId, block);
+            }
+            return block;
+        }
+
+        private void markDirty() {
+            long now = System.currentTimeMillis();
+            lastActivityAt = now;
+            if (dirtySince == 0) {
+                dirtySince = now;
+            }
+        }
+
+        private Long workspaceMemberId(Long senderId, Long workspaceId) {
+            String key = senderId + ":" + workspaceId;
+            CachedMember cached = members.get(key);
+            long now = System.currentTimeMillis();
+            if (cached != null && now < cached.expiresAt()) {
+                return cached.workspaceMemberId();
+            }
+            Member member = memberRepository.findById(senderId).orElseThrow(() -> new EntityNotFoundException("해당멤버가 없습니다."));
+            Workspace workspace = workspaceRepository.findById(workspaceId).orElseThrow(() -> new EntityNotFoundException("해당 워크스페이스가 없습니다."));
+            WorkspaceMember workspaceMember = workspaceMemberRepository.findByMemberAndWorkspaceAndIsDeleted(member, workspace, IsDeleted.N)
+                    .orElseThrow(() -> new EntityNotFoundException("해당 워크스페이스 멤버가 없습니다."));
+            members.put(key, new CachedMember(workspaceMember.getWorkspaceMemberId(), now + memberCacheMs));
+            return workspaceMember.getWorkspaceMemberId();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.coconote.api.canvas.canvas.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 캔버스 편집 작업을 캔버스 방별로 한 줄로 세우는 실행기 (single-writer lane)
+// 방(채널) id 로 레인(스레드 1개 + 제한된 큐)을 고르므로 같은 방의 편집, 세션 flush/정리, 저널 복구는 들어온 순서대로 하나씩 실행되고,
+// 다른 레인의 방은 동시에 실행된다 (canvas-topic 의 파티션 키도 같은 채널 id)
+// 한 서버 안에서의 순서만 보장한다, 서버 사이의 순서는 캔버스 세션 lease 로 한 서버만 쓰게 해서 지킨다
+// 레인 큐가 가득 차면 STOMP 수신 스레드가 offer-timeout 동안 기다리고 (보낸 쪽 속도 조절), 그래도 자리가 없으면 거절한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CanvasLaneExecutor {
+
+    // 레인 스레드 표시 (레인 작업 안에서 다시 레인 작업을 기다리면 교착되므로 바로 실행한다)
+    private static final ThreadLocal<Boolean> IN_LANE = ThreadLocal.withInitial(() -> false);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${canvas.lane.count:16}")
+    private int laneCount;
+
+    @Value("${canvas.lane.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${canvas.lane.offer-timeout-ms:200}")
+    private long offerTimeoutMs;
+
+    private ThreadPoolExecutor[] lanes;
+    private Timer waitTimer;
+    private Timer executionTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = "canvas-lane-" + i;
+            ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> new Thread(() -> {
+                        IN_LANE.set(true);
+                        runnable.run();
+                    }, threadName),
+                    (runnable, executor) -> waitForSpace(runnable, executor, threadName));
+            lanes[i] = lane;
+            Gauge.builder("canvas.lane.queue.depth", lane, executor -> executor.getQueue().size())
+                    .description("Canvas edit tasks waiting in a lane")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        waitTimer = Timer.builder("canvas.lane.wait")
+                .description("Time a canvas edit task waited in its lane queue")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        executionTimer = Timer.builder("canvas.lane.execution")
+                .description("Canvas edit task execution time")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("canvas.lane.rejected")
+                .description("Canvas edit tasks rejected because the lane queue was full")
+                .register(meterRegistry);
+    }
+
+    // 방(채널) id 의 레인에 작업을 넣는다, 레인이 가득 차서 받지 못하면 false
+    public boolean submit(Long roomId, Runnable task) {
+        ThreadPoolExecutor lane = lanes[Math.floorMod(roomId != null ? Long.hashCode(roomId) : 0, lanes.length)];
+        long enqueuedAt = System.nanoTime();
+        try {
+            lane.execute(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Canvas edit task failed - room: {}", roomId, e);
+                } finally {
+                    executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Canvas lane is full, rejecting edit - room: {}", roomId);
+            return false;
+        }
+    }
+
+    // 방의 레인에서 작업을 실행하고 끝날 때까지 기다린다 (레인 밖에서 레인 순서에 맞춰 처리해야 하는 REST 조회 등)
+    // 레인이 가득 찼거나 timeoutMs 안에 끝나지 않으면 false
+    public boolean runAndWait(Long roomId, Runnable task, long timeoutMs) {
+        if (IN_LANE.get()) {
+            task.run();
+            return true;
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        boolean accepted = submit(roomId, () -> {
+            try {
+                task.run();
+                done.complete(null);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+                throw e;
+            }
+        });
+        if (!accepted) {
+            return false;
+        }
+        try {
+            done.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Canvas lane task did not finish in {}ms - room: {}", timeoutMs, roomId);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 종료 시 이미 받은 작업은 끝까지 처리
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Canvas lane did not drain in time, {} tasks dropped", lane.shutdownNow().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void waitForSpace(Runnable runnable, ThreadPoolExecutor executor, String laneName) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException(laneName + " is shut down");
+        }
+        try {
+            if (!executor.getQueue().offer(runnable, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException(laneName + " queue is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(laneName + " offer interrupted", e);
+        }
+    }
+}
@@ -3,8 +3,7 @@ package com.example.coconote.api.canvas.canvas.controller;
 import com.example.coconote.api.canvas.block.service.BlockService;
 import com.example.coconote.api.canvas.canvas.dto.request.CanvasSocketReqDto;
 import com.example.coconote.api.canvas.canvas.dto.response.CanvasListResDto;
-import com.example.coconote.api.canvas.canvas.entity.CanvasMessageMethod;
-import com.example.coconote.api.canvas.canvas.entity.PostMessageType;
+import com.example.coconote.api.canvas.canvas.service.CanvasEditService;
 import com.example.coconote.api.canvas.canvas.service.CanvasService;
 import com.example.coconote.api.member.entity.Member;
 import com.example.coconote.api.member.repository.MemberRepository;
@@ -40,6 +39,7 @@ public class WebsocketController {
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final CanvasService canvasService;
     private final BlockService blockService;
+    private final CanvasEditService canvasEditService;
     private final JwtTokenProvider jwtTokenProvider;
     private final MemberRepository memberRepository;
     private final WorkspaceRepository workspaceRepository;
@@ -50,7 +50,8 @@ public class WebsocketController {
      * websocket "/pub/canvas/message"로 들어오는 메시징을 처리한다.
      */
     @MessageMapping("/canvas/message")
-    public void message(CanvasSocketReqDto roomMessage, @Header("Authorization") String token) {
+    public void message(CanvasSocketReqDto roomMessage, @Header("Authorization") String token,
+                        @Header("simpSessionId") String sessionId) {
         Long id = jwtTokenProvider.getMemberIdFromToken(token);
         roomMessage.setSenderId(id);
 
@@ -61,11 +62,9 @@ public class WebsocketController {
 //        roomMessage.setWorkspaceMemberId(workspaceMember.getWorkspaceMemberId());
 
 //        kafkaTemplate.send("canvas-topic", roomMessage);
-        if(roomMessage.getPostMessageType().equals(PostMessageType.CANVAS)){
-            canvasService.editCanvasInSocket(roomMessage);
-        }else if(roomMessage.getPostMessageType().equals(PostMessageType.BLOCK)){
-            blockService.editBlockInSocket(roomMessage);
-        }
+//        방(채널)별 레인에서 순서대로 처리, 다른 서버가 세션을 가진 캔버스의 블록 편집은 그 서버로 넘긴다
+//        레인이 밀려 거절되면 보낸 세션에만 알린다
+        canvasEditService.submit(roomMessage, sessionId);
 
 //        kafkaTemplate.send("canvas-topic", roomMessage);
     }
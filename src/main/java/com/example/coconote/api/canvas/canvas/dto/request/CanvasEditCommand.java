@@ -0,0 +1,24 @@
+package com.example.coconote.api.canvas.canvas.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 다른 서버가 세션(lease)을 가진 캔버스의 블록 편집을 그 서버로 넘기는 명령과 그 응답 (Redis pub/sub: CanvasEditService.TOPIC)
+// 편집을 처리한 서버는 ACK, 레인이 가득 차서 받지 못했거나 처리에 실패한 서버는 REJECTED 를 보낸 사람이 연결된 서버로 돌려보낸다
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CanvasEditCommand {
+    private Type type;
+    private String commandId; // 응답을 원래 명령과 맞추는 id (다시 넘겨져도 그대로 유지)
+    private String targetNodeId; // 받을 서버 (EDIT: lease 소유 서버, ACK/REJECTED: originNodeId)
+    private int hops; // 넘겨진 횟수 (lease 가 옮겨 다니는 동안 무한히 돌지 않도록)
+    private CanvasSocketReqDto message;
+    private String originNodeId; // 보낸 사람이 연결된 서버 (응답을 돌려보낼 곳)
+    private String senderSessionId; // 보낸 사람의 STOMP 세션
+
+    public enum Type {
+        EDIT, ACK, REJECTED
+    }
+}
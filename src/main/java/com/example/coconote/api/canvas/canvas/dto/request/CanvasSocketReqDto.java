@@ -1,5 +1,6 @@
 package com.example.coconote.api.canvas.canvas.dto.request;
 
+import com.example.coconote.api.canvas.block.dto.request.BlockContentDelta;
 import com.example.coconote.api.canvas.block.entity.Type;
 import com.example.coconote.api.canvas.canvas.entity.CanvasMessageMethod;
 import com.example.coconote.api.canvas.canvas.entity.PostMessageType;
@@ -9,6 +10,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @AllArgsConstructor
@@ -42,6 +45,9 @@ public class CanvasSocketReqDto {
     private String nextBlockId = null; // Method.changeOrder 전용
     private String parentBlockId;
     private String blockContents;
+    private List<BlockContentDelta> blockDelta; // blockContents 대신 보내는 내용 변경 조각 (HOT_UPDATE_CONTENTS_BLOCK, UPDATE_BLOCK)
+    private Long blockBaseVersion; // blockDelta 를 만든 기준 블록 버전
+    private Long blockVersion; // 서버가 적용한 뒤의 블록 버전 (브로드캐스트용)
     private Type blockType;
     @Builder.Default
     private Integer blockLevel = 0; //front의 h태그 기능을 위해 추가
@@ -94,9 +94,13 @@ public class Canvas extends BaseEntity {
 
     public CanvasBlockDocument fromBlockDocEntity() {
         return CanvasBlockDocument.builder()
+                .canvasId(this.id)
+                .type("canvas")
                 .canvasTitle(this.title)
                 .createMemberName(this.workspaceMember.getNickname())
+                .workspaceMemberId(this.workspaceMember.getWorkspaceMemberId())
                 .channelId(this.channel.getChannelId())
+                .channelName(this.channel.getChannelName())
                 .canvasCreatedTime(this.getCreatedTime().toString())
                 .build();
     }
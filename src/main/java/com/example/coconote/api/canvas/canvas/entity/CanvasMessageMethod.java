@@ -2,6 +2,7 @@ package com.example.coconote.api.canvas.canvas.entity;
 
 public enum CanvasMessageMethod {
     ENTER,
+    LEAVE,
     CREATE_CANVAS,
     UPDATE_CANVAS,
     CHANGE_ORDER_CANVAS,
@@ -13,4 +14,5 @@ public enum CanvasMessageMethod {
     CHANGE_ORDER_BLOCK,
     DELETE_BLOCK,
     DEEP_DELETE_BLOCK,
+    REJECTED, // 서버가 밀려서 처리하지 못한 메시지 (보낸 사람은 다시 불러와야 함)
 }
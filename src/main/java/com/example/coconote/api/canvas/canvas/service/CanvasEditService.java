@@ -0,0 +1,200 @@
+package com.example.coconote.api.canvas.canvas.service;
+
+import com.example.coconote.api.canvas.block.service.BlockOrderService;
+import com.example.coconote.api.canvas.block.service.BlockService;
+import com.example.coconote.api.canvas.block.service.CanvasSessionManager;
+import com.example.coconote.api.canvas.canvas.component.CanvasLaneExecutor;
+import com.example.coconote.api.canvas.canvas.dto.request.CanvasEditCommand;
+import com.example.coconote.api.canvas.canvas.dto.request.CanvasSocketReqDto;
+import com.example.coconote.api.canvas.canvas.entity.CanvasMessageMethod;
+import com.example.coconote.api.canvas.canvas.entity.PostMessageType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 캔버스/블록 소켓 메시지 처리 순서 정리
+// - 같은 방(채널)의 편집은 CanvasLaneExecutor 의 한 레인에서 들어온 순서대로 처리 (canvas-topic 키와 같은 채널 id)
+// - 다른 서버가 세션(lease)을 가진 캔버스의 블록 편집은 DB 에 바로 쓰지 않고 소유 서버로 넘긴다
+//   (소유 서버 메모리에 DB 보다 최신 내용과 버전이 있으므로, 여기서 DB 기준으로 버전을 비교하면 멀쩡한 편집이 거절되거나 덮어써진다)
+// - 넘기는 명령은 Redis pub/sub 으로 보내서 지금 떠 있는 서버만 받는다 (재시작한 서버가 지난 명령을 다시 처리하지 않는다)
+//   pub/sub 은 받는 쪽이 없어도 조용히 사라지므로, 보낸 사람이 연결된 서버가 응답(ACK/REJECTED)을 ack-timeout 동안 기다린다
+//   응답이 없을 때 lease 가 풀렸거나 다른 서버로 넘어갔으면 (소유 서버가 죽은 경우) 다시 처리하고, 같은 서버가 아직 가지고 있으면 거절 메시지를 보낸다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CanvasEditService implements MessageListener {
+
+    public static final String TOPIC = "canvas-edit-command";
+    // lease 가 옮겨 다니는 동안 명령이 서버 사이를 계속 오가지 않도록, 이 횟수를 넘으면 받은 서버에서 직접 처리
+    private static final int MAX_FORWARD_HOPS = 3;
+
+    private final CanvasService canvasService;
+    private final BlockService blockService;
+    private final BlockOrderService blockOrderService;
+    private final CanvasSessionManager canvasSessionManager;
+    private final CanvasLaneExecutor canvasLaneExecutor;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${canvas.command.ack-timeout-ms:3000}")
+    private long ackTimeoutMs;
+
+    // 이 서버에 연결된 사람의 편집 중 다른 서버로 넘기고 응답을 기다리는 것 (commandId -> 명령)
+    private final Map<String, PendingCommand> pendingCommands = new ConcurrentHashMap<>();
+
+    // STOMP 수신 스레드에서 호출: 방 레인에 넣고, 레인이 밀려 받지 못하면 보낸 사람에게만 거절 메시지를 보낸다
+    public void submit(CanvasSocketReqDto message, String senderSessionId) {
+        String nodeId = canvasSessionManager.getNodeId();
+        CanvasEditCommand command = new CanvasEditCommand(CanvasEditCommand.Type.EDIT, UUID.randomUUID().toString(),
+                nodeId, 0, message, nodeId, senderSessionId);
+        if (!canvasLaneExecutor.submit(message.getChannelId(), () -> handle(command))) {
+            sendRejected(toRejected(message), senderSessionId);
+        }
+    }
+
+    // 다른 서버가 넘긴 블록 편집, 또는 이 서버가 넘긴 편집의 응답 (이 서버로 온 것만 처리)
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!(redisTemplate.getValueSerializer().deserialize(message.getBody()) instanceof CanvasEditCommand command)
+                || !canvasSessionManager.getNodeId().equals(command.getTargetNodeId())) {
+            return;
+        }
+        switch (command.getType()) {
+            case ACK -> pendingCommands.remove(command.getCommandId());
+            case REJECTED -> {
+                // 이미 시간 초과로 처리한 명령이면 보낸 사람에게 다시 알리지 않는다
+                if (pendingCommands.remove(command.getCommandId()) != null) {
+                    sendRejected(command.getMessage(), command.getSenderSessionId());
+                }
+            }
+            case EDIT -> {
+                CanvasSocketReqDto roomMessage = command.getMessage();
+                if (!canvasLaneExecutor.submit(roomMessage.getChannelId(), () -> handleForwarded(command))) {
+                    reply(command, CanvasEditCommand.Type.REJECTED);
+                }
+            }
+        }
+    }
+
+    // 응답이 ack-timeout 안에 오지 않은 명령 정리
+    @Scheduled(fixedDelayString = "${canvas.command.ack-check-interval-ms:1000}")
+    public void checkPendingCommands() {
+        long now = System.currentTimeMillis();
+        pendingCommands.values().removeIf(pending -> {
+            if (pending.deadline() > now) {
+                return false;
+            }
+            CanvasEditCommand command = pending.command();
+            CanvasSocketReqDto message = command.getMessage();
+            String owner = canvasSessionManager.remoteOwner(message.getCanvasId());
+            if (pending.ownerNodeId().equals(owner)) {
+                // 소유 서버가 lease 는 유지하면서 응답하지 못했다: 여기서 쓰면 그 서버 세션과 충돌하므로 보낸 사람이 다시 불러오게 한다
+                log.warn("Canvas edit was not acknowledged by lease owner - canvas: {}, owner: {}", message.getCanvasId(), owner);
+                sendRejected(toRejected(message), command.getSenderSessionId());
+            } else {
+                // lease 가 풀렸거나 다른 서버로 넘어갔다 (소유 서버가 죽었거나 세션을 닫음): 이 서버에서 다시 처리 (새 소유 서버가 있으면 그쪽으로)
+                log.info("Canvas edit owner changed before acknowledging, retrying - canvas: {}, owner: {} -> {}", message.getCanvasId(), pending.ownerNodeId(), owner);
+                if (!canvasLaneExecutor.submit(message.getChannelId(), () -> handle(command))) {
+                    sendRejected(toRejected(message), command.getSenderSessionId());
+                }
+            }
+            return true;
+        });
+    }
+
+    // 다른 서버에서 넘어온 편집: 처리한 뒤 보낸 사람의 서버에 응답한다 (다시 다른 서버로 넘긴 경우 그 서버가 응답)
+    private void handleForwarded(CanvasEditCommand command) {
+        boolean handled;
+        try {
+            handled = handle(command);
+        } catch (RuntimeException e) {
+            reply(command, CanvasEditCommand.Type.REJECTED);
+            throw e;
+        }
+        if (handled) {
+            reply(command, CanvasEditCommand.Type.ACK);
+        }
+    }
+
+    // 이 서버에서 처리했으면 true, 다른 서버로 넘겼으면 false
+    private boolean handle(CanvasEditCommand command) {
+        CanvasSocketReqDto message = command.getMessage();
+        if (PostMessageType.CANVAS.equals(message.getPostMessageType())) {
+            if (CanvasMessageMethod.LEAVE.equals(message.getMethod())) {
+                canvasSessionManager.flushCanvas(message.getCanvasId());
+            }
+            canvasService.editCanvasInSocket(message);
+        } else if (PostMessageType.BLOCK.equals(message.getPostMessageType())) {
+            String owner = canvasSessionManager.remoteOwner(message.getCanvasId());
+            if (owner != null && command.getHops() < MAX_FORWARD_HOPS) {
+                forward(owner, command);
+                return false;
+            }
+            // 타이핑/들여쓰기는 캔버스 세션 메모리에 반영 후 바로 브로드캐스트 (DB 는 write-behind)
+            if (!canvasSessionManager.applyInSession(message)) {
+                // 구조 변경은 세션 변경분을 먼저 DB 에 쓰고 기존 트랜잭션 경로로 처리
+                canvasSessionManager.flushCanvas(message.getCanvasId());
+                if (message.getCanvasId() != null) {
+                    // 순서 키가 없는 예전 블록은 편집 트랜잭션을 열기 전에 채운다 (열린 뒤에 채우면 그 트랜잭션에서는 보이지 않는다)
+                    blockOrderService.ensureOrderKeys(message.getCanvasId());
+                }
+                blockService.editBlockInSocket(message);
+                canvasSessionManager.forgetBlocks(message.getCanvasId());
+            }
+        }
+        return true;
+    }
+
+    // 같은 캔버스의 명령은 같은 서버의 같은 레인에서 보낸 순서대로 발행되고, 소유 서버는 구독 순서대로 레인에 넣는다
+    // 보낸 사람이 이 서버에 연결되어 있으면 응답을 기다린다 (다른 서버에서 넘어온 명령은 그 서버가 기다린다)
+    private void forward(String ownerNodeId, CanvasEditCommand command) {
+        log.debug("Forwarding canvas edit to lease owner - canvas: {}, owner: {}", command.getMessage().getCanvasId(), ownerNodeId);
+        CanvasEditCommand forwarded = new CanvasEditCommand(CanvasEditCommand.Type.EDIT, command.getCommandId(), ownerNodeId,
+                command.getHops() + 1, command.getMessage(), command.getOriginNodeId(), command.getSenderSessionId());
+        if (canvasSessionManager.getNodeId().equals(command.getOriginNodeId())) {
+            pendingCommands.put(command.getCommandId(), new PendingCommand(forwarded, ownerNodeId, System.currentTimeMillis() + ackTimeoutMs));
+        }
+        redisTemplate.convertAndSend(TOPIC, forwarded);
+    }
+
+    // 보낸 사람이 연결된 서버로 처리 결과를 돌려보낸다 (거절이면 내용은 빼고)
+    private void reply(CanvasEditCommand command, CanvasEditCommand.Type type) {
+        CanvasSocketReqDto message = CanvasEditCommand.Type.REJECTED.equals(type) ? toRejected(command.getMessage()) : null;
+        redisTemplate.convertAndSend(TOPIC, new CanvasEditCommand(type, command.getCommandId(), command.getOriginNodeId(),
+                command.getHops(), message, command.getOriginNodeId(), command.getSenderSessionId()));
+    }
+
+    // 레인이 밀려 있으면 보낸 사람이 해당 블록/캔버스를 다시 불러오도록 거절 메시지를 보낸다 (내용은 빼고)
+    private CanvasSocketReqDto toRejected(CanvasSocketReqDto message) {
+        message.setMethod(CanvasMessageMethod.REJECTED);
+        message.setBlockContents(null);
+        message.setBlockDelta(null);
+        return message;
+    }
+
+    // 보낸 사람의 STOMP 세션에만 보낸다 (구독: /user/sub/canvas/rejected), 방의 다른 사람은 다시 불러올 필요가 없다
+    private void sendRejected(CanvasSocketReqDto message, String senderSessionId) {
+        if (senderSessionId == null) {
+            return;
+        }
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setSessionId(senderSessionId);
+        headerAccessor.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(senderSessionId, "/sub/canvas/rejected", message, headerAccessor.getMessageHeaders());
+    }
+
+    private record PendingCommand(CanvasEditCommand command, String ownerNodeId, long deadline) {
+    }
+}
@@ -13,6 +13,7 @@ import com.example.coconote.api.channel.channel.entity.Channel;
 import com.example.coconote.api.channel.channel.repository.ChannelRepository;
 import com.example.coconote.api.member.entity.Member;
 import com.example.coconote.api.member.repository.MemberRepository;
+import com.example.coconote.api.search.component.BlockIndexCoalescer;
 import com.example.coconote.api.search.dto.EntityType;
 import com.example.coconote.api.search.dto.IndexEntityMessage;
 import com.example.coconote.api.search.entity.CanvasBlockDocument;
@@ -23,9 +24,7 @@ import com.example.coconote.api.workspace.workspace.repository.WorkspaceReposito
 import com.example.coconote.api.workspace.workspaceMember.entity.WorkspaceMember;
 import com.example.coconote.api.workspace.workspaceMember.repository.WorkspaceMemberRepository;
 import com.example.coconote.common.IsDeleted;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.coconote.common.KafkaMessageCodec;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
@@ -40,6 +39,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Slf4j
 @Service
@@ -52,8 +52,10 @@ public class CanvasService {
     private final BlockService blockService;
     private final WorkspaceMemberRepository workspaceMemberRepository;
     private final WorkspaceRepository workspaceRepository;
+    private final BlockIndexCoalescer blockIndexCoalescer;
+    private final KafkaMessageCodec kafkaMessageCodec;
 
-    public CanvasService(CanvasRepository canvasRepository, ChannelRepository channelRepository, MemberRepository memberRepository, KafkaTemplate<String, Object> kafkaTemplate, SimpMessageSendingOperations messagingTemplate, SearchService searchService, BlockService blockService, CanvasBlockMapper canvasBlockMapper, WorkspaceMemberRepository workspaceMemberRepository, WorkspaceRepository workspaceRepository){
+    public CanvasService(CanvasRepository canvasRepository, ChannelRepository channelRepository, MemberRepository memberRepository, KafkaTemplate<String, Object> kafkaTemplate, SimpMessageSendingOperations messagingTemplate, SearchService searchService, BlockService blockService, CanvasBlockMapper canvasBlockMapper, WorkspaceMemberRepository workspaceMemberRepository, WorkspaceRepository workspaceRepository, BlockIndexCoalescer blockIndexCoalescer, KafkaMessageCodec kafkaMessageCodec){
         this.canvasRepository = canvasRepository;
         this.channelRepository = channelRepository;
         this.memberRepository = memberRepository;
@@ -66,6 +68,8 @@ public class CanvasService {
         this.blockService = blockService;
         this.workspaceMemberRepository = workspaceMemberRepository;
         this.workspaceRepository = workspaceRepository;
+        this.blockIndexCoalescer = blockIndexCoalescer;
+        this.kafkaMessageCodec = kafkaMessageCodec;
     }
 
     public CreateCanvasResDto createCanvas(CanvasSocketReqDto createCanvasReqDto, WorkspaceMember workspaceMember) {
@@ -100,7 +104,7 @@ public class CanvasService {
 //        검색 인덱스에 저장
         CanvasBlockDocument document = canvasBlockMapper.toDocument(canvas);
         IndexEntityMessage<CanvasBlockDocument> indexEntityMessage = new IndexEntityMessage<>(channel.getSection().getWorkspace().getWorkspaceId() , EntityType.CANVAS, document);
-        kafkaTemplate.send("canvas_block_entity_search", indexEntityMessage.toJson());
+        kafkaTemplate.send("canvas_block_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
         topics.put(canvas.getId(), canvas.getId());
 
@@ -182,7 +186,13 @@ public class CanvasService {
             }
         }
 
+        String previousTitle = canvas.getTitle();
         canvas.updateInfo(canvasSocketReqDto.getCanvasTitle(), parentCanvas, IsDeleted.N);
+
+        // 캔버스 제목이 바뀌면 캔버스/블록 문서에 비정규화된 canvasTitle도 갱신
+        if (!Objects.equals(previousTitle, canvas.getTitle())) {
+            searchService.propagateCanvasTitle(canvas.getChannel().getSection().getWorkspace().getWorkspaceId(), canvas.getId(), canvas.getTitle());
+        }
         return canvas.fromDetEntity();
     }
 
@@ -276,6 +286,7 @@ public class CanvasService {
             prevLinkedCanvas.changePrevCanvas(canvasPrevOriginBlock);
         }
         canvas.markAsDeleted(); // 실제 삭제 대신 소프트 삭제 처리
+        blockIndexCoalescer.discardCanvas(canvas.getId()); // 대기 중인 블록 인덱싱은 버린다
         searchService.deleteCanvas(canvas.getChannel().getSection().getWorkspace().getWorkspaceId(), canvas.getId());
         return deletedCanvasId;
     }
@@ -348,12 +359,10 @@ public class CanvasService {
     @Transactional
     @KafkaListener(topics = "canvas-topic")
     public void consumerProductQuantity(String message) { // return 시, string 형식으로 message가 들어옴
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         try {
 //            System.out.println("Kafka 이후 메세지"+ message + "/" + message.toString());
             // ChatMessage 객채로 맵핑
-            CanvasSocketReqDto roomMessage = objectMapper.readValue(message, CanvasSocketReqDto.class);
+            CanvasSocketReqDto roomMessage = kafkaMessageCodec.decode(message, CanvasSocketReqDto.class);
 
 //            Member member = memberRepository.findById(roomMessage.getSenderId()).orElseThrow(() -> new EntityNotFoundException("해당멤버가 없습니다."));
 //            Workspace workspace = workspaceRepository.findById(roomMessage.getWorkspaceId()).orElseThrow(() -> new EntityNotFoundException("해당 워크스페이스가 없습니다."));
@@ -368,9 +377,6 @@ public class CanvasService {
 //            }else if(roomMessage.getPostMessageType().equals(PostMessageType.BLOCK)){
 //                blockService.editBlockInSocket(roomMessage, workspaceMember);
 //            }
-        } catch (JsonProcessingException e) {
-            log.error("JSON 처리 오류: {}", e.getMessage());
-            throw new RuntimeException(e);
         } catch (Exception e) {
             log.error("알 수 없는 오류: {}", e.getMessage());
             throw e;  // 예외를 다시 던져 트랜잭션을 롤백하도록 함
@@ -386,6 +392,12 @@ public class CanvasService {
         WorkspaceMember workspaceMember = workspaceMemberRepository.findByMemberAndWorkspaceAndIsDeleted(member, workspace, IsDeleted.N).orElseThrow(() -> new EntityNotFoundException("해당 워크스페이스 멤버가 없습니다."));
         canvasSocketReqDto.setWorkspaceMemberId(workspaceMember.getWorkspaceMemberId());
 
+        if (canvasSocketReqDto.getMethod().equals(CanvasMessageMethod.LEAVE)) { // 캔버스 나가기
+//            편집 중이던 블록의 대기 중인 인덱싱을 바로 반영 (다른 사용자에게 브로드캐스트할 내용은 없음)
+            blockIndexCoalescer.flushCanvas(canvasSocketReqDto.getCanvasId());
+            return;
+        }
+
         if (canvasSocketReqDto.getMethod().equals(CanvasMessageMethod.CREATE_CANVAS)) { // 생성 캔버스
             CreateCanvasResDto createCanvasResDto = createCanvas(canvasSocketReqDto, workspaceMember);
             canvasSocketReqDto.setCanvasId(createCanvasResDto.getCanvasId());
@@ -400,7 +412,7 @@ public class CanvasService {
             log.error("잘못된 canvas method");
         }
 
-        kafkaTemplate.send("canvas-topic", canvasSocketReqDto);
+        kafkaTemplate.send("canvas-topic", String.valueOf(canvasSocketReqDto.getChannelId()), canvasSocketReqDto);
     }
 
 }
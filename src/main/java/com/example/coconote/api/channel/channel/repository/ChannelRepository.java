@@ -21,4 +21,14 @@ public interface ChannelRepository extends JpaRepository<Channel, Long> {
             "AND c.isDeleted = :isDeleted " +  // 삭제되지 않은 채널만
             "AND (c.isPublic = true OR cm.workspaceMember = :workspaceMember)")  // 공개 채널이거나, 워크스페이스 멤버가 속한 비공개 채널만
     List<Channel> findChannelsByWorkspaceMemberOrPublic(Section section, IsDeleted isDeleted, WorkspaceMember workspaceMember);
+
+    // 검색 ACL: 워크스페이스에서 회원이 볼 수 있는 채널 ID (공개 채널 + 가입한 비공개 채널)
+    @Query("SELECT DISTINCT c.channelId FROM Channel c " +
+            "JOIN c.section s " +
+            "LEFT JOIN c.channelMembers cm ON cm.isDeleted = :isDeleted " +
+            "LEFT JOIN cm.workspaceMember wm ON wm.isDeleted = :isDeleted " +
+            "WHERE s.workspace.workspaceId = :workspaceId " +
+            "AND c.isDeleted = :isDeleted " +
+            "AND (c.isPublic = true OR wm.member.id = :memberId)")
+    List<Long> findAccessibleChannelIds(Long workspaceId, Long memberId, IsDeleted isDeleted);
 }
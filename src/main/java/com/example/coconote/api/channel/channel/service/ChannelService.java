@@ -20,6 +20,7 @@ import com.example.coconote.api.search.dto.IndexEntityMessage;
 import com.example.coconote.api.search.entity.ChannelDocument;
 import com.example.coconote.api.search.entity.WorkspaceMemberDocument;
 import com.example.coconote.api.search.mapper.ChannelMapper;
+import com.example.coconote.api.search.component.ChannelAclCache;
 import com.example.coconote.api.search.service.SearchService;
 import com.example.coconote.api.section.entity.Section;
 import com.example.coconote.api.section.entity.SectionType;
@@ -39,6 +40,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -58,6 +60,7 @@ public class ChannelService {
     private final WorkspaceMemberRepository workspaceMemberRepository;
     private final ChannelMemberRepository channelMemberRepository;
     private final SearchService searchService;
+    private final ChannelAclCache channelAclCache;
     private final ChannelMapper channelMapper;
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
@@ -84,7 +87,14 @@ public class ChannelService {
 
         ChannelDocument document = channelMapper.toDocument(channel);
         IndexEntityMessage<ChannelDocument> indexEntityMessage = new IndexEntityMessage<>(channel.getSection().getWorkspace().getWorkspaceId(), EntityType.CHANNEL, document);
-        kafkaTemplate.send("channel_entity_search", indexEntityMessage.toJson());
+        kafkaTemplate.send("channel_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
+
+        // 공개 채널은 워크스페이스 전체, 비공개 채널은 만든 회원의 검색용 채널 ACL 만 달라진다
+        if (Boolean.TRUE.equals(channel.getIsPublic())) {
+            channelAclCache.evictWorkspace(section.getWorkspace().getWorkspaceId());
+        } else {
+            channelAclCache.evictMember(section.getWorkspace().getWorkspaceId(), member.getId());
+        }
 
         createDefaultFolder(channel);
         ChannelDetailResDto resDto = channel.fromEntity(section);
@@ -168,12 +178,18 @@ public class ChannelService {
         if (channel.getIsDeleted().equals(IsDeleted.Y)) {
             throw new IllegalArgumentException("이미 삭제된 채널입니다.");
         }
+        String previousChannelName = channel.getChannelName();
         channel.updateEntity(dto);
         channelRepository.save(channel);
 
         ChannelDocument document = channelMapper.toDocument(channel);
         IndexEntityMessage<ChannelDocument> indexEntityMessage = new IndexEntityMessage<>(channel.getSection().getWorkspace().getWorkspaceId(),EntityType.CHANNEL , document);
-        kafkaTemplate.send("channel_entity_search", indexEntityMessage.toJson());
+        kafkaTemplate.send("channel_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
+
+        // 채널 이름이 바뀌면 쓰레드/파일/캔버스 문서에 비정규화된 channelName도 갱신
+        if (!Objects.equals(previousChannelName, channel.getChannelName())) {
+            searchService.propagateChannelName(channel.getSection().getWorkspace().getWorkspaceId(), channel.getChannelId(), channel.getChannelName());
+        }
 
         return channel.fromEntity(channel.getSection());
     }
@@ -193,6 +209,7 @@ public class ChannelService {
         }
         channel.deleteEntity();
         searchService.deleteChannel(channel.getSection().getWorkspace().getWorkspaceId(), channel.getChannelId());
+        channelAclCache.evictWorkspace(channel.getSection().getWorkspace().getWorkspaceId());
     }
 
     public FolderAllListResDto channelDrive(Long channelId, String email) {
@@ -304,10 +321,12 @@ public class ChannelService {
 
         channel.changeAccessLevel(dto.getIsPublic());
         channelRepository.save(channel);
+        // 공개 여부가 바뀌면 워크스페이스 전체 회원의 검색용 채널 ACL 이 달라진다
+        channelAclCache.evictWorkspace(channel.getSection().getWorkspace().getWorkspaceId());
 
         ChannelDocument document = channelMapper.toDocument(channel);
         IndexEntityMessage<ChannelDocument> indexEntityMessage = new IndexEntityMessage<>(channel.getSection().getWorkspace().getWorkspaceId(),EntityType.CHANNEL , document);
-        kafkaTemplate.send("channel_entity_search", indexEntityMessage.toJson());
+        kafkaTemplate.send("channel_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
         return channel.fromEntity(channel.getSection());
     }
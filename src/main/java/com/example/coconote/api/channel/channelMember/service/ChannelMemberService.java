@@ -10,6 +10,7 @@ import com.example.coconote.api.channel.channelMember.entity.ChannelRole;
 import com.example.coconote.api.channel.channelMember.repository.ChannelMemberRepository;
 import com.example.coconote.api.member.entity.Member;
 import com.example.coconote.api.member.repository.MemberRepository;
+import com.example.coconote.api.search.component.ChannelAclCache;
 import com.example.coconote.api.section.repository.SectionRepository;
 import com.example.coconote.api.workspace.workspace.entity.Workspace;
 import com.example.coconote.api.workspace.workspace.repository.WorkspaceRepository;
@@ -37,6 +38,7 @@ public class ChannelMemberService {
     private final ChannelRepository channelRepository;
     private final MemberRepository memberRepository;
     private final WorkspaceRepository workspaceRepository;
+    private final ChannelAclCache channelAclCache;
 
     @Autowired
     public ChannelMemberService(ChannelMemberRepository channelMemberRepository,
@@ -44,13 +46,15 @@ public class ChannelMemberService {
                                 ChannelRepository channelRepository,
                                 SectionRepository sectionRepository,
                                 MemberRepository memberRepository,
-                                WorkspaceRepository workspaceRepository) {
+                                WorkspaceRepository workspaceRepository,
+                                ChannelAclCache channelAclCache) {
 
         this.channelMemberRepository = channelMemberRepository;
         this.workspaceMemberRepository = workspaceMemberRepository;
         this.channelRepository = channelRepository;
         this.memberRepository = memberRepository;
         this.workspaceRepository = workspaceRepository;
+        this.channelAclCache = channelAclCache;
     }
 
     public ChannelMemberListResDto channelMemberCreate(Long channelId, String email) {
@@ -70,6 +74,8 @@ public class ChannelMemberService {
                         .workspaceMember(workspaceMember)
                         .channel(channel)
                         .build());
+        // 검색에서 볼 수 있는 채널이 바뀌므로 해당 회원의 채널 ACL 캐시 제거
+        evictChannelAcl(workspaceMember);
 
         if (channelMemberDeleted.getIsDeleted().equals(IsDeleted.Y)) {
             channelMemberDeleted.restoreEntity();
@@ -154,6 +160,7 @@ public class ChannelMemberService {
             throw new IllegalArgumentException("강퇴 권한이 없습니다.");
         }
         deletedChannelMember.deleteEntity();
+        evictChannelAcl(deletedWorkspaceMember);
     }
 
 
@@ -180,6 +187,7 @@ public class ChannelMemberService {
         if(channelMemberRepository.findByChannelAndWorkspaceMemberAndIsDeleted(channel, workspaceMember, IsDeleted.Y).isPresent()) {
             ChannelMember channelMemberCameBack = channelMemberRepository.findByChannelAndWorkspaceMemberAndIsDeleted(channel, workspaceMember, IsDeleted.Y).orElseThrow(()-> new EntityNotFoundException("없는 채널 회원입니다."));
             channelMemberCameBack.restoreEntity();
+            evictChannelAcl(workspaceMember);
             return channelMemberCameBack.fromEntity();
         }
         if(channelMemberRepository.findByChannelAndWorkspaceMemberAndIsDeleted(channel, workspaceMember, IsDeleted.N).isPresent()) {
@@ -195,6 +203,7 @@ public class ChannelMemberService {
                 .workspaceMember(workspaceMember)
                 .build();
         channelMemberRepository.save(channelMember);
+        evictChannelAcl(workspaceMember);
         return channelMember.fromEntity();
     }
 
@@ -207,5 +216,11 @@ public class ChannelMemberService {
             throw new IllegalArgumentException("기본 채널에서는 나갈 수 없습니다.");
         }
         channelMember.deleteEntity();
+        evictChannelAcl(workspaceMember);
+    }
+
+    // 채널 가입 상태가 바뀐 회원의 검색용 채널 ACL 캐시 제거 (커밋 후 반영)
+    private void evictChannelAcl(WorkspaceMember workspaceMember) {
+        channelAclCache.evictMember(workspaceMember.getWorkspace().getWorkspaceId(), workspaceMember.getMember().getId());
     }
 }
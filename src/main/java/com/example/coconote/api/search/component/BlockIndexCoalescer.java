@@ -0,0 +1,108 @@
+package com.example.coconote.api.search.component;
+
+import com.example.coconote.api.search.dto.EntityType;
+import com.example.coconote.api.search.dto.IndexEntityMessage;
+import com.example.coconote.api.search.entity.CanvasBlockDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 타이핑 중인 블록(HOT_UPDATE_CONTENTS_BLOCK)의 인덱싱 요청을 문서 ID 기준으로 모아두는 단계
+// 같은 블록은 마지막 버전만 남기고, 입력이 quiet-window 동안 멈추면 한 번만 인덱싱 메시지를 보낸다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlockIndexCoalescer {
+
+    private static final String TOPIC = "canvas_block_entity_search";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    // 마지막 수정 후 이 시간(ms) 동안 추가 수정이 없으면 flush
+    @Value("${search.indexing.coalesce.quiet-window-ms:1500}")
+    private long quietWindowMs;
+
+    // 계속 타이핑 중이어도 처음 수정 후 이 시간(ms)이 지나면 flush (검색 반영 지연 상한)
+    @Value("${search.indexing.coalesce.max-delay-ms:10000}")
+    private long maxDelayMs;
+
+    // documentId(block_{id}) -> 대기 중인 최신 문서
+    private final Map<String, PendingDocument> pendingDocuments = new ConcurrentHashMap<>();
+
+    public void submitBlock(Long workspaceId, CanvasBlockDocument document) {
+        long now = System.currentTimeMillis();
+        pendingDocuments.merge(documentId(document.getBlockId()),
+                new PendingDocument(workspaceId, document, now, now),
+                // 이전 버전은 버리고, 처음 들어온 시각만 유지
+                (previous, latest) -> new PendingDocument(workspaceId, document, previous.getFirstSubmittedAt(), now));
+    }
+
+    @Scheduled(fixedDelayString = "${search.indexing.coalesce.flush-interval-ms:500}")
+    public void flushQuietDocuments() {
+        long now = System.currentTimeMillis();
+        pendingDocuments.forEach((documentId, pending) -> {
+            boolean quiet = now - pending.getLastSubmittedAt() >= quietWindowMs;
+            boolean tooOld = now - pending.getFirstSubmittedAt() >= maxDelayMs;
+            if (quiet || tooOld) {
+                flush(documentId, pending);
+            }
+        });
+    }
+
+    // 캔버스를 닫을 때 해당 캔버스의 대기 문서를 바로 인덱싱
+    public void flushCanvas(Long canvasId) {
+        pendingDocuments.forEach((documentId, pending) -> {
+            if (Objects.equals(pending.getDocument().getCanvasId(), canvasId)) {
+                flush(documentId, pending);
+            }
+        });
+    }
+
+    // 블록이 삭제되면 대기 중인 인덱싱은 버린다 (삭제 후 다시 색인되는 것 방지)
+    public void discardBlock(Long blockId) {
+        pendingDocuments.remove(documentId(blockId));
+    }
+
+    public void discardCanvas(Long canvasId) {
+        pendingDocuments.values().removeIf(pending -> Objects.equals(pending.getDocument().getCanvasId(), canvasId));
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        log.info("Flushing {} pending block index documents", pendingDocuments.size());
+        pendingDocuments.forEach(this::flush);
+    }
+
+    private void flush(String documentId, PendingDocument pending) {
+        // 그 사이 새 버전이 들어왔으면 remove 가 실패하고, 새 버전은 다음 주기에 처리된다
+        if (!pendingDocuments.remove(documentId, pending)) {
+            return;
+        }
+        IndexEntityMessage<CanvasBlockDocument> indexEntityMessage =
+                new IndexEntityMessage<>(pending.getWorkspaceId(), EntityType.BLOCK, pending.getDocument());
+        kafkaTemplate.send(TOPIC, String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
+    }
+
+    private String documentId(Long blockId) {
+        return "block_" + blockId;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PendingDocument {
+        private final Long workspaceId;
+        private final CanvasBlockDocument document;
+        private final long firstSubmittedAt;
+        private final long lastSubmittedAt;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.coconote.api.search.component;
+
+import com.example.coconote.api.channel.channel.repository.ChannelRepository;
+import com.example.coconote.common.IsDeleted;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+// 검색 시 회원이 볼 수 있는 채널 ID 집합(공개 채널 + 가입한 비공개 채널) 캐시
+// 채널 ID 집합을 RoaringBitmap 으로 직렬화해 Base64 로 Redis 에 저장한다
+// (채널 ID 는 전역 자동 증가라 한 워크스페이스의 채널은 넓은 범위에 흩어져 있다, 압축 비트맵은 범위가 아니라 개수에 비례해 작다)
+// 무효화는 키를 지우지 않고 세대(generation)를 올린다: 지우는 방식은 변경 전 DB 를 읽은 요청이 지운 뒤에 옛 값을 다시 넣을 수 있다
+// - 채널 가입/탈퇴/초대/강퇴: 회원 세대를 올려 해당 회원 캐시만 무효화
+// - 공개 여부 변경/채널 생성/삭제: 워크스페이스 세대를 올려 그 워크스페이스의 모든 회원 캐시를 무효화
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChannelAclCache {
+
+    private static final String KEY_PREFIX = "search:acl:";
+    private static final String GENERATION_KEY_PREFIX = "search:acl:gen:";
+    private static final String MEMBER_GENERATION_KEY_PREFIX = "search:acl:member-gen:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ChannelRepository channelRepository;
+
+    @Value("${search.acl.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    public ChannelAcl get(Long workspaceId, Long memberId) {
+        String key = null;
+        try {
+            key = cacheKey(workspaceId, memberId);
+            Object cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return new ChannelAcl(deserialize(Base64.getDecoder().decode(cached.toString())));
+            }
+        } catch (Exception e) {
+            // Redis 장애 시에는 DB 에서 바로 계산 (캐시 없이도 결과는 같다)
+            log.warn("Channel ACL cache read failed - workspace: {}, member: {}", workspaceId, memberId, e);
+            key = null;
+        }
+
+        // 키(세대)를 DB 조회 전에 정해 두므로, 조회 도중 무효화되면 옛 세대 키에 저장되고 다시 읽히지 않는다
+        RoaringBitmap channels = new RoaringBitmap();
+        List<Long> channelIds = channelRepository.findAccessibleChannelIds(workspaceId, memberId, IsDeleted.N);
+        channelIds.forEach(channelId -> channels.add(Math.toIntExact(channelId)));
+        channels.runOptimize();
+
+        if (key != null) {
+            try {
+                redisTemplate.opsForValue().set(key, Base64.getEncoder().encodeToString(serialize(channels)), Duration.ofSeconds(ttlSeconds));
+            } catch (Exception e) {
+                log.warn("Channel ACL cache write failed - workspace: {}, member: {}", workspaceId, memberId, e);
+            }
+        }
+        return new ChannelAcl(channels);
+    }
+
+    // 한 회원의 채널 가입 상태가 바뀐 경우 (트랜잭션 안이면 커밋 후에 세대를 올린다)
+    // 세대 키는 캐시 TTL 의 두 배 동안 유지: 만료돼 0 으로 돌아갈 때는 이전 세대 0 의 항목도 이미 만료돼 있다
+    public void evictMember(Long workspaceId, Long memberId) {
+        afterCommit(() -> {
+            try {
+                String generationKey = memberGenerationKey(workspaceId, memberId);
+                redisTemplate.opsForValue().increment(generationKey);
+                redisTemplate.expire(generationKey, Duration.ofSeconds(ttlSeconds * 2));
+            } catch (Exception e) {
+                log.warn("Channel ACL cache eviction failed - workspace: {}, member: {}", workspaceId, memberId, e);
+            }
+        });
+    }
+
+    // 워크스페이스 전체 회원에게 영향을 주는 변경 (채널 공개 여부, 채널 생성/삭제)
+    public void evictWorkspace(Long workspaceId) {
+        afterCommit(() -> {
+            try {
+                redisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + workspaceId);
+            } catch (Exception e) {
+                log.warn("Channel ACL cache invalidation failed - workspace: {}", workspaceId, e);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // 키: search:acl:{workspaceId}:{워크스페이스 세대}:{회원 세대}:{memberId}
+    private String cacheKey(Long workspaceId, Long memberId) {
+        List<Object> generations = redisTemplate.opsForValue().multiGet(
+                List.of(GENERATION_KEY_PREFIX + workspaceId, memberGenerationKey(workspaceId, memberId)));
+        Object workspaceGeneration = generations != null ? generations.get(0) : null;
+        Object memberGeneration = generations != null ? generations.get(1) : null;
+        return KEY_PREFIX + workspaceId + ":" + (workspaceGeneration != null ? workspaceGeneration : 0) + ":"
+                + (memberGeneration != null ? memberGeneration : 0) + ":" + memberId;
+    }
+
+    private String memberGenerationKey(Long workspaceId, Long memberId) {
+        return MEMBER_GENERATION_KEY_PREFIX + workspaceId + ":" + memberId;
+    }
+
+    private static byte[] serialize(RoaringBitmap channels) {
+        ByteBuffer buffer = ByteBuffer.allocate(channels.serializedSizeInBytes());
+        channels.serialize(buffer);
+        return buffer.array();
+    }
+
+    private static RoaringBitmap deserialize(byte[] bytes) throws IOException {
+        RoaringBitmap channels = new RoaringBitmap();
+        channels.deserialize(ByteBuffer.wrap(bytes));
+        return channels;
+    }
+
+    // 회원이 볼 수 있는 채널 집합
+    @Getter
+    public static class ChannelAcl {
+        private final RoaringBitmap channels;
+        // 검색 결과 캐시 키에 넣는 집합 지문 (같은 채널 집합이면 회원이 달라도 결과 캐시를 공유한다)
+        private final String fingerprint;
+
+        private ChannelAcl(RoaringBitmap channels) {
+            this.channels = channels;
+            this.fingerprint = fingerprint(channels);
+        }
+
+        public List<Long> channelIds() {
+            List<Long> channelIds = new ArrayList<>(channels.getCardinality());
+            channels.forEach((int channelId) -> channelIds.add((long) channelId));
+            return channelIds;
+        }
+
+        private static String fingerprint(RoaringBitmap channels) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(serialize(channels));
+                return HexFormat.of().formatHex(digest, 0, 8);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.coconote.api.search.component;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// OpenSearch 호출 차단기
+// 타임아웃/연결 실패/5xx 가 일정 비율을 넘거나 응답이 느려지면 차단기를 열어 요청 스레드가 타임아웃까지 기다리지 않게 한다
+// - 열림: 검색은 캐시 또는 빈 결과(degraded)로 응답하고, 인덱싱 컨슈머는 일시 정지
+// - 반열림/닫힘: 인덱싱 컨슈머 재개 (반열림 상태에서는 컨슈머 요청이 복구 확인 역할도 한다)
+// - 재개 직후 일정 시간은 밀린 레코드를 정해진 속도로만 소화해서 막 살아난 클러스터에 부하가 몰리지 않게 한다
+// _update_by_query / _delete_by_query 는 문서 수에 비례해 오래 걸리므로 느린 호출 기준이 긴 별도 차단기로 집계한다
+// (둘 중 하나라도 열려 있으면 인덱싱 컨슈머는 정지 상태를 유지)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenSearchCircuitBreaker {
+
+    public static final String INDEXING_LISTENER_ID = "search-indexing";
+
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${search.circuit.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    // 이 시간보다 오래 걸린 호출은 느린 호출로 집계
+    @Value("${search.circuit.slow-call-ms:2000}")
+    private long slowCallMs;
+
+    // by-query 호출의 느린 호출 기준 (by-query 전용 소켓 타임아웃보다 짧게)
+    @Value("${search.circuit.by-query-slow-call-ms:30000}")
+    private long byQuerySlowCallMs;
+
+    @Value("${search.circuit.open-wait-ms:30000}")
+    private long openWaitMs;
+
+    // 재개 후 이 시간 동안은 초당 recovery-records-per-second 건까지만 인덱싱
+    @Value("${search.indexing.recovery-window-ms:60000}")
+    private long recoveryWindowMs;
+
+    @Value("${search.indexing.recovery-records-per-second:1000}")
+    private int recoveryRecordsPerSecond;
+
+    private CircuitBreaker circuitBreaker;
+    private CircuitBreaker byQueryCircuitBreaker;
+    private volatile long recoveringUntil;
+    private long nextBatchAt;
+
+    @PostConstruct
+    public void init() {
+        circuitBreaker = createCircuitBreaker("opensearch", slowCallMs);
+        byQueryCircuitBreaker = createCircuitBreaker("opensearch-by-query", byQuerySlowCallMs);
+
+        Gauge.builder("search.opensearch.circuit.open", circuitBreaker, breaker -> isOpen(breaker.getState()) ? 1 : 0)
+                .description("1 while the OpenSearch circuit breaker is open")
+                .register(meterRegistry);
+        Gauge.builder("search.opensearch.by-query.circuit.open", byQueryCircuitBreaker, breaker -> isOpen(breaker.getState()) ? 1 : 0)
+                .description("1 while the OpenSearch by-query circuit breaker is open")
+                .register(meterRegistry);
+    }
+
+    // 차단기를 거쳐 OpenSearch 호출 (열려 있으면 바로 CallNotPermittedException)
+    public <T> T execute(OpenSearchCall<T> call) throws IOException {
+        return execute(circuitBreaker, call);
+    }
+
+    // by-query 전용 차단기를 거쳐 _update_by_query / _delete_by_query 호출
+    public <T> T executeByQuery(OpenSearchCall<T> call) throws IOException {
+        return execute(byQueryCircuitBreaker, call);
+    }
+
+    public boolean isOpen() {
+        return isOpen(circuitBreaker.getState());
+    }
+
+    public boolean isUnavailable(Throwable e) {
+        return isUnavailableCause(e);
+    }
+
+    // 예외(또는 원인)가 OpenSearch 장애 때문인지 - 차단기에 막혔거나 타임아웃/연결 실패, 429/5xx 응답
+    // 인덱싱 컨슈머의 에러 핸들러도 이 기준으로 레코드를 건너뛰지 않고 무제한 재시도한다
+    public static boolean isUnavailableCause(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CallNotPermittedException || isOutage(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 재개 직후에는 배치 사이 간격을 벌려 초당 처리 건수를 제한한다 (인덱싱 컨슈머 스레드에서 호출)
+    public void throttleRecovery(int records) {
+        if (System.currentTimeMillis() >= recoveringUntil || recoveryRecordsPerSecond <= 0) {
+            return;
+        }
+        long waitMs;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            long startAt = Math.max(now, nextBatchAt);
+            nextBatchAt = startAt + records * 1000L / recoveryRecordsPerSecond;
+            waitMs = startAt - now;
+        }
+        if (waitMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(waitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 차단기에 집계할 실패: 연결/타임아웃(IOException), 서버 과부하(429)와 5xx (404 같은 요청 오류는 장애가 아님)
+    private static boolean isOutage(Throwable e) {
+        if (e instanceof IOException) {
+            return true;
+        }
+        return e instanceof OpenSearchException openSearchException
+                && (openSearchException.status() == 429 || openSearchException.status() >= 500);
+    }
+
+    private boolean isOpen(CircuitBreaker.State state) {
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    private CircuitBreaker createCircuitBreaker(String name, long slowCallThresholdMs) {
+        CircuitBreaker breaker = CircuitBreaker.of(name, CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallThresholdMs))
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .waitDurationInOpenState(Duration.ofMillis(openWaitMs))
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(OpenSearchCircuitBreaker::isOutage)
+                .build());
+
+        breaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("OpenSearch circuit breaker {}: {}", name, event.getStateTransition());
+            switch (event.getStateTransition().getToState()) {
+                case OPEN, FORCED_OPEN -> pauseIndexing();
+                case HALF_OPEN, CLOSED -> {
+                    // 다른 차단기가 아직 열려 있으면 정지 유지
+                    if (!isOpen(circuitBreaker.getState()) && !isOpen(byQueryCircuitBreaker.getState())) {
+                        resumeIndexing();
+                    }
+                }
+                default -> {
+                }
+            }
+        });
+        return breaker;
+    }
+
+    private <T> T execute(CircuitBreaker breaker, OpenSearchCall<T> call) throws IOException {
+        breaker.acquirePermission();
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            breaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            breaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            throw e;
+        }
+    }
+
+    private void pauseIndexing() {
+        MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(INDEXING_LISTENER_ID);
+        if (container != null && !container.isPauseRequested()) {
+            container.pause();
+            log.warn("Search indexing consumer paused while OpenSearch is unavailable");
+        }
+    }
+
+    private void resumeIndexing() {
+        MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(INDEXING_LISTENER_ID);
+        if (container != null && container.isPauseRequested()) {
+            synchronized (this) {
+                nextBatchAt = 0;
+            }
+            recoveringUntil = System.currentTimeMillis() + recoveryWindowMs;
+            container.resume();
+            log.info("Search indexing consumer resumed, draining backlog at {} records/s for {}ms", recoveryRecordsPerSecond, recoveryWindowMs);
+        }
+    }
+
+    @FunctionalInterface
+    public interface OpenSearchCall<T> {
+        T call() throws IOException;
+    }
+}
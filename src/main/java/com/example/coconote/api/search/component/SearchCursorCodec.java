@@ -0,0 +1,41 @@
+package com.example.coconote.api.search.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// search_after 정렬 값을 클라이언트에게 불투명한 커서 문자열로 주고받기 위한 인코더/디코더
+@Component
+public class SearchCursorCodec {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<List<String>> SORT_VALUES_TYPE = new TypeReference<>() {};
+
+    // 마지막 히트의 sort 값 -> URL-safe Base64 커서
+    public String encode(List<String> sortValues) {
+        if (sortValues == null || sortValues.isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(sortValues);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("검색 커서 생성 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // 커서 -> search_after 값
+    public List<String> decode(String cursor) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            return objectMapper.readValue(new String(json, StandardCharsets.UTF_8), SORT_VALUES_TYPE);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new IllegalArgumentException("잘못된 검색 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.coconote.api.search.component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch.indices.update_aliases.Action;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// workspace_{id} 인덱스 생명주기 관리
+// 인덱스 설정/매핑은 버전이 붙은 인덱스 템플릿으로 한 번만 등록하고,
+// 이미 확인한 인덱스는 로컬에 기억해서 문서마다 indices().exists 요청을 보내지 않는다
+// 재색인(SearchReindexJobConfig) 후에는 workspace_{id} 가 버전 인덱스를 가리키는 alias 가 된다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexManager {
+
+    public static final String INDEX_PREFIX = "workspace_";
+    public static final String TEMPLATE_NAME = "workspace_template";
+    // 재색인 버전 인덱스 이름: workspace_{id}_v{timestamp}
+    private static final String VERSION_SEPARATOR = "_v";
+    // 매핑이 바뀌면 이 값을 올린다 (템플릿이 다시 등록되고 로컬 캐시도 무효화된다)
+    // 템플릿은 새로 만들어지는 인덱스에만 적용되므로, 기존 인덱스는 FULL 재색인으로 새 매핑의 버전 인덱스로 옮긴다
+    public static final int MAPPING_VERSION = 5;
+    // FULL 재색인 중인 워크스페이스 -> 적재 중인 버전 인덱스 (모든 노드의 인덱싱 컨슈머가 함께 본다)
+    private static final String REINDEX_TARGET_KEY_PREFIX = "search:reindex:target:";
+    // Job 이 비정상 종료돼 정리하지 못한 경우에도 이중 쓰기가 계속되지 않도록
+    private static final Duration REINDEX_TARGET_TTL = Duration.ofHours(12);
+
+    private final OpenSearchClient openSearchClient;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    // 확인(생성)이 끝난 인덱스 -> 확인 당시의 매핑 버전
+    private final Map<String, Integer> knownIndices = new ConcurrentHashMap<>();
+    private volatile int templateVersion = 0;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerTemplateOnStartup() {
+        try {
+            registerTemplateIfNeeded();
+        } catch (RuntimeException e) {
+            // 기동 시 OpenSearch에 접근하지 못해도 첫 인덱싱 때 다시 시도한다
+            log.warn("Failed to register index template on startup, will retry lazily", e);
+        }
+    }
+
+    public String getIndexName(Long workspaceId) {
+        return INDEX_PREFIX + workspaceId;
+    }
+
+    // 인덱스가 없으면 템플릿으로 생성, 이미 확인한 인덱스는 원격 호출 없이 바로 반환
+    public void ensureIndex(Long workspaceId) {
+        String index = getIndexName(workspaceId);
+        Integer knownVersion = knownIndices.get(index);
+        if (knownVersion != null && knownVersion == MAPPING_VERSION) {
+            return;
+        }
+
+        registerTemplateIfNeeded();
+        try {
+            // exists 확인 없이 바로 생성, 이미 있으면 resource_already_exists_exception 으로 판단
+            openSearchClient.indices().create(c -> c.index(index));
+            log.info("Index created from template {} (v{}): {}", TEMPLATE_NAME, MAPPING_VERSION, index);
+        } catch (OpenSearchException e) {
+            // 재색인 후에는 workspace_{id} 가 버전 인덱스를 가리키는 alias 라서 invalid_index_name_exception 이 난다
+            if ("invalid_index_name_exception".equals(e.error().type())) {
+                knownIndices.put(index, MAPPING_VERSION);
+                return;
+            }
+            if (!"resource_already_exists_exception".equals(e.error().type())) {
+                throw new RuntimeException("Failed to create index: " + index, e);
+            }
+            // 템플릿 등록 전에 만들어진 인덱스에는 공통 keyword 필드(docId, docType) 매핑을 추가
+            addCommonFieldMappings(index);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create index: " + index, e);
+        }
+        knownIndices.put(index, MAPPING_VERSION);
+    }
+
+    private void addCommonFieldMappings(String index) {
+        try {
+            openSearchClient.indices().putMapping(m -> m
+                    .index(index)
+                    .properties("docId", p -> p.keyword(k -> k))
+                    .properties("docType", p -> p.keyword(k -> k))
+            );
+        } catch (OpenSearchException | IOException e) {
+            // 이미 다른 타입으로 매핑된 경우 등: 재색인 전까지는 docId 정렬/docType 필터 없이 동작
+            log.warn("Failed to add common field mappings to existing index: {}", index, e);
+        }
+    }
+
+    // 워크스페이스 삭제 시 인덱스를 지우고 로컬 캐시에서도 제거
+    public void deleteIndex(Long workspaceId) {
+        String index = getIndexName(workspaceId);
+        knownIndices.remove(index);
+        try {
+            // 재색인으로 만든 버전 인덱스를 먼저 지우면 alias 도 함께 사라지고, 남는 건 재색인 전의 단일 인덱스뿐이다
+            openSearchClient.indices().delete(d -> d.index(versionedIndexPattern(workspaceId)).ignoreUnavailable(true).allowNoIndices(true));
+            openSearchClient.indices().delete(d -> d.index(index).ignoreUnavailable(true));
+            log.info("Index deleted: {}", index);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete index: " + index, e);
+        }
+    }
+
+    // 재색인용 새 버전 인덱스 생성 (workspace_{id}_v{timestamp}), 적재가 끝날 때까지 refresh 는 끈다
+    public String createVersionedIndex(Long workspaceId) {
+        String index = getIndexName(workspaceId) + VERSION_SEPARATOR + System.currentTimeMillis();
+        registerTemplateIfNeeded();
+        try {
+            openSearchClient.indices().create(c -> c
+                    .index(index)
+                    .settings(st -> st.refreshInterval(t -> t.time("-1")))
+            );
+            log.info("Versioned index created for reindex: {}", index);
+            return index;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create index: " + index, e);
+        }
+    }
+
+    // workspace_{id} alias 를 새 인덱스로 한 번에 전환하고, 이전 인덱스는 삭제
+    // 재색인 전의 단일 인덱스(workspace_{id})는 alias 와 이름이 겹치므로 같은 요청에서 remove_index 로 지운다
+    public void swapAlias(Long workspaceId, String newIndex) {
+        String alias = getIndexName(workspaceId);
+        try {
+            openSearchClient.indices().putSettings(p -> p
+                    .index(newIndex)
+                    .settings(st -> st.refreshInterval(t -> t.time("1s")))
+            );
+            openSearchClient.indices().refresh(r -> r.index(newIndex));
+
+            List<String> oldIndices = new ArrayList<>();
+            boolean legacyIndex = false;
+            if (openSearchClient.indices().existsAlias(e -> e.name(alias)).value()) {
+                oldIndices.addAll(openSearchClient.indices().getAlias(g -> g.name(alias)).result().keySet());
+            } else if (openSearchClient.indices().exists(e -> e.index(alias)).value()) {
+                legacyIndex = true;
+            }
+
+            List<Action> actions = new ArrayList<>();
+            if (legacyIndex) {
+                actions.add(Action.of(a -> a.removeIndex(r -> r.index(alias))));
+            }
+            for (String oldIndex : oldIndices) {
+                actions.add(Action.of(a -> a.remove(r -> r.index(oldIndex).alias(alias))));
+            }
+            actions.add(Action.of(a -> a.add(ad -> ad.index(newIndex).alias(alias))));
+            openSearchClient.indices().updateAliases(u -> u.actions(actions));
+            knownIndices.put(alias, MAPPING_VERSION);
+            log.info("Alias {} swapped to {} (previous: {}{})", alias, newIndex, oldIndices, legacyIndex ? ", legacy index removed" : "");
+
+            oldIndices.remove(newIndex);
+            if (!oldIndices.isEmpty()) {
+                openSearchClient.indices().delete(d -> d.index(oldIndices).ignoreUnavailable(true));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to swap alias: " + alias, e);
+        }
+    }
+
+    // FULL 재색인 시작: alias 를 바꿀 때까지 실시간 쓰기를 새 버전 인덱스에도 보낸다
+    // (적재하는 동안 들어온 변경이 alias 전환과 함께 사라지지 않도록)
+    public void startReindexWrites(Long workspaceId, String index) {
+        redisTemplate.opsForValue().set(REINDEX_TARGET_KEY_PREFIX + workspaceId, index, REINDEX_TARGET_TTL);
+    }
+
+    public void stopReindexWrites(Long workspaceId) {
+        redisTemplate.delete(REINDEX_TARGET_KEY_PREFIX + workspaceId);
+    }
+
+    // 실시간 쓰기 대상: workspace_{id}, FULL 재색인 중이면 적재 중인 버전 인덱스도 함께
+    public List<String> writeIndexes(Long workspaceId) {
+        String alias = getIndexName(workspaceId);
+        Object target = redisTemplate.opsForValue().get(REINDEX_TARGET_KEY_PREFIX + workspaceId);
+        return target == null ? List.of(alias) : List.of(alias, target.toString());
+    }
+
+    // 재색인이 실패했을 때 적재 중이던 버전 인덱스 정리
+    public void deleteVersionedIndex(String index) {
+        try {
+            openSearchClient.indices().delete(d -> d.index(index).ignoreUnavailable(true));
+        } catch (IOException e) {
+            log.warn("Failed to delete versioned index: {}", index, e);
+        }
+    }
+
+    private String versionedIndexPattern(Long workspaceId) {
+        return getIndexName(workspaceId) + VERSION_SEPARATOR + "*";
+    }
+
+    // 로컬 캐시만 무효화 (인덱스가 외부에서 지워졌거나 재생성된 경우)
+    public void evict(Long workspaceId) {
+        knownIndices.remove(getIndexName(workspaceId));
+    }
+
+    private void registerTemplateIfNeeded() {
+        if (templateVersion == MAPPING_VERSION) {
+            return;
+        }
+        synchronized (this) {
+            if (templateVersion == MAPPING_VERSION) {
+                return;
+            }
+            try {
+                openSearchClient.indices().putIndexTemplate(t -> t
+                        .name(TEMPLATE_NAME)
+                        .indexPatterns(INDEX_PREFIX + "*")
+                        .version((long) MAPPING_VERSION)
+                        .template(tm -> tm
+                                .settings(s -> s
+                                        .analysis(a -> a
+                                                .analyzer(SearchIndexMappings.NORI_ANALYZER, na -> na
+                                                        .custom(ca -> ca
+                                                                .tokenizer("nori_tokenizer")
+                                                        )
+                                                )
+                                                // 자동완성: 색인 시 단어 앞부분을 1~20자 edge-ngram 으로 쪼개 두고, 검색 시에는 입력 그대로 매칭
+                                                .filter("autocomplete_edge_ngram", f -> f
+                                                        .definition(d -> d.edgeNgram(e -> e.minGram(1).maxGram(20)))
+                                                )
+                                                .analyzer("autocomplete_index", aa -> aa
+                                                        .custom(ca -> ca
+                                                                .tokenizer("standard")
+                                                                .filter("lowercase", "autocomplete_edge_ngram")
+                                                        )
+                                                )
+                                                .analyzer("autocomplete_search", aa -> aa
+                                                        .custom(ca -> ca
+                                                                .tokenizer("standard")
+                                                                .filter("lowercase")
+                                                        )
+                                                )
+                                        )
+                                )
+                                // 문서 타입별 전체 필드 매핑 (SearchIndexMappings)
+                                .mappings(SearchIndexMappings.typeMapping(MAPPING_VERSION))
+                        )
+                );
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to register index template.", e);
+            }
+            // 버전이 바뀌었으면 이전 버전 기준으로 확인한 인덱스 정보는 버린다
+            knownIndices.clear();
+            templateVersion = MAPPING_VERSION;
+            log.info("Index template registered: {} (v{})", TEMPLATE_NAME, MAPPING_VERSION);
+        }
+    }
+}
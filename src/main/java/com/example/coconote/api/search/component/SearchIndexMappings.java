@@ -0,0 +1,150 @@
+package com.example.coconote.api.search.component;
+
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch._types.mapping.DynamicMapping;
+import org.opensearch.client.opensearch._types.mapping.Property;
+import org.opensearch.client.opensearch._types.mapping.TypeMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// workspace_{id} 인덱스 매핑 정의
+// 한 인덱스에 ThreadDocument / CanvasBlockDocument / FileEntityDocument / ChannelDocument / WorkspaceMemberDocument 가 함께 들어가므로
+// 모든 필드를 명시적으로 매핑하고 dynamic=false 로 둔다 (매핑에 없는 필드는 _source 에만 남고 색인되지 않는다)
+// - 검색어가 들어가는 본문/이름: nori text (+ 정확히 일치/집계가 필요한 것만 keyword 서브필드)
+// - ID/필터 필드: keyword (term/terms 필터만 쓰고 정렬/집계하지 않는 필드는 doc_values 끔)
+// - 화면에 보여주기만 하는 필드(URL, 이미지 등): index=false, doc_values=false
+final class SearchIndexMappings {
+
+    static final String NORI_ANALYZER = "nori_analyzer";
+    private static final int KEYWORD_IGNORE_ABOVE = 256;
+
+    private SearchIndexMappings() {
+    }
+
+    static TypeMapping typeMapping(int mappingVersion) {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        properties.putAll(commonProperties());
+        properties.putAll(threadProperties());
+        properties.putAll(canvasBlockProperties());
+        properties.putAll(fileProperties());
+        properties.putAll(channelProperties());
+        properties.putAll(workspaceMemberProperties());
+        // 자식 쓰레드는 부모 문서 안에 복사본으로 들어가고 childThreads.threadId / tags.keyword / workspaceMemberId 로 부분 업데이트 대상을 찾는다
+        properties.put("childThreads", Property.of(p -> p.object(o -> o.properties(threadProperties()))));
+
+        return TypeMapping.of(m -> m
+                .dynamic(DynamicMapping.False)
+                .meta("mapping_version", JsonData.of(mappingVersion))
+                .properties(properties)
+        );
+    }
+
+    // SearchDocument 공통 필드
+    private static Map<String, Property> commonProperties() {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        properties.put("id", storedOnly());
+        // search_after 안정 정렬에 쓰는 필드
+        properties.put("docId", keyword());
+        // 카테고리별 검색 필터 / 타입별 집계
+        properties.put("docType", keyword());
+        // 자동완성 전용 필드
+        properties.put("suggest", Property.of(p -> p.text(t -> t
+                .analyzer("autocomplete_index")
+                .searchAnalyzer("autocomplete_search"))));
+        return properties;
+    }
+
+    private static Map<String, Property> threadProperties() {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        properties.put("threadId", filterKeyword());
+        properties.put("content", noriText());
+        properties.put("workspaceMemberId", keyword());
+        properties.put("memberName", noriTextWithKeyword());
+        properties.put("profileImageUrl", storedOnly());
+        properties.put("channelId", keyword());
+        properties.put("channelName", noriTextWithKeyword());
+        properties.put("createdTime", Property.of(p -> p.date(d -> d)));
+        properties.put("fileUrls", storedOnly());
+        // 태그 검색/부분 업데이트는 tags.keyword 로 정확히 일치시킨다
+        properties.put("tags", noriTextWithKeyword());
+        properties.put("parentThreadId", filterKeyword());
+        return properties;
+    }
+
+    private static Map<String, Property> canvasBlockProperties() {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        properties.put("type", keyword()); // "canvas" 또는 "block"
+        properties.put("canvasId", filterKeyword());
+        properties.put("canvasTitle", noriTextWithKeyword());
+        properties.put("createMemberName", storedOnly());
+        properties.put("canvasCreatedTime", Property.of(p -> p.date(d -> d)));
+        properties.put("blockId", filterKeyword());
+        properties.put("blockContents", noriText());
+        properties.put("prevBlockId", storedOnly());
+        properties.put("parentBlockId", storedOnly());
+        properties.put("feId", storedOnly());
+        return properties;
+    }
+
+    private static Map<String, Property> fileProperties() {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        properties.put("fileId", filterKeyword());
+        properties.put("fileName", noriTextWithKeyword());
+        properties.put("fileUrl", storedOnly());
+        properties.put("folderId", filterKeyword());
+        properties.put("creatorId", filterKeyword());
+        // FileEntityDocument 는 boolean, WorkspaceMemberDocument 는 "Y"/"N" 이라 둘 다 받을 수 있는 keyword 로 둔다
+        properties.put("isDeleted", filterKeyword());
+        properties.put("deletedTime", Property.of(p -> p.date(d -> d.index(false).docValues(false))));
+        return properties;
+    }
+
+    private static Map<String, Property> channelProperties() {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        properties.put("channelInfo", noriText());
+        properties.put("isPublic", Property.of(p -> p.boolean_(b -> b)));
+        properties.put("sectionId", filterKeyword());
+        return properties;
+    }
+
+    private static Map<String, Property> workspaceMemberProperties() {
+        Map<String, Property> properties = new LinkedHashMap<>();
+        properties.put("workspaceId", filterKeyword());
+        properties.put("memberId", filterKeyword());
+        properties.put("nickname", noriTextWithKeyword());
+        // 이메일은 형태소 분석 없이 standard 로 쪼개서 앞부분 검색
+        properties.put("email", Property.of(p -> p.text(t -> t
+                .fields("keyword", f -> f.keyword(k -> k.ignoreAbove(KEYWORD_IGNORE_ABOVE))))));
+        properties.put("field", storedOnly());
+        properties.put("position", storedOnly());
+        properties.put("profileImage", storedOnly());
+        properties.put("wsRole", filterKeyword());
+        return properties;
+    }
+
+    private static Property noriText() {
+        return Property.of(p -> p.text(t -> t.analyzer(NORI_ANALYZER)));
+    }
+
+    private static Property noriTextWithKeyword() {
+        return Property.of(p -> p.text(t -> t
+                .analyzer(NORI_ANALYZER)
+                .fields("keyword", f -> f.keyword(k -> k.ignoreAbove(KEYWORD_IGNORE_ABOVE)))));
+    }
+
+    // 정렬/집계에 쓰는 keyword
+    private static Property keyword() {
+        return Property.of(p -> p.keyword(k -> k));
+    }
+
+    // term 필터로만 찾는 keyword (doc_values 불필요)
+    private static Property filterKeyword() {
+        return Property.of(p -> p.keyword(k -> k.docValues(false)));
+    }
+
+    // 검색 결과에 그대로 보여주기만 하는 값 (_source 에만 저장)
+    private static Property storedOnly() {
+        return Property.of(p -> p.keyword(k -> k.index(false).docValues(false)));
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.coconote.api.search.component;
+
+import com.example.coconote.api.workspace.workspaceMember.repository.WorkspaceMemberRepository;
+import com.example.coconote.common.IsDeleted;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 검색/인덱싱 지표 (actuator /prometheus 로 노출)
+// 검색 요청 하나를 단계별로 나눠서 기록한다 - 느린 검색이 OpenSearch 때문인지, hydration SQL 때문인지 구분하기 위함
+// - search.request.latency   : 서비스 메서드 전체 (source=opensearch|cache|degraded)
+// - search.opensearch.latency : OpenSearch 요청 왕복 시간 (클라이언트 기준)
+// - search.opensearch.took    : OpenSearch 가 응답에 보고한 took (왕복 시간과의 차이 = 네트워크 + 응답 역직렬화)
+// - search.hydration.latency / search.hydration.sql : DB 보강 시간과 실행된 SQL 수
+// - search.hits               : 검색어에 걸린 전체 문서 수
+// 모두 category, workspace_size(워크스페이스 멤버 수 구간) 태그를 가진다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchMetrics {
+
+    private static final ThreadLocal<RequestSample> CURRENT = new ThreadLocal<>();
+    // 통합 검색이 다른 스레드에서 실행하는 카테고리 검색의 상위 요청 측정
+    private static final ThreadLocal<RequestSample> PARENT = new ThreadLocal<>();
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final WorkspaceMemberRepository workspaceMemberRepository;
+
+    // workspaceId -> 멤버 수 구간 (매 요청마다 COUNT 하지 않도록 잠시 기억, 최대 workspace-size-max-entries 개)
+    private final Map<Long, WorkspaceSize> workspaceSizes = new ConcurrentHashMap<>();
+
+    @Value("${search.metrics.workspace-size-ttl-seconds:600}")
+    private long workspaceSizeTtlSeconds;
+
+    @Value("${search.metrics.workspace-size-max-entries:10000}")
+    private int workspaceSizeMaxEntries;
+
+    // 검색 서비스 메서드 하나를 측정 (같은 스레드에서 중첩 호출되면 바깥 호출만 기록)
+    public <R> R record(String category, Long workspaceId, Supplier<R> search) {
+        if (CURRENT.get() != null) {
+            return search.get();
+        }
+        RequestSample sample = new RequestSample();
+        CURRENT.set(sample);
+        long start = System.nanoTime();
+        try {
+            return search.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            CURRENT.remove();
+            RequestSample parent = PARENT.get();
+            if (parent != null) {
+                parent.merge(sample);
+            }
+            publish(category, workspaceId, sample, elapsed);
+        }
+    }
+
+    // 다른 스레드에서 실행할 검색 작업에 현재 요청 측정을 이어 준다
+    // 작업 안의 record 는 자기 카테고리로 따로 기록되고, OpenSearch 조회/장애 여부는 상위 요청에도 합쳐진다
+    public <R> Supplier<R> propagate(Supplier<R> task) {
+        RequestSample parent = CURRENT.get();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            PARENT.set(parent);
+            try {
+                return task.get();
+            } finally {
+                PARENT.remove();
+            }
+        };
+    }
+
+    // OpenSearch 검색 요청 한 번의 결과 (측정 중이 아니면 무시)
+    public void recordQuery(long elapsedNanos, long tookMillis, long hits) {
+        RequestSample sample = CURRENT.get();
+        if (sample == null) {
+            return;
+        }
+        sample.addQuery(elapsedNanos, tookMillis, hits);
+    }
+
+    // OpenSearch 장애로 빈 결과를 돌려준 요청
+    public void markDegraded() {
+        RequestSample sample = CURRENT.get();
+        if (sample != null) {
+            sample.markDegraded();
+        }
+    }
+
+    // hydration 단계 실행 시간과 그동안 실행된 SQL 수를 누적
+    public <R> R hydrate(Supplier<R> hydration) {
+        RequestSample sample = CURRENT.get();
+        if (sample == null) {
+            return hydration.get();
+        }
+        Object[] result = new Object[1];
+        long start = System.nanoTime();
+        int statements = SearchSqlStatementCounter.count(() -> result[0] = hydration.get());
+        sample.addHydration(System.nanoTime() - start, statements);
+        @SuppressWarnings("unchecked")
+        R hydrated = (R) result[0];
+        return hydrated;
+    }
+
+    private void publish(String category, Long workspaceId, RequestSample requestSample, long elapsedNanos) {
+        RequestSample sample = requestSample.snapshot();
+        try {
+            Tags tags = Tags.of("category", category, "workspace_size", workspaceSize(workspaceId));
+            timer("search.request.latency", "Search service call latency", tags.and("source", source(sample)))
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (!sample.queried) {
+                return;
+            }
+            timer("search.opensearch.latency", "OpenSearch search round trip", tags).record(sample.queryNanos, TimeUnit.NANOSECONDS);
+            timer("search.opensearch.took", "OpenSearch reported took", tags).record(sample.tookMillis, TimeUnit.MILLISECONDS);
+            timer("search.hydration.latency", "Search result hydration latency", tags).record(sample.hydrationNanos, TimeUnit.NANOSECONDS);
+            summary("search.hydration.sql", "SQL statements executed during hydration", tags).record(sample.sqlStatements);
+            summary("search.hits", "Total hits of a search query", tags).record(sample.hits);
+        } catch (RuntimeException e) {
+            // 지표 기록 실패가 검색 응답에 영향을 주지 않게 한다
+            log.warn("Failed to record search metrics - category: {}", category, e);
+        }
+    }
+
+    private String source(RequestSample sample) {
+        if (sample.degraded) {
+            return "degraded";
+        }
+        return sample.queried ? "opensearch" : "cache";
+    }
+
+    // 인덱싱 컨슈머: 배치 크기와 레코드가 토픽에 쓰인 뒤 처리되기까지 걸린 시간
+    public void recordIndexingBatch(List<ConsumerRecord<String, String>> records) {
+        summary("search.indexing.batch.size", "Records per indexing consumer batch", Tags.empty()).record(records.size());
+        Timer lag = timer("search.indexing.lag", "Delay between record produce time and indexing", Tags.empty());
+        long now = System.currentTimeMillis();
+        for (ConsumerRecord<String, String> record : records) {
+            if (record.timestamp() > 0) {
+                lag.record(Math.max(0, now - record.timestamp()), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    public void recordBulk(int operations, long tookMillis) {
+        summary("search.indexing.bulk.size", "Operations per OpenSearch bulk request", Tags.empty()).record(operations);
+        timer("search.indexing.bulk.took", "OpenSearch reported bulk took", Tags.empty()).record(tookMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // reason: parse, bulk_request, bulk_item_retryable, bulk_item_rejected, delete_by_query
+    public void recordIndexingFailure(String reason, int count) {
+        Counter.builder("search.indexing.failures")
+                .description("Indexing consumer failures")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    // 태그 값이 워크스페이스 수만큼 늘어나지 않도록 멤버 수 구간으로 묶는다
+    private String workspaceSize(Long workspaceId) {
+        if (workspaceId == null) {
+            return "unknown";
+        }
+        long now = System.currentTimeMillis();
+        WorkspaceSize cached = workspaceSizes.get(workspaceId);
+        if (cached != null && now < cached.expiresAt()) {
+            return cached.bucket();
+        }
+        long members = workspaceMemberRepository.countByWorkspace_WorkspaceIdAndIsDeleted(workspaceId, IsDeleted.N);
+        String bucket = members <= 10 ? "xs" : members <= 50 ? "s" : members <= 200 ? "m" : members <= 1000 ? "l" : "xl";
+        if (workspaceSizes.size() >= workspaceSizeMaxEntries) {
+            // 만료된 항목부터 비우고, 그래도 가득 차 있으면 전부 비운다 (다시 COUNT 하면 되는 값이라 잃어도 괜찮다)
+            workspaceSizes.values().removeIf(size -> now >= size.expiresAt());
+            if (workspaceSizes.size() >= workspaceSizeMaxEntries) {
+                workspaceSizes.clear();
+            }
+        }
+        workspaceSizes.put(workspaceId, new WorkspaceSize(bucket, now + Duration.ofSeconds(workspaceSizeTtlSeconds).toMillis()));
+        return bucket;
+    }
+
+    private record WorkspaceSize(String bucket, long expiresAt) {
+    }
+
+    // 한 요청 동안 누적되는 단계별 값
+    // 통합 검색에서는 카테고리 스레드들이 상위 요청 값에 합치므로 모든 접근을 동기화한다
+    private static class RequestSample {
+        private boolean queried;
+        private boolean degraded;
+        private long queryNanos;
+        private long tookMillis;
+        private long hits;
+        private long hydrationNanos;
+        private int sqlStatements;
+
+        synchronized void addQuery(long elapsedNanos, long took, long hitCount) {
+            queried = true;
+            queryNanos += elapsedNanos;
+            tookMillis += took;
+            hits += hitCount;
+        }
+
+        synchronized void addHydration(long elapsedNanos, int statements) {
+            hydrationNanos += elapsedNanos;
+            sqlStatements += statements;
+        }
+
+        synchronized void markDegraded() {
+            degraded = true;
+        }
+
+        void merge(RequestSample child) {
+            RequestSample values = child.snapshot();
+            synchronized (this) {
+                queried |= values.queried;
+                degraded |= values.degraded;
+                queryNanos += values.queryNanos;
+                tookMillis += values.tookMillis;
+                hits += values.hits;
+                hydrationNanos += values.hydrationNanos;
+                sqlStatements += values.sqlStatements;
+            }
+        }
+
+        synchronized RequestSample snapshot() {
+            RequestSample copy = new RequestSample();
+            copy.queried = queried;
+            copy.degraded = degraded;
+            copy.queryNanos = queryNanos;
+            copy.tookMillis = tookMillis;
+            copy.hits = hits;
+            copy.hydrationNanos = hydrationNanos;
+            copy.sqlStatements = sqlStatements;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.coconote.api.search.component;
+
+import com.example.coconote.api.search.dto.SearchResultWithTotal;
+import com.example.coconote.common.KafkaMessageCodec;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+// 검색 결과(SearchResultWithTotal) 단기 캐시
+// 키에 워크스페이스별 세대(generation) 번호를 넣어두고, 인덱싱 컨슈머가 flush 할 때마다 INCR 해서 이전 세대 캐시를 한 번에 무효화한다
+// (이전 세대 키는 더 이상 조회되지 않고 TTL 로 사라진다)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchResultCache {
+
+    private static final String KEY_PREFIX = "search:cache:";
+    private static final String GENERATION_KEY_PREFIX = "search:cache:gen:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final KafkaMessageCodec kafkaMessageCodec; // 캐시 항목 직렬화도 공유 ObjectMapper 를 쓴다
+
+    @Value("${search.cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    // 캐시에 있으면 바로 반환, 없으면 loader 로 검색한 결과를 저장 (Redis 장애 시에는 캐시 없이 검색)
+    public <T> SearchResultWithTotal<T> getOrLoad(Long workspaceId, String category, String keyword, int page, int size, String cursor,
+                                                  Class<T> resultType, Supplier<SearchResultWithTotal<T>> loader) {
+        return getOrLoad(workspaceId, category, keyword, page, size, cursor, null, resultType, loader);
+    }
+
+    // variant: 같은 검색어라도 결과가 달라지는 추가 조건 (facet 필터 등), 없으면 null
+    public <T> SearchResultWithTotal<T> getOrLoad(Long workspaceId, String category, String keyword, int page, int size, String cursor,
+                                                  String variant, Class<T> resultType, Supplier<SearchResultWithTotal<T>> loader) {
+        ObjectMapper objectMapper = kafkaMessageCodec.getObjectMapper();
+        String key;
+        try {
+            key = cacheKey(workspaceId, category, keyword, page, size, cursor, variant);
+            Object cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                JsonNode entry = objectMapper.readTree(cached.toString());
+                JavaType type = objectMapper.getTypeFactory().constructParametricType(SearchResultWithTotal.class, resultType);
+                SearchResultWithTotal<T> result = objectMapper.readerFor(type).readValue(entry.get("result"));
+                recordHit(category, entry.path("cachedAt").asLong());
+                return result;
+            }
+        } catch (Exception e) {
+            log.warn("Search cache read failed, falling back to OpenSearch - workspace: {}, category: {}", workspaceId, category, e);
+            return loader.get();
+        }
+
+        meterRegistry.counter("search.cache.requests", "category", category, "result", "miss").increment();
+        SearchResultWithTotal<T> result = loader.get();
+        if (result.isDegraded()) {
+            // 장애 중의 빈 결과는 캐시하지 않는다 (복구되면 바로 정상 결과가 보이도록)
+            return result;
+        }
+        try {
+            ObjectNode entry = objectMapper.createObjectNode();
+            entry.put("cachedAt", System.currentTimeMillis());
+            entry.set("result", objectMapper.valueToTree(result));
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(entry), Duration.ofSeconds(ttlSeconds));
+        } catch (Exception e) {
+            log.warn("Search cache write failed - workspace: {}, category: {}", workspaceId, category, e);
+        }
+        return result;
+    }
+
+    // 인덱스가 바뀐 워크스페이스의 캐시 세대를 올린다
+    public void invalidate(Collection<Long> workspaceIds) {
+        workspaceIds.forEach(this::invalidate);
+    }
+
+    public void invalidate(Long workspaceId) {
+        try {
+            redisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + workspaceId);
+        } catch (Exception e) {
+            // 세대를 못 올리면 TTL 동안 이전 결과가 보일 수 있다
+            log.warn("Search cache invalidation failed - workspace: {}", workspaceId, e);
+        }
+    }
+
+    // 키: search:cache:{workspaceId}:{generation}:{category}:{page}:{size}:{cursor}:{variant}:{정규화된 검색어}
+    private String cacheKey(Long workspaceId, String category, String keyword, int page, int size, String cursor, String variant) {
+        Object generation = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + workspaceId);
+        return KEY_PREFIX + workspaceId + ":" + (generation != null ? generation : 0) + ":" + category + ":"
+                + page + ":" + size + ":" + (cursor != null ? cursor : "-") + ":" + (variant != null ? variant : "-") + ":" + normalize(keyword);
+    }
+
+    // 대소문자/앞뒤 공백/연속 공백 차이는 같은 검색어로 본다
+    private String normalize(String keyword) {
+        return keyword == null ? "" : keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // 적중률: search.cache.requests{result=hit|miss}, 신선도: 반환한 캐시 항목의 나이(search.cache.staleness)
+    private void recordHit(String category, long cachedAt) {
+        meterRegistry.counter("search.cache.requests", "category", category, "result", "hit").increment();
+        Timer.builder("search.cache.staleness")
+                .description("Age of cached search results when served")
+                .tag("category", category)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - cachedAt)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.coconote.api.search.component;
+
+import com.example.coconote.api.canvas.canvas.entity.Canvas;
+import com.example.coconote.api.canvas.canvas.repository.CanvasRepository;
+import com.example.coconote.api.channel.channel.entity.Channel;
+import com.example.coconote.api.channel.channel.repository.ChannelRepository;
+import com.example.coconote.api.workspace.workspaceMember.entity.WorkspaceMember;
+import com.example.coconote.api.workspace.workspaceMember.repository.WorkspaceMemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 검색 결과 hydration 단계
+// 히트 목록에서 중복 없는 ID를 모아 엔티티 타입별로 findAllById 한 번씩만 조회하고, 결과는 메모리에서 조인한다
+@Component
+@RequiredArgsConstructor
+public class SearchResultHydrator {
+
+    private final ChannelRepository channelRepository;
+    private final WorkspaceMemberRepository workspaceMemberRepository;
+    private final CanvasRepository canvasRepository;
+
+    public Map<Long, Channel> loadChannels(Collection<Long> channelIds) {
+        Set<Long> ids = distinctIds(channelIds);
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return channelRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Channel::getChannelId, Function.identity()));
+    }
+
+    public Map<Long, WorkspaceMember> loadWorkspaceMembers(Collection<Long> workspaceMemberIds) {
+        Set<Long> ids = distinctIds(workspaceMemberIds);
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return workspaceMemberRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(WorkspaceMember::getWorkspaceMemberId, Function.identity()));
+    }
+
+    public Map<Long, Canvas> loadCanvases(Collection<Long> canvasIds) {
+        Set<Long> ids = distinctIds(canvasIds);
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return canvasRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Canvas::getId, Function.identity()));
+    }
+
+    private Set<Long> distinctIds(Collection<Long> ids) {
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.coconote.api.search.component;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// 검색 요청을 처리하는 스레드에서 실행된 SQL 수를 센다 (hydration 단계의 쿼리 수 지표용)
+// Hibernate 가 실행하는 모든 SQL 이 거쳐가지만, 측정 중인 스레드가 아니면 바로 통과시킨다
+@Component
+public class SearchSqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    // 현재 스레드에서 action 을 실행하는 동안 실행된 SQL 수
+    static int count(Runnable action) {
+        int[] previous = COUNTER.get();
+        int[] counter = new int[1];
+        COUNTER.set(counter);
+        try {
+            action.run();
+        } finally {
+            if (previous != null) {
+                previous[0] += counter[0];
+                COUNTER.set(previous);
+            } else {
+                COUNTER.remove();
+            }
+        }
+        return counter[0];
+    }
+}
@@ -6,6 +6,7 @@ import com.example.coconote.api.search.service.SearchService;
 import com.example.coconote.common.CommonResDto;
 import com.example.coconote.security.util.CustomPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -29,40 +31,30 @@ public class SearchController {
             @RequestParam Long workspaceId,
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal CustomPrincipal member
     ) {
-        CombinedSearchResultDto searchResult = searchService.searchAll(workspaceId, keyword, page, size);
+        CombinedSearchResultDto searchResult = searchService.searchAll(workspaceId, member.getMemberId(), keyword, page, size);
         return ResponseEntity.ok(new CommonResDto(HttpStatus.OK, "Search Successful", searchResult));
     }
 
 
     // 자동완성 API
     @GetMapping("/autocomplete")
-    public ResponseEntity<?> autocomplete(@RequestParam Long workspaceId, @RequestParam String keyword, @RequestParam SearchTarget target) {
-        List<String> fields = getFieldsBySearchTarget(target);  // SearchTarget에 따른 필드 목록
-        List<String> suggestions = searchService.getAutocompleteSuggestions(workspaceId, keyword, fields);
+    public ResponseEntity<?> autocomplete(@RequestParam Long workspaceId, @RequestParam String keyword, @RequestParam SearchTarget target,
+                                          @AuthenticationPrincipal CustomPrincipal member) {
+        List<String> suggestions = searchService.getAutocompleteSuggestions(workspaceId, member.getMemberId(), keyword, target);
         return ResponseEntity.ok(new CommonResDto(HttpStatus.OK, "Autocomplete Successful", suggestions));
     }
 
-    // SearchTarget에 따라 자동완성 필드를 선택하는 메서드
-    private List<String> getFieldsBySearchTarget(SearchTarget target) {
-        return switch (target) {
-            case MEMBER -> List.of("memberName" );  // 멤버는 nickname과 email 필드 둘 다 검색
-            case FILE -> List.of("fileName");  // 파일은 파일명 필드
-            case CHANNEL -> List.of("channelName");  // 채널은 채널명 필드
-            case THREAD -> List.of("title", "content");  // 쓰레드는 제목과 내용 필드 둘 다 검색
-            case CANVAS_BLOCK -> List.of("canvasTitle", "blockContents");  // 캔버스 & 블록은 제목과 블록 내용 둘 다 검색
-            default -> List.of("memberName","email","channelName", "title","content", "canvasTitle", "blockContents");  // 기본값으로 멤버의 닉네임
-        };
-    }
-
     // 멤버 검색 API (이름, 이메일, 닉네임 검색)
     @GetMapping("/search/members")
     public ResponseEntity<?> searchWorkspaceMembers(@RequestParam Long workspaceId,
                                                                                 @RequestParam String keyword,
                                                                                 @RequestParam(defaultValue = "0") int page,
-                                                                                @RequestParam(defaultValue = "20") int size) {
-        SearchResultWithTotal<?> memberResults = searchService.searchWorkspaceMembers(workspaceId, keyword, page, size);
+                                                                                @RequestParam(defaultValue = "20") int size,
+                                                                                @RequestParam(required = false) String cursor) {
+        SearchResultWithTotal<?> memberResults = searchService.searchWorkspaceMembers(workspaceId, keyword, page, size, cursor);
         return ResponseEntity.ok(new CommonResDto(HttpStatus.OK, "Search Successful", memberResults));
     }
 
@@ -70,8 +62,10 @@ public class SearchController {
     @GetMapping("/search/files")
     public ResponseEntity<?> searchFiles(@RequestParam Long workspaceId, @RequestParam String keyword,
                                                                 @RequestParam(defaultValue = "0") int page,
-                                                                @RequestParam(defaultValue = "20") int size) {
-        SearchResultWithTotal<?> fileResults = searchService.searchFiles(workspaceId, keyword, page, size);
+                                                                @RequestParam(defaultValue = "20") int size,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @AuthenticationPrincipal CustomPrincipal member) {
+        SearchResultWithTotal<?> fileResults = searchService.searchFiles(workspaceId, member.getMemberId(), keyword, page, size, cursor);
         return ResponseEntity.ok(new CommonResDto(HttpStatus.OK, "Search Successful", fileResults));
     }
 
@@ -79,26 +73,43 @@ public class SearchController {
     @GetMapping("/search/channels")
     public ResponseEntity<?> searchChannels(@RequestParam Long workspaceId, @RequestParam String keyword,
                                                                 @RequestParam(defaultValue = "0") int page,
-                                                                @RequestParam(defaultValue = "20") int size) {
-        SearchResultWithTotal<?> channelResults = searchService.searchChannels(workspaceId, keyword, page, size);
+                                                                @RequestParam(defaultValue = "20") int size,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @AuthenticationPrincipal CustomPrincipal member) {
+        SearchResultWithTotal<?> channelResults = searchService.searchChannels(workspaceId, member.getMemberId(), keyword, page, size, cursor);
         return ResponseEntity.ok(new CommonResDto(HttpStatus.OK, "Search Successful", channelResults));
     }
 
-//    쓰레드 검색 API
+//    쓰레드 검색 API (채널/작성자/태그/작성일 facet 필터, 첫 페이지에 facet 집계 포함)
     @GetMapping("/search/threads")
     public ResponseEntity<?> searchThreads(@RequestParam Long workspaceId, @RequestParam String keyword,
                                                               @RequestParam(defaultValue = "0") int page,
-                                                              @RequestParam(defaultValue = "20") int size) {
-        SearchResultWithTotal<?> threadResults = searchService.searchThreads(workspaceId, keyword, page, size);
+                                                              @RequestParam(defaultValue = "20") int size,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) List<Long> channelIds,
+                                                              @RequestParam(required = false) List<Long> memberIds,
+                                                              @RequestParam(required = false) List<String> tags,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                              @AuthenticationPrincipal CustomPrincipal member) {
+        SearchFacetFilter facetFilter = new SearchFacetFilter(channelIds, memberIds, tags, from, to);
+        SearchResultWithTotal<?> threadResults = searchService.searchThreads(workspaceId, member.getMemberId(), keyword, page, size, cursor, facetFilter);
         return ResponseEntity.ok(new CommonResDto(HttpStatus.OK, "Search Successful", threadResults));
     }
 
-//    캔버스 블록 검색
+//    캔버스 블록 검색 (채널/작성자/작성일 facet 필터, 첫 페이지에 facet 집계 포함)
     @GetMapping("/search/canvasblocks")
     public ResponseEntity<?> searchCanvasBlocks(@RequestParam Long workspaceId, @RequestParam String keyword,
                                                @RequestParam(defaultValue = "0") int page,
-                                               @RequestParam(defaultValue = "20") int size) {
-        SearchResultWithTotal<?> canvasBlockResults = searchService.searchCanvasAndBlocks(workspaceId, keyword, page, size);
+                                               @RequestParam(defaultValue = "20") int size,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) List<Long> channelIds,
+                                               @RequestParam(required = false) List<Long> memberIds,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                               @AuthenticationPrincipal CustomPrincipal member) {
+        SearchFacetFilter facetFilter = new SearchFacetFilter(channelIds, memberIds, null, from, to);
+        SearchResultWithTotal<?> canvasBlockResults = searchService.searchCanvasAndBlocks(workspaceId, member.getMemberId(), keyword, page, size, cursor, facetFilter);
         return ResponseEntity.ok(new CommonResDto(HttpStatus.OK, "Search Successful", canvasBlockResults));
     }
 
@@ -109,8 +120,9 @@ public class SearchController {
             @RequestParam List<String> tags,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
             @AuthenticationPrincipal CustomPrincipal member) {
-        SearchResultWithTotal<ThreadSearchResultDto> threadResults = searchService.searchThreadsByTags(workspaceId, tags, page, size);
+        SearchResultWithTotal<ThreadSearchResultDto> threadResults = searchService.searchThreadsByTags(workspaceId, member.getMemberId(), tags, page, size, cursor);
         return ResponseEntity.ok(new CommonResDto(HttpStatus.OK, "Search Successful", threadResults));
     }
 
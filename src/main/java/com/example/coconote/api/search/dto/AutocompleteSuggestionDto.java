@@ -1,4 +1,13 @@
 package com.example.coconote.api.search.dto;
 
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 자동완성 조회 시 _source 에서 suggest 필드만 받아오기 위한 DTO
+@Data
+@NoArgsConstructor
 public class AutocompleteSuggestionDto {
+    private List<String> suggest;
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -24,5 +25,13 @@ public class CombinedSearchResultDto {
     private long totalChannels;
     private long totalThreads;
     private long totalCanvasBlocks;
+
+    // 공통 데드라인 안에 끝나지 않았거나 실패한 카테고리가 있으면 true (해당 카테고리는 빈 결과)
+    private boolean partial;
+    private List<String> degradedCategories;
+    // 카테고리별 소요 시간(ms)
+    private Map<String, Long> tookMillis;
+    // 카테고리별 다음 페이지 커서 (마지막 페이지인 카테고리는 없음)
+    private Map<String, String> nextCursors;
 }
 
@@ -1,17 +1,13 @@
 package com.example.coconote.api.search.dto;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+// 검색 인덱싱 메시지 봉투
+// 프로듀서는 이 객체를 그대로 KafkaTemplate 으로 보내고, 직렬화/역직렬화는 KafkaMessageCodec 이 담당한다
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,30 +16,30 @@ public class IndexEntityMessage<T> {
     @Enumerated(EnumType.STRING)
     private EntityType entityType;
     private T entity;
+    @Enumerated(EnumType.STRING)
+    private IndexOperation operation;
+    // 삭제/부분 업데이트 메시지 대상 ID (entity 없이 보낸다)
+    private Long entityId;
+    // 부분 업데이트 스크립트 (UPDATE 메시지에만 있다)
+    private IndexScript script;
+
+    // 문서 저장 메시지
+    public IndexEntityMessage(Long workspaceId, EntityType entityType, T entity) {
+        this(workspaceId, entityType, entity, IndexOperation.INDEX, null, null);
+    }
 
-    // ObjectMapper를 재사용하도록 static으로 선언
-    private static final ObjectMapper objectMapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
-            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
-            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-            .enable(SerializationFeature.INDENT_OUTPUT);
+    // 삭제 메시지 (tombstone)
+    public static <T> IndexEntityMessage<T> tombstone(Long workspaceId, EntityType entityType, IndexOperation operation, Long entityId) {
+        return new IndexEntityMessage<>(workspaceId, entityType, null, operation, entityId, null);
+    }
 
-    // JSON 직렬화 메서드
-    public String toJson() {
-        try {
-            return objectMapper.writeValueAsString(this);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to serialize IndexEntityMessage to JSON", e);
-        }
+    // 부분 업데이트 메시지
+    public static <T> IndexEntityMessage<T> update(Long workspaceId, EntityType entityType, Long entityId, IndexScript script) {
+        return new IndexEntityMessage<>(workspaceId, entityType, null, IndexOperation.UPDATE, entityId, script);
     }
 
-    // JSON 역직렬화 메서드 (제네릭 타입을 지원하도록 수정)
-    public static <T> IndexEntityMessage<T> fromJson(String json, TypeReference<IndexEntityMessage<T>> typeRef) {
-        try {
-            return objectMapper.readValue(json, typeRef);
-        } catch (RuntimeException | JsonProcessingException e) {
-            throw new RuntimeException("Failed to deserialize JSON to IndexEntityMessage", e);
-        }
+    // 쿼리로 찾은 문서 전체 부분 업데이트 메시지
+    public static <T> IndexEntityMessage<T> updateByQuery(Long workspaceId, EntityType entityType, IndexScript script) {
+        return new IndexEntityMessage<>(workspaceId, entityType, null, IndexOperation.UPDATE_BY_QUERY, null, script);
     }
 }
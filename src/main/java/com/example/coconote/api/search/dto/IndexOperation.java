@@ -0,0 +1,11 @@
+package com.example.coconote.api.search.dto;
+
+// 인덱싱 메시지가 요청하는 작업
+public enum IndexOperation {
+    INDEX,              // 문서 저장 (operation 이 없는 예전 메시지도 INDEX 로 처리)
+    DELETE,             // entityId 문서 하나 삭제
+    DELETE_BY_CHANNEL,  // channelId 가 entityId 인 문서 전체 삭제 (채널 + 쓰레드/파일/캔버스/블록)
+    DELETE_BY_CANVAS,   // canvasId 가 entityId 인 문서 전체 삭제 (캔버스 + 블록)
+    UPDATE,             // entityId 문서 하나에 script 부분 업데이트 (_bulk update, 같은 배치의 앞선 index 작업 뒤에 적용)
+    UPDATE_BY_QUERY,    // script.query 에 걸린 문서 전체에 script 부분 업데이트 (채널 이름/캔버스 제목/프로필/태그 이름 전파)
+}
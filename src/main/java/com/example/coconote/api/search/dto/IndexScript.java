@@ -0,0 +1,18 @@
+package com.example.coconote.api.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// 부분 업데이트 메시지의 painless 스크립트
+// UPDATE: 인덱싱 컨슈머가 _bulk update 로 실행, UPDATE_BY_QUERY: query(JSON) 에 걸린 문서 전체에 _update_by_query 로 실행
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexScript {
+    private String source;
+    private Map<String, Object> params;
+    private String query;
+}
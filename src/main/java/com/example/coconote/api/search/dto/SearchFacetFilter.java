@@ -0,0 +1,47 @@
+package com.example.coconote.api.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 검색 결과 좁히기(facet) 조건 - 점수 계산 없이 filter 절로만 적용된다
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacetFilter {
+    private List<Long> channelIds;          // 채널 중 하나 (OR)
+    private List<Long> workspaceMemberIds;  // 작성자 중 하나 (OR)
+    private List<String> tags;              // 모든 태그를 포함 (AND)
+    private LocalDate from;                 // 작성일 시작 (포함)
+    private LocalDate to;                   // 작성일 끝 (포함)
+
+    public boolean hasConditions() {
+        return notEmpty(channelIds) || notEmpty(workspaceMemberIds) || notEmpty(tags) || from != null || to != null;
+    }
+
+    // 검색 결과 캐시 키에 붙이는 조건 문자열 (값 순서와 상관없이 같은 조건이면 같은 문자열)
+    public String cacheKey() {
+        if (!hasConditions()) {
+            return null;
+        }
+        return "c=" + sortedJoin(channelIds) + ";m=" + sortedJoin(workspaceMemberIds) + ";t=" + sortedJoin(tags)
+                + ";f=" + (from != null ? from : "") + ";u=" + (to != null ? to : "");
+    }
+
+    private static boolean notEmpty(List<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private static String sortedJoin(List<?> values) {
+        if (values == null) {
+            return "";
+        }
+        return values.stream().map(String::valueOf).sorted().collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.coconote.api.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 검색 결과와 같은 요청에서 집계한 facet 목록 (결과를 좁힐 때 쓸 수 있는 값과 문서 수)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacetsDto {
+    private List<FacetBucketDto> channels;   // channelId 별 문서 수
+    private List<FacetBucketDto> members;    // workspaceMemberId 별 문서 수
+    private List<FacetBucketDto> tags;       // 태그별 문서 수 (쓰레드 검색만)
+    private List<FacetBucketDto> dates;      // 작성 월(yyyy-MM)별 문서 수
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetBucketDto {
+        private String key;
+        private long count;
+    }
+}
@@ -12,4 +12,23 @@ import java.util.List;
 public class SearchResultWithTotal<T> {
     private List<T> results;  // 실제 검색 결과 리스트
     private long total;       // 총 검색 결과 개수
+    private String nextCursor; // 다음 페이지 커서 (마지막 페이지면 null)
+    private SearchFacetsDto facets; // 첫 페이지에서만 채워지는 facet 집계 (지원하지 않는 검색은 null)
+    private boolean degraded; // OpenSearch 장애로 검색하지 못하고 빈 결과를 돌려준 경우 true
+
+    public SearchResultWithTotal(List<T> results, long total) {
+        this(results, total, null);
+    }
+
+    public SearchResultWithTotal(List<T> results, long total, String nextCursor) {
+        this(results, total, nextCursor, null);
+    }
+
+    public SearchResultWithTotal(List<T> results, long total, String nextCursor, SearchFacetsDto facets) {
+        this(results, total, nextCursor, facets, false);
+    }
+
+    public static <T> SearchResultWithTotal<T> degraded() {
+        return new SearchResultWithTotal<>(List.of(), 0, null, null, true);
+    }
 }
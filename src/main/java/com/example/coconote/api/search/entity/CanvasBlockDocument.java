@@ -7,13 +7,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class CanvasBlockDocument {
+public class CanvasBlockDocument implements SearchDocument {
     @Id
     private Long id;
+    private String docId; // 정렬용 문서 ID (인덱싱 시 설정)
+    private String docType; // 문서 타입 (인덱싱 시 설정)
+    private List<String> suggest; // 자동완성 텍스트 (인덱싱 시 설정)
     private String type;  // "canvas" 또는 "block"
 
     // Canvas 관련 필드
@@ -21,6 +26,7 @@ public class CanvasBlockDocument {
     private String canvasTitle;
     private String createMemberName;
     private Long channelId;
+    private String channelName; // 검색 시 조회 없이 바로 보여주기 위한 비정규화 필드
     private String  canvasCreatedTime;
 
     // Block 관련 필드
@@ -6,13 +6,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ChannelDocument {
+public class ChannelDocument implements SearchDocument {
     @Id
     private String channelId;  // OpenSearch 문서 ID
+    private String docId; // 정렬용 문서 ID (인덱싱 시 설정)
+    private String docType; // 문서 타입 (인덱싱 시 설정)
+    private List<String> suggest; // 자동완성 텍스트 (인덱싱 시 설정)
     private String channelName;
     private String channelInfo;
     private Boolean isPublic;
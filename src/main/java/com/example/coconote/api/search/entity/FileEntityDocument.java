@@ -7,19 +7,24 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class FileEntityDocument {
+public class FileEntityDocument implements SearchDocument {
     @Id
     private String fileId;  // OpenSearch 문서 ID
+    private String docId; // 정렬용 문서 ID (인덱싱 시 설정)
+    private String docType; // 문서 타입 (인덱싱 시 설정)
+    private List<String> suggest; // 자동완성 텍스트 (인덱싱 시 설정)
     private String fileName;
     private String fileUrl;
     private Long folderId;
     private Long creatorId;
     private Long channelId;
+    private String channelName; // 검색 시 조회 없이 바로 보여주기 위한 비정규화 필드
     private Boolean isDeleted;
     private LocalDateTime deletedTime;
 }
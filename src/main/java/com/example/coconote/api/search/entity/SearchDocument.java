@@ -0,0 +1,22 @@
+package com.example.coconote.api.search.entity;
+
+import java.util.List;
+
+// OpenSearch에 저장되는 모든 검색 문서의 공통 필드
+public interface SearchDocument {
+
+    // OpenSearch 문서 ID와 같은 값을 keyword 필드로도 저장 (search_after 정렬의 tie-breaker)
+    String getDocId();
+
+    void setDocId(String docId);
+
+    // 문서 타입 (EntityType 의 value, keyword 매핑) - 카테고리별 검색은 이 필드로 자기 문서만 필터링
+    String getDocType();
+
+    void setDocType(String docType);
+
+    // 자동완성 전용 필드 (edge-ngram 분석, 자동완성 조회 시 이 필드만 가져온다)
+    List<String> getSuggest();
+
+    void setSuggest(List<String> suggest);
+}
@@ -14,14 +14,18 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ThreadDocument {
+public class ThreadDocument implements SearchDocument {
     @Id
     private String threadId;  // OpenSearch 문서 ID
+    private String docId; // 정렬용 문서 ID (인덱싱 시 설정)
+    private String docType; // 문서 타입 (인덱싱 시 설정)
+    private List<String> suggest; // 자동완성 텍스트 (인덱싱 시 설정)
     private String content;
     private Long workspaceMemberId;
     private String memberName;
     private String profileImageUrl;
     private Long channelId;
+    private String channelName; // 검색 시 조회 없이 바로 보여주기 위한 비정규화 필드
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private String createdTime;
     private List<String> fileUrls;
@@ -7,14 +7,19 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class WorkspaceMemberDocument {
+public class WorkspaceMemberDocument implements SearchDocument {
 
     @Id
     private String id;
+    private String docId; // 정렬용 문서 ID (인덱싱 시 설정)
+    private String docType; // 문서 타입 (인덱싱 시 설정)
+    private List<String> suggest; // 자동완성 텍스트 (인덱싱 시 설정)
 
     private Long workspaceMemberId;
 
@@ -15,7 +15,9 @@ public class CanvasBlockMapper {
                 .type("canvas")
                 .canvasTitle(canvas.getTitle())
                 .createMemberName(canvas.getWorkspaceMember().getNickname())
+                .workspaceMemberId(canvas.getWorkspaceMember().getWorkspaceMemberId()) // 닉네임 변경 전파용 작성자 ID
                 .channelId(canvas.getChannel().getChannelId())
+                .channelName(canvas.getChannel().getChannelName())
                 .canvasCreatedTime(canvas.getCreatedTime().toString())
                 .build();
     }
@@ -27,6 +29,7 @@ public class CanvasBlockMapper {
                 .canvasTitle(block.getCanvas().getTitle())
                 .type("block")
                 .channelId(block.getCanvas().getChannel().getChannelId())
+                .channelName(block.getCanvas().getChannel().getChannelName())
                 .blockId(block.getId())
                 .blockContents(block.getContents())
                 .blockContents(block.extractPlainText()) // HTML 태그 제거된 텍스트만 저장
@@ -16,6 +16,7 @@ public class FileEntityMapper {
                 .folderId(fileEntity.getFolder() != null ? fileEntity.getFolder().getId() : null)
                 .creatorId(fileEntity.getCreator() != null ? fileEntity.getCreator().getId() : null)
                 .channelId(fileEntity.getFolder().getChannel() != null ? fileEntity.getFolder().getChannel().getChannelId() : null)
+                .channelName(fileEntity.getFolder().getChannel() != null ? fileEntity.getFolder().getChannel().getChannelName() : null)
                 .isDeleted(fileEntity.getIsDeleted() == IsDeleted.Y)
                 .deletedTime(fileEntity.getDeletedTime())
                 .build();
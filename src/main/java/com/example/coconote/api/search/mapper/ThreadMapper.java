@@ -40,7 +40,10 @@ public class ThreadMapper {
                 .threadId(String.valueOf(thread.getId()))
                 .content(thread.getContent())
                 .workspaceMemberId(thread.getWorkspaceMember().getWorkspaceMemberId())
+                .memberName(thread.getWorkspaceMember().getNickname())
+                .profileImageUrl(thread.getWorkspaceMember().getProfileImage())
                 .channelId(thread.getChannel().getChannelId())
+                .channelName(thread.getChannel().getChannelName())
                 .createdTime(thread.getCreatedTime().toString())
                 .fileUrls(fileUrls)
                 .tags(tags)
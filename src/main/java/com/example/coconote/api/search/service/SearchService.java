@@ -1,55 +1,152 @@
 package com.example.coconote.api.search.service;
 
 import com.example.coconote.api.canvas.canvas.entity.Canvas;
-import com.example.coconote.api.canvas.canvas.repository.CanvasRepository;
 import com.example.coconote.api.channel.channel.entity.Channel;
-import com.example.coconote.api.channel.channel.repository.ChannelRepository;
+import com.example.coconote.api.search.component.ChannelAclCache;
+import com.example.coconote.api.search.component.ChannelAclCache.ChannelAcl;
+import com.example.coconote.api.search.component.OpenSearchCircuitBreaker;
+import com.example.coconote.api.search.component.SearchCursorCodec;
+import com.example.coconote.api.search.component.SearchIndexManager;
+import com.example.coconote.api.search.component.SearchMetrics;
+import com.example.coconote.api.search.component.SearchResultCache;
+import com.example.coconote.api.search.component.SearchResultHydrator;
 import com.example.coconote.api.search.dto.*;
 import com.example.coconote.api.search.entity.*;
 import com.example.coconote.api.search.mapper.*;
 import com.example.coconote.api.workspace.workspaceMember.entity.WorkspaceMember;
-import com.example.coconote.api.workspace.workspaceMember.repository.WorkspaceMemberRepository;
+import com.example.coconote.common.KafkaMessageCodec;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import jakarta.persistence.EntityNotFoundException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import org.apache.http.client.config.RequestConfig;
+import org.opensearch.client.RequestOptions;
 import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.transport.rest_client.RestClientOptions;
+import org.opensearch.client.opensearch._types.Conflicts;
 import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.Refresh;
+import org.opensearch.client.opensearch._types.Script;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch._types.aggregations.Aggregate;
+import org.opensearch.client.opensearch._types.aggregations.Aggregation;
+import org.opensearch.client.opensearch._types.aggregations.CalendarInterval;
+import org.opensearch.client.opensearch._types.mapping.FieldType;
+import org.opensearch.client.opensearch._types.query_dsl.Operator;
+import org.opensearch.client.opensearch._types.query_dsl.Query;
 import org.opensearch.client.opensearch._types.query_dsl.TextQueryType;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.DeleteByQueryResponse;
+import org.opensearch.client.opensearch.core.SearchRequest;
 import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.UpdateByQueryResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SearchService {
     private final OpenSearchClient openSearchClient;
+    private final SearchIndexManager searchIndexManager;
     private final WorkspaceMemberMapper workspaceMemberMapper;
     private final FileEntityMapper fileEntityMapper;
     private final ChannelMapper channelMapper;
     private final ThreadMapper threadMapper;
     private final CanvasBlockMapper canvasBlockMapper;
-    private final WorkspaceMemberRepository workspaceMemberRepository;
-    private final ChannelRepository channelRepository;
-    private final CanvasRepository canvasRepository;
+    private final SearchResultHydrator searchResultHydrator;
+    private final SearchCursorCodec searchCursorCodec;
+    private final KafkaMessageCodec kafkaMessageCodec;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final SearchResultCache searchResultCache;
+    private final ChannelAclCache channelAclCache;
+    private final MeterRegistry meterRegistry;
+    private final SearchMetrics searchMetrics;
+    private final OpenSearchCircuitBreaker openSearchCircuitBreaker;
+
+    // facet 집계/필터 필드 (terms 집계 이름은 필드 이름과 같게 둔다)
+    private static final String FACET_CHANNEL = "channelId";
+    private static final String FACET_MEMBER = "workspaceMemberId";
+    private static final String FACET_TAG = "tags.keyword";
+    private static final String FACET_DATE = "createdMonth";
+    private static final int FACET_SIZE = 20;
+
+    // 쓰레드 부분 업데이트 스크립트 공통부: 루트 문서와 childThreads 사본을 함께 수정하고, 루트의 태그로 suggest 를 다시 채운다
+    private static final String THREAD_DOCS_SCRIPT = """
+            List docs = new ArrayList();
+            docs.add(ctx._source);
+            if (ctx._source.childThreads != null) { docs.addAll(ctx._source.childThreads); }
+            """;
+    private static final String THREAD_SUGGEST_SCRIPT = """
+            if (ctx._source.tags != null) { ctx._source.suggest = new ArrayList(ctx._source.tags); }
+            """;
+
+    private static final int AUTOCOMPLETE_SIZE = 10;
+    private static final long AUTOCOMPLETE_SLO_MILLIS = 10;
+    private Timer autocompleteTimer;
+
+    // 통합 검색 fan-out 전용 스레드 풀 (OpenSearchConfig#searchExecutor)
+    private final ThreadPoolTaskExecutor searchExecutor;
+
+    @Value("${spring.opensearch.connect-timeout-ms:1000}")
+    private int connectTimeoutMs;
+
+    @Value("${spring.opensearch.by-query-socket-timeout-ms:60000}")
+    private int byQuerySocketTimeoutMs;
+
+    private OpenSearchClient byQueryClient;
+
+    // 통합 검색 공통 데드라인(ms), 이 시간 안에 끝나지 않은 카테고리는 부분 결과로 처리
+    @Value("${search.all.timeout-ms:1500}")
+    private long searchAllTimeoutMs;
 
 
     // 워크스페이스 ID를 기반으로 에일리어스를 동적으로 생성
     private String getAliasForWorkspace(Long workspaceId) {
-        return "workspace_" + workspaceId;
+        return searchIndexManager.getIndexName(workspaceId);
     }
 
     // 고유한 documentId 생성 메서드
@@ -57,89 +154,614 @@ public class SearchService {
         return prefix + "_" + id;
     }
 
-    // 통합 Kafka Listener: 모든 인덱싱 메시지를 처리
+    // 통합 Kafka Listener: 모든 인덱싱 메시지를 배치로 받아 하나의 _bulk 요청으로 처리
     @KafkaListener(topics = {
             "thread_entity_search",
             "workspace_member_entity_search",
             "file_entity_search",
             "channel_entity_search",
             "canvas_block_entity_search",
-    }, groupId = "search-group")
-    public void consumeIndexEntityMessage(String message) {
-        log.info("Received Kafka message: {}", message);
-        ObjectMapper objectMapper = new ObjectMapper()
-                .registerModule(new JavaTimeModule())
-                .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
-                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    }, id = OpenSearchCircuitBreaker.INDEXING_LISTENER_ID, groupId = "search-group", containerFactory = "searchBatchListenerContainerFactory")
+    public void consumeIndexEntityMessages(List<ConsumerRecord<String, String>> records) {
+        log.info("Received {} Kafka messages for bulk indexing", records.size());
+        // OpenSearch 복구 직후에는 밀린 레코드를 정해진 속도로만 처리
+        openSearchCircuitBreaker.throttleRecovery(records.size());
+        searchMetrics.recordIndexingBatch(records);
+
+        List<BulkOperation> operations = new ArrayList<>();
+        List<Integer> recordIndexes = new ArrayList<>(); // operations[i] 가 records 의 몇 번째 레코드인지
+        Set<Long> workspaceIds = new HashSet<>();
+        Set<Long> touchedWorkspaceIds = new HashSet<>(); // 검색 결과 캐시를 무효화할 워크스페이스
 
         try {
-            // 1차 파싱하여 entityType 추출
-            JsonNode initialNode = objectMapper.readTree(message);
-            String entityType = initialNode.path("entityType").asText();
-
-            // entityType이 비어 있을 경우, 이스케이프된 JSON을 해제하여 다시 파싱
-            JsonNode jsonNode = entityType.isEmpty()
-                    ? objectMapper.readTree(initialNode.asText()) // 이스케이프 해제 및 2차 파싱
-                    : initialNode; // 이스케이프되지 않은 JSON 그대로 사용
-
-            // entityType 및 workspaceId 추출
-            entityType = jsonNode.path("entityType").asText();
-            long workspaceId = jsonNode.path("workspaceId").asLong();
-            JsonNode entityNode = jsonNode.get("entity");
-            log.info("Deserialized workspaceId: {}, entityType: {}", workspaceId, entityType);
-
-            // entityType에 따른 엔터티 처리
-            switch (entityType) {
-                case "THREAD" -> indexThread(workspaceId, objectMapper.treeToValue(entityNode, ThreadDocument.class));
-                case "WORKSPACE_MEMBER" -> indexWorkspaceMember(workspaceId, objectMapper.treeToValue(entityNode, WorkspaceMemberDocument.class));
-                case "FILE" -> indexFileEntity(workspaceId, objectMapper.treeToValue(entityNode, FileEntityDocument.class));
-                case "CHANNEL" -> indexChannel(workspaceId, objectMapper.treeToValue(entityNode, ChannelDocument.class));
-                case "CANVAS" -> indexCanvas(workspaceId, objectMapper.treeToValue(entityNode, CanvasBlockDocument.class));
-                case "BLOCK" -> indexBlock(workspaceId, objectMapper.treeToValue(entityNode, CanvasBlockDocument.class));
-                default -> throw new IllegalArgumentException("Unknown entity type: " + entityType);
+            consumeBatch(records, operations, recordIndexes, workspaceIds, touchedWorkspaceIds);
+        } finally {
+            // 일부만 반영되고 실패한 경우에도 반영된 만큼은 캐시에 보이도록 무효화
+            searchResultCache.invalidate(touchedWorkspaceIds);
+        }
+    }
+
+    private void consumeBatch(List<ConsumerRecord<String, String>> records, List<BulkOperation> operations,
+                              List<Integer> recordIndexes, Set<Long> workspaceIds, Set<Long> touchedWorkspaceIds) {
+        // 워크스페이스별 쓰기 대상 인덱스 (FULL 재색인 중이면 alias + 새 버전 인덱스), 배치마다 한 번만 조회
+        Map<Long, List<String>> writeIndexes = new HashMap<>();
+        // 먼저 디코딩해 두고 배치의 표시 필드(채널 이름 등)를 한 번에 조회한다, 디코딩 실패는 그 레코드 차례에 던진다
+        List<IndexEntityMessage<JsonNode>> messages = new ArrayList<>();
+        Exception decodeFailure = null;
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                messages.add(kafkaMessageCodec.decodeIndexEntityMessage(record.value()));
+            } catch (Exception e) {
+                decodeFailure = e;
+                break;
+            }
+        }
+        DisplayFields displayFields = loadDisplayFields(messages);
+
+        for (int i = 0; i < records.size(); i++) {
+            IndexEntityMessage<JsonNode> message;
+            try {
+                if (i == messages.size()) {
+                    throw decodeFailure;
+                }
+                message = messages.get(i);
+                long workspaceId = message.getWorkspaceId();
+                touchedWorkspaceIds.add(workspaceId);
+                IndexOperation operation = message.getOperation() != null ? message.getOperation() : IndexOperation.INDEX;
+                List<String> indexes = writeIndexes.computeIfAbsent(workspaceId, searchIndexManager::writeIndexes);
+
+                if (operation == IndexOperation.INDEX) {
+                    for (String index : indexes) {
+                        operations.add(toBulkOperation(index, message.getEntityType(), message.getEntity(), displayFields));
+                        recordIndexes.add(i);
+                    }
+                    workspaceIds.add(workspaceId);
+                } else if (operation == IndexOperation.DELETE) {
+                    // 삭제는 인덱스를 새로 만들 필요가 없으므로 workspaceIds 에 넣지 않는다
+                    for (String index : indexes) {
+                        operations.add(reindexDeleteOperation(index, message.getEntityType(), message.getEntityId()));
+                        recordIndexes.add(i);
+                    }
+                } else if (operation == IndexOperation.UPDATE) {
+                    // 부분 업데이트도 같은 _bulk 에 넣어, 앞서 들어온 문서 생성 뒤에 적용되게 한다
+                    for (String index : indexes) {
+                        operations.add(scriptUpdateOperation(index, message.getEntityType(), message.getEntityId(), message.getScript()));
+                        recordIndexes.add(i);
+                    }
+                } else {
+                    // 순서를 지키기 위해 앞에 모인 작업을 먼저 보내고(refresh=wait_for 라 by-query 검색에 보인다) by-query 실행
+                    bulkIndex(operations, recordIndexes, workspaceIds);
+                    operations.clear();
+                    recordIndexes.clear();
+                    workspaceIds.clear();
+                    if (operation == IndexOperation.UPDATE_BY_QUERY) {
+                        updateByQuery(indexes, message.getScript(), i);
+                    } else {
+                        deleteByQuery(indexes, operation, message.getEntityId(), i);
+                    }
+                }
+            } catch (BatchListenerFailedException e) {
+                throw e;
+            } catch (Exception e) {
+                // 앞쪽 레코드들은 먼저 flush 하고, 파싱에 실패한 레코드부터 다시 시도하도록 넘긴다
+                log.error("Failed to parse Kafka message at index {}", i, e);
+                searchMetrics.recordIndexingFailure("parse", 1);
+                bulkIndex(operations, recordIndexes, workspaceIds);
+                throw new BatchListenerFailedException("Error processing Kafka message", e, i);
             }
+        }
+
+        bulkIndex(operations, recordIndexes, workspaceIds);
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to process Kafka message", e);
-            throw new RuntimeException("Error processing Kafka message", e);
+    // 문서 하나 부분 업데이트: _bulk 의 update 작업 (문서 ID 로 바로 찾으므로 refresh 전의 새 문서에도 적용된다)
+    private BulkOperation scriptUpdateOperation(String index, EntityType entityType, Long entityId, IndexScript script) {
+        String documentId = generateDocumentId(documentIdPrefix(entityType), entityId);
+        Map<String, JsonData> params = new HashMap<>();
+        if (script.getParams() != null) {
+            script.getParams().forEach((name, value) -> params.put(name, JsonData.of(value)));
         }
+        return BulkOperation.of(b -> b.update(u -> u
+                .index(index)
+                .id(documentId)
+                .retryOnConflict(3)
+                .script(Script.of(sc -> sc.inline(i -> i.lang("painless").source(script.getSource()).params(params))))));
+    }
+
+    // 재색인 배치용 index 작업 (Kafka 컨슈머와 같은 문서 ID / docId / docType / suggest 규칙 사용)
+    public BulkOperation reindexOperation(String index, EntityType entityType, Long entityId, Object document) {
+        return indexOperation(index, generateDocumentId(documentIdPrefix(entityType), entityId), entityType, document);
     }
 
+    // 재색인 배치용 delete 작업
+    public BulkOperation reindexDeleteOperation(String index, EntityType entityType, Long entityId) {
+        String documentId = generateDocumentId(documentIdPrefix(entityType), entityId);
+        return BulkOperation.of(b -> b.delete(d -> d.index(index).id(documentId)));
+    }
 
-    // 공통 인덱스 저장 메서드
-    private <T> void indexDocument(String alias, String documentId, T document) {
+    // 채널/캔버스 삭제: 소속 문서를 _delete_by_query 한 번으로 삭제
+    private void deleteByQuery(List<String> indexes, IndexOperation operation, Long entityId, int recordIndex) {
+        String field = operation == IndexOperation.DELETE_BY_CHANNEL ? "channelId" : "canvasId";
         try {
-            // 인덱스가 존재하지 않으면 Nori 분석기를 포함하여 생성
-            createIndexWithNoriAnalyzerIfNotExists(Long.parseLong(alias.replace("workspace_", "")));
-
-            // 문서를 인덱싱 (documentId가 null일 경우 자동으로 생성됨)
-            if (documentId != null) {
-                openSearchClient.index(i -> i.index(alias).id(documentId).document(document));
-            } else {
-                openSearchClient.index(i -> i.index(alias).document(document));  // 자동 생성 ID
+            DeleteByQueryResponse response = openSearchCircuitBreaker.executeByQuery(() -> byQueryClient.deleteByQuery(d -> d
+                    .index(indexes)
+                    .ignoreUnavailable(true)
+                    .conflicts(Conflicts.Proceed)
+                    .refresh(true)
+                    .query(q -> q.term(t -> t.field(field).value(FieldValue.of(entityId))))
+            ));
+            log.info("Delete by query - indexes: {}, {}: {}, deleted: {}", indexes, field, entityId, response.deleted());
+        } catch (IOException | OpenSearchException | CallNotPermittedException e) {
+            searchMetrics.recordIndexingFailure("delete_by_query", 1);
+            throw new BatchListenerFailedException("OpenSearch 문서 일괄 삭제 중 오류가 발생했습니다.", e, recordIndex);
+        }
+    }
+
+    // entityType 별 문서 ID 접두사 (generateDocumentId 와 함께 사용)
+    private String documentIdPrefix(EntityType entityType) {
+        return switch (entityType) {
+            case THREAD -> "thread";
+            case WORKSPACE_MEMBER -> "workspaceMember";
+            case FILE -> "fileEntity";
+            case CHANNEL -> "channel";
+            case CANVAS -> "canvas";
+            case BLOCK -> "block";
+        };
+    }
+
+    // entityType 별 인덱싱 토픽
+    private String searchTopic(EntityType entityType) {
+        return switch (entityType) {
+            case THREAD -> "thread_entity_search";
+            case WORKSPACE_MEMBER -> "workspace_member_entity_search";
+            case FILE -> "file_entity_search";
+            case CHANNEL -> "channel_entity_search";
+            case CANVAS, BLOCK -> "canvas_block_entity_search";
+        };
+    }
+
+    // 삭제는 DB 트랜잭션 안에서 OpenSearch 를 직접 호출하지 않고, 인덱싱 컨슈머로 삭제 메시지를 보낸다
+    // 트랜잭션 안이면 커밋 후에 보낸다: 롤백된 삭제가 색인에서만 지워지지 않게 한다
+    private void publishTombstone(Long workspaceId, EntityType entityType, IndexOperation operation, Long entityId) {
+        IndexEntityMessage<?> message = IndexEntityMessage.tombstone(workspaceId, entityType, operation, entityId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishIndexMessage(message);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publishIndexMessage(message);
             }
-        } catch (IOException e) {
-            throw new RuntimeException("OpenSearch 인덱싱 중 오류가 발생했습니다.", e);
+        });
+    }
+
+    // 쓰레드 부분 업데이트: 쓰레드 문서와, 자식 쓰레드면 사본을 가진 부모 문서에 같은 스크립트를 적용
+    private void publishThreadUpdate(Long workspaceId, Long threadId, Long parentThreadId, String source, Map<String, Object> params) {
+        IndexScript script = new IndexScript(source, params, null);
+        publishIndexMessage(IndexEntityMessage.update(workspaceId, EntityType.THREAD, threadId, script));
+        if (parentThreadId != null) {
+            publishIndexMessage(IndexEntityMessage.update(workspaceId, EntityType.THREAD, parentThreadId, script));
+        }
+    }
+
+    // 쿼리로 찾은 문서 전체 부분 업데이트: 인덱싱 컨슈머가 _update_by_query 로 실행한다
+    // (OpenSearch 장애/차단기 열림 중에는 컨슈머가 같은 레코드부터 다시 시도하므로 변경이 사라지지 않는다)
+    private void publishUpdateByQuery(Long workspaceId, EntityType entityType, Query query, String source, Map<String, Object> params) {
+        IndexScript script = new IndexScript(source, params, toJson(query));
+        publishIndexMessage(IndexEntityMessage.updateByQuery(workspaceId, entityType, script));
+    }
+
+    // *_entity_search 토픽의 모든 메시지는 워크스페이스 id 를 키로 보낸다 (다른 서비스의 직접 send 도 같은 규칙)
+    // 같은 토픽 안에서는 한 워크스페이스의 생성/수정/삭제 메시지가 한 파티션에서 보낸 순서대로 처리된다, 토픽 사이의 순서는 보장되지 않는다
+    private void publishIndexMessage(IndexEntityMessage<?> message) {
+        kafkaTemplate.send(searchTopic(message.getEntityType()), String.valueOf(message.getWorkspaceId()), message);
+    }
+
+    // entityType에 따라 _bulk 에 들어갈 index 작업 생성
+    private BulkOperation toBulkOperation(String alias, EntityType entityType, JsonNode entityNode, DisplayFields displayFields) {
+
+        return switch (entityType) {
+            case THREAD -> {
+                ThreadDocument document = kafkaMessageCodec.decode(entityNode, ThreadDocument.class);
+                displayFields.apply(document);
+                yield indexOperation(alias, generateDocumentId("thread", Long.valueOf(document.getThreadId())), EntityType.THREAD, document);
+            }
+            case WORKSPACE_MEMBER -> {
+                WorkspaceMemberDocument document = kafkaMessageCodec.decode(entityNode, WorkspaceMemberDocument.class);
+                yield indexOperation(alias, generateDocumentId("workspaceMember", document.getWorkspaceMemberId()), EntityType.WORKSPACE_MEMBER, document);
+            }
+            case FILE -> {
+                FileEntityDocument document = kafkaMessageCodec.decode(entityNode, FileEntityDocument.class);
+                displayFields.apply(document);
+                yield indexOperation(alias, generateDocumentId("fileEntity", Long.valueOf(document.getFileId())), EntityType.FILE, document);
+            }
+            case CHANNEL -> {
+                ChannelDocument document = kafkaMessageCodec.decode(entityNode, ChannelDocument.class);
+                yield indexOperation(alias, generateDocumentId("channel", Long.valueOf(document.getChannelId())), EntityType.CHANNEL, document);
+            }
+            case CANVAS -> {
+                CanvasBlockDocument document = kafkaMessageCodec.decode(entityNode, CanvasBlockDocument.class);
+                displayFields.apply(document);
+                yield indexOperation(alias, generateDocumentId("canvas", document.getCanvasId()), EntityType.CANVAS, document);
+            }
+            case BLOCK -> {
+                CanvasBlockDocument document = kafkaMessageCodec.decode(entityNode, CanvasBlockDocument.class);
+                displayFields.apply(document);
+                yield indexOperation(alias, generateDocumentId("block", document.getBlockId()), EntityType.BLOCK, document);
+            }
+        };
+    }
+
+    private <T> BulkOperation indexOperation(String alias, String documentId, EntityType entityType, T document) {
+        assignSearchFields(documentId, entityType, document);
+        return BulkOperation.of(b -> b.index(i -> i.index(alias).id(documentId).document(document)));
+    }
+
+    // 배치의 INDEX 문서가 참조하는 채널/캔버스/작성자를 타입별로 한 번씩 조회
+    // 문서는 이름 변경 전에 만들어졌을 수 있고, 이름 변경의 _update_by_query 는 다른 토픽으로 와서 먼저 적용될 수 있으므로
+    // 색인 직전에 DB 의 현재 값으로 표시 필드를 다시 채운다
+    private DisplayFields loadDisplayFields(List<IndexEntityMessage<JsonNode>> messages) {
+        List<Long> channelIds = new ArrayList<>();
+        List<Long> canvasIds = new ArrayList<>();
+        List<Long> workspaceMemberIds = new ArrayList<>();
+        for (IndexEntityMessage<JsonNode> message : messages) {
+            IndexOperation operation = message.getOperation() != null ? message.getOperation() : IndexOperation.INDEX;
+            if (operation != IndexOperation.INDEX || message.getEntity() == null || message.getEntityType() == EntityType.CHANNEL) {
+                continue;
+            }
+            JsonNode entity = message.getEntity();
+            List<JsonNode> nodes = new ArrayList<>();
+            nodes.add(entity);
+            entity.path("childThreads").forEach(nodes::add);
+            for (JsonNode node : nodes) {
+                addId(channelIds, node.path("channelId"));
+                addId(canvasIds, node.path("canvasId"));
+                addId(workspaceMemberIds, node.path("workspaceMemberId"));
+            }
+        }
+        return new DisplayFields(
+                searchResultHydrator.loadChannels(channelIds),
+                searchResultHydrator.loadCanvases(canvasIds),
+                searchResultHydrator.loadWorkspaceMembers(workspaceMemberIds));
+    }
+
+    private void addId(List<Long> ids, JsonNode idNode) {
+        if (idNode.canConvertToLong()) {
+            ids.add(idNode.asLong());
+        }
+    }
+
+    // 색인 직전에 다시 읽은 표시 필드 (조회되지 않은 엔티티는 문서에 담긴 값을 그대로 둔다)
+    private record DisplayFields(Map<Long, Channel> channels, Map<Long, Canvas> canvases, Map<Long, WorkspaceMember> workspaceMembers) {
+
+        void apply(ThreadDocument document) {
+            Channel channel = channels.get(document.getChannelId());
+            if (channel != null) {
+                document.setChannelName(channel.getChannelName());
+            }
+            WorkspaceMember workspaceMember = workspaceMembers.get(document.getWorkspaceMemberId());
+            if (workspaceMember != null) {
+                document.setMemberName(workspaceMember.getNickname());
+                document.setProfileImageUrl(workspaceMember.getProfileImage());
+            }
+            if (document.getChildThreads() != null) {
+                document.getChildThreads().forEach(this::apply);
+            }
+        }
+
+        void apply(FileEntityDocument document) {
+            Channel channel = channels.get(document.getChannelId());
+            if (channel != null) {
+                document.setChannelName(channel.getChannelName());
+            }
+        }
+
+        void apply(CanvasBlockDocument document) {
+            Channel channel = channels.get(document.getChannelId());
+            if (channel != null) {
+                document.setChannelName(channel.getChannelName());
+            }
+            Canvas canvas = canvases.get(document.getCanvasId());
+            if (canvas != null) {
+                document.setCanvasTitle(canvas.getTitle());
+            }
+            WorkspaceMember workspaceMember = workspaceMembers.get(document.getWorkspaceMemberId());
+            if ("canvas".equals(document.getType()) && workspaceMember != null) {
+                document.setCreateMemberName(workspaceMember.getNickname());
+            }
+        }
+    }
+
+    // 모은 작업을 하나의 _bulk 요청으로 전송하고, 아이템별 실패를 레코드 인덱스로 되돌려준다
+    private void bulkIndex(List<BulkOperation> operations, List<Integer> recordIndexes, Set<Long> workspaceIds) {
+        if (operations.isEmpty()) {
+            return;
+        }
+
+        // 배치에 포함된 워크스페이스마다 한 번씩만 인덱스 확인
+        workspaceIds.forEach(searchIndexManager::ensureIndex);
+
+        BulkResponse response;
+        try {
+            // refresh=wait_for: 응답이 올 때 문서가 검색에 보이는 상태여야 캐시 세대를 올린 뒤 옛 결과가 다시 캐시되지 않는다
+            response = openSearchCircuitBreaker.execute(() -> openSearchClient.bulk(b -> b.operations(operations).refresh(Refresh.WaitFor)));
+        } catch (IOException | CallNotPermittedException e) {
+            // 요청 전체가 실패한 경우: 배치의 첫 레코드부터 다시 시도
+            // (차단기가 열리면 컨슈머가 일시 정지되고, 재개된 뒤 같은 레코드부터 다시 전달된다)
+            searchMetrics.recordIndexingFailure("bulk_request", operations.size());
+            throw new BatchListenerFailedException("OpenSearch bulk 요청 중 오류가 발생했습니다.", e, recordIndexes.get(0));
+        }
+
+        searchMetrics.recordBulk(operations.size(), response.took());
+        if (!response.errors()) {
+            log.info("Bulk indexed {} documents in {}ms", operations.size(), response.took());
+            return;
+        }
+
+        Integer firstRetryableIndex = null;
+        List<BulkResponseItem> items = response.items();
+        for (int i = 0; i < items.size(); i++) {
+            BulkResponseItem item = items.get(i);
+            if (item.error() == null) {
+                continue;
+            }
+            int recordIndex = recordIndexes.get(i);
+            log.error("Bulk item failed - record index: {}, index: {}, id: {}, status: {}, reason: {}",
+                    recordIndex, item.index(), item.id(), item.status(), item.error().reason());
+
+            // 429(too many requests)와 5xx만 재시도 대상, 매핑 오류 같은 4xx는 다시 보내도 실패하므로 건너뛴다
+            boolean retryable = item.status() == 429 || item.status() >= 500;
+            searchMetrics.recordIndexingFailure(retryable ? "bulk_item_retryable" : "bulk_item_rejected", 1);
+            if (firstRetryableIndex == null && retryable) {
+                firstRetryableIndex = recordIndex;
+            }
+        }
+
+        if (firstRetryableIndex != null) {
+            // 실패한 레코드 이전까지는 커밋되고, 그 레코드부터 다시 전달된다 (같은 documentId로 덮어쓰므로 중복 인덱싱은 안전)
+            throw new BatchListenerFailedException("OpenSearch bulk 인덱싱 일부가 실패했습니다.", firstRetryableIndex);
+        }
+    }
+
+    // 모든 문서 공통 필드 설정
+    // docId: 정렬 tie-breaker 로 쓰는 OpenSearch 문서 ID 복사본, docType: 카테고리 검색 필터용 타입
+    private <T> void assignSearchFields(String documentId, EntityType entityType, T document) {
+        if (document instanceof SearchDocument searchDocument) {
+            searchDocument.setDocId(documentId);
+            searchDocument.setDocType(entityType.getValue());
+            searchDocument.setSuggest(suggestTexts(entityType, document));
         }
     }
 
-    // 공통 문서 삭제 메서드
-    private void deleteDocument(String alias, String documentId) {
+    // 채널 이름 변경 전파: 해당 채널의 쓰레드(자식 쓰레드 포함)/파일/캔버스/블록 문서의 channelName 갱신
+    public void propagateChannelName(Long workspaceId, Long channelId, String channelName) {
+        String script = """
+                ctx._source.channelName = params.channelName;
+                if (ctx._source.childThreads != null) {
+                    for (def child : ctx._source.childThreads) { child.channelName = params.channelName; }
+                }
+                """;
+        publishUpdateByQuery(workspaceId, EntityType.CHANNEL,
+                Query.of(q -> q.term(t -> t.field("channelId").value(FieldValue.of(channelId)))),
+                script, Map.of("channelName", channelName));
+    }
+
+    // 캔버스 제목 변경 전파: 캔버스 문서와 그 캔버스에 속한 블록 문서의 canvasTitle 갱신
+    public void propagateCanvasTitle(Long workspaceId, Long canvasId, String canvasTitle) {
+        publishUpdateByQuery(workspaceId, EntityType.CANVAS,
+                Query.of(q -> q.term(t -> t.field("canvasId").value(FieldValue.of(canvasId)))),
+                "ctx._source.canvasTitle = params.canvasTitle; if (ctx._source.type == 'canvas') { ctx._source.suggest = [params.canvasTitle]; }",
+                Map.of("canvasTitle", canvasTitle));
+    }
+
+    // 워크스페이스 멤버 프로필 변경 전파: 작성한 쓰레드(자식 쓰레드 포함)의 memberName/profileImageUrl, 캔버스의 createMemberName 갱신
+    public void propagateWorkspaceMemberProfile(Long workspaceId, Long workspaceMemberId, String nickname, String profileImage) {
+        String script = """
+                long id = params.workspaceMemberId.longValue();
+                if (ctx._source.workspaceMemberId != null && ctx._source.workspaceMemberId.longValue() == id) {
+                    if (ctx._source.threadId != null) {
+                        ctx._source.memberName = params.nickname;
+                        ctx._source.profileImageUrl = params.profileImage;
+                    }
+                    if (ctx._source.type == 'canvas') { ctx._source.createMemberName = params.nickname; }
+                }
+                if (ctx._source.childThreads != null) {
+                    for (def child : ctx._source.childThreads) {
+                        if (child.workspaceMemberId != null && child.workspaceMemberId.longValue() == id) {
+                            child.memberName = params.nickname;
+                            child.profileImageUrl = params.profileImage;
+                        }
+                    }
+                }
+                """;
+        Map<String, Object> params = new HashMap<>();
+        params.put("workspaceMemberId", workspaceMemberId);
+        // 값이 없는 파라미터는 넣지 않는다 (스크립트에서 params.xxx 가 null 로 읽힌다)
+        if (nickname != null) {
+            params.put("nickname", nickname);
+        }
+        if (profileImage != null) {
+            params.put("profileImage", profileImage);
+        }
+        publishUpdateByQuery(workspaceId, EntityType.WORKSPACE_MEMBER,
+                Query.of(q -> q.bool(b -> b
+                        .should(sq -> sq.term(t -> t.field("workspaceMemberId").value(FieldValue.of(workspaceMemberId))))
+                        .should(sq -> sq.term(t -> t.field("childThreads.workspaceMemberId").value(FieldValue.of(workspaceMemberId))))
+                        .minimumShouldMatch("1"))),
+                script, params);
+    }
+
+    // 쓰레드 태그 추가: 전체 문서를 다시 만들지 않고 해당 쓰레드(부모 문서의 childThreads 사본 포함)의 tags 에만 추가
+    // 인덱싱 토픽으로 보내 쓰레드 생성 메시지보다 먼저 적용되지 않게 한다
+    public void addThreadTag(Long workspaceId, Long threadId, Long parentThreadId, String tagName) {
+        String script = THREAD_DOCS_SCRIPT + """
+                for (def d : docs) {
+                    if (d.threadId == params.threadId) {
+                        if (d.tags == null) { d.tags = new ArrayList(); }
+                        if (!d.tags.contains(params.tagName)) { d.tags.add(params.tagName); }
+                    }
+                }
+                """ + THREAD_SUGGEST_SCRIPT;
+        publishThreadUpdate(workspaceId, threadId, parentThreadId, script,
+                Map.of("threadId", String.valueOf(threadId), "tagName", tagName));
+    }
+
+    // 쓰레드 태그 제거
+    public void removeThreadTag(Long workspaceId, Long threadId, Long parentThreadId, String tagName) {
+        String script = THREAD_DOCS_SCRIPT + """
+                for (def d : docs) {
+                    if (d.threadId == params.threadId && d.tags != null) { d.tags.removeIf(t -> t == params.tagName); }
+                }
+                """ + THREAD_SUGGEST_SCRIPT;
+        publishThreadUpdate(workspaceId, threadId, parentThreadId, script,
+                Map.of("threadId", String.valueOf(threadId), "tagName", tagName));
+    }
+
+    // 태그 이름 변경: 태그가 붙은 쓰레드 수와 상관없이 _update_by_query 한 번으로 처리
+    public void renameTag(Long workspaceId, Long channelId, String oldName, String newName) {
+        String script = THREAD_DOCS_SCRIPT + """
+                for (def d : docs) {
+                    if (d.tags != null) {
+                        for (int i = 0; i < d.tags.size(); i++) {
+                            if (d.tags[i] == params.oldName) { d.tags[i] = params.newName; }
+                        }
+                    }
+                }
+                """ + THREAD_SUGGEST_SCRIPT;
+        publishUpdateByQuery(workspaceId, EntityType.THREAD, channelTagQuery(channelId, oldName), script,
+                Map.of("oldName", oldName, "newName", newName));
+    }
+
+    // 태그 삭제: 채널에서 해당 태그가 붙은 모든 쓰레드에서 제거
+    public void removeTag(Long workspaceId, Long channelId, String tagName) {
+        String script = THREAD_DOCS_SCRIPT + """
+                for (def d : docs) {
+                    if (d.tags != null) { d.tags.removeIf(t -> t == params.tagName); }
+                }
+                """ + THREAD_SUGGEST_SCRIPT;
+        publishUpdateByQuery(workspaceId, EntityType.THREAD, channelTagQuery(channelId, tagName), script,
+                Map.of("tagName", tagName));
+    }
+
+    // 쓰레드 첨부 파일 제거: fileUrls 에서만 삭제
+    public void removeThreadFileUrl(Long workspaceId, Long threadId, Long parentThreadId, String fileUrl) {
+        String script = THREAD_DOCS_SCRIPT + """
+                for (def d : docs) {
+                    if (d.threadId == params.threadId && d.fileUrls != null) { d.fileUrls.removeIf(u -> u == params.fileUrl); }
+                }
+                """;
+        publishThreadUpdate(workspaceId, threadId, parentThreadId, script,
+                Map.of("threadId", String.valueOf(threadId), "fileUrl", fileUrl));
+    }
+
+    // 채널 안에서 해당 태그가 붙은 쓰레드 문서 (자식 쓰레드 사본 포함)
+    private Query channelTagQuery(Long channelId, String tagName) {
+        return Query.of(q -> q.bool(b -> b
+                .filter(fq -> fq.term(t -> t.field("channelId").value(FieldValue.of(channelId))))
+                .should(sq -> sq.term(t -> t.field("tags.keyword").value(FieldValue.of(tagName))))
+                .should(sq -> sq.term(t -> t.field("childThreads.tags.keyword").value(FieldValue.of(tagName))))
+                .minimumShouldMatch("1")));
+    }
+
+    // 인덱싱 컨슈머의 _update_by_query (동시에 색인된 문서와 버전 충돌이 나면 건너뛰고 계속 진행)
+    // 실패하면 이 레코드부터 다시 시도한다 (캐시 무효화는 컨슈머가 배치 끝에 한다)
+    private void updateByQuery(List<String> indexes, IndexScript script, int recordIndex) {
+        Query query = fromJson(script.getQuery());
+        Map<String, JsonData> params = new HashMap<>();
+        if (script.getParams() != null) {
+            script.getParams().forEach((name, value) -> params.put(name, JsonData.of(value)));
+        }
         try {
-            openSearchClient.delete(d -> d.index(alias).id(documentId));
-        } catch (IOException e) {
-            throw new RuntimeException("OpenSearch에서 문서를 삭제하는 중 오류가 발생했습니다.", e);
+            UpdateByQueryResponse response = openSearchCircuitBreaker.executeByQuery(() -> byQueryClient.updateByQuery(u -> u
+                    .index(indexes)
+                    .ignoreUnavailable(true)
+                    .conflicts(Conflicts.Proceed)
+                    .refresh(true) // 캐시 세대를 올리기 전에 변경이 검색에 보이도록
+                    .query(query)
+                    .script(sc -> sc.inline(i -> i.lang("painless").source(script.getSource()).params(params)))
+            ));
+            log.info("Update by query - indexes: {}, updated: {}, conflicts: {}", indexes, response.updated(), response.versionConflicts());
+        } catch (IOException | OpenSearchException | CallNotPermittedException e) {
+            searchMetrics.recordIndexingFailure("update_by_query", 1);
+            throw new BatchListenerFailedException("OpenSearch 문서 일괄 수정 중 오류가 발생했습니다.", e, recordIndex);
+        }
+    }
+
+    // by-query 메시지의 쿼리는 OpenSearch 쿼리 DSL JSON 으로 주고받는다
+    private String toJson(Query query) {
+        JsonpMapper mapper = openSearchClient._transport().jsonpMapper();
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(writer)) {
+            query.serialize(generator, mapper);
         }
+        return writer.toString();
+    }
+
+    private Query fromJson(String json) {
+        JsonpMapper mapper = openSearchClient._transport().jsonpMapper();
+        try (JsonParser parser = mapper.jsonProvider().createParser(new StringReader(json))) {
+            return Query._DESERIALIZER.deserialize(parser, mapper);
+        }
+    }
+
+    // 페이지네이션 공통: 안정 정렬(점수 -> 작성 시간 -> 문서 ID)을 걸고,
+    // 커서가 있으면 search_after, 없으면 기존처럼 from(page * size) 사용
+    // (정렬에 동점이 없어야 search_after 로 페이지를 넘겨도 누락/중복이 없다)
+    private SearchRequest.Builder paginate(SearchRequest.Builder s, int page, int size, String cursor) {
+        s.size(size) // 한 페이지에 반환할 결과 개수
+                .sort(so -> so.score(sc -> sc.order(SortOrder.Desc)))
+                .sort(so -> so.field(f -> f.field("createdTime").order(SortOrder.Desc)
+                        .unmappedType(FieldType.Date).missing(FieldValue.of("_last"))))
+                .sort(so -> so.field(f -> f.field("docId").order(SortOrder.Asc)
+                        .unmappedType(FieldType.Keyword).missing(FieldValue.of("_last"))));
+
+        if (cursor != null && !cursor.isBlank()) {
+            s.searchAfter(searchCursorCodec.decode(cursor));
+        } else {
+            s.from(page * size); // 페이징 처리 (시작 위치)
+        }
+        return s;
+    }
+
+    // 마지막 히트의 sort 값으로 다음 페이지 커서 생성 (페이지가 덜 찼으면 마지막 페이지)
+    private <T> String nextCursor(SearchResponse<T> response, int size) {
+        List<Hit<T>> hits = response.hits().hits();
+        if (hits.isEmpty() || hits.size() < size) {
+            return null;
+        }
+        return searchCursorCodec.encode(hits.get(hits.size() - 1).sort());
+    }
+
+    // 카테고리 필터: docType 이 일치하는 문서만 통과
+    // docType 이 없는 예전 문서는 그 타입 문서에만 있는 필드(legacyMarkerField)로 구분한다 (재색인 후에는 docType 만으로 충분)
+    private Query docTypeFilter(String legacyMarkerField, EntityType... entityTypes) {
+        List<FieldValue> docTypes = Arrays.stream(entityTypes)
+                .map(entityType -> FieldValue.of(entityType.getValue()))
+                .toList();
+        return Query.of(q -> q.bool(b -> b
+                .should(sh -> sh.terms(t -> t.field("docType").terms(tv -> tv.value(docTypes))))
+                .should(sh -> sh.bool(lb -> lb
+                        .mustNot(mn -> mn.exists(e -> e.field("docType")))
+                        .filter(f -> f.exists(e -> e.field(legacyMarkerField)))))
+                .minimumShouldMatch("1")));
     }
 
     // 여러 필드를 대상으로 한 공통 검색 메서드
-    private <T> SearchResponse<T> searchDocumentsForMultipleFields(String alias, String keyword, List<String> fields, Class<T> documentClass, int page, int size) {
+    private <T> SearchResponse<T> searchDocumentsForMultipleFields(String alias, String keyword, List<String> fields, Query docTypeFilter, Class<T> documentClass, int page, int size, String cursor) {
+        return searchDocumentsForMultipleFields(alias, keyword, fields, docTypeFilter, List.of(), Map.of(), documentClass, page, size, cursor);
+    }
+
+    // facetFilters: 점수에 영향을 주지 않는 filter 절 (결과 캐시 가능), aggregations: 같은 요청에서 함께 계산할 facet 집계
+    private <T> SearchResponse<T> searchDocumentsForMultipleFields(String alias, String keyword, List<String> fields, Query docTypeFilter,
+                                                                   List<Query> facetFilters, Map<String, Aggregation> aggregations,
+                                                                   Class<T> documentClass, int page, int size, String cursor) {
+        long start = System.nanoTime();
         try {
             // OpenSearch에서 검색 수행
-            SearchResponse<T> searchResponse = openSearchClient.search(s -> s
+            SearchResponse<T> searchResponse = openSearchCircuitBreaker.execute(() -> openSearchClient.search(s -> paginate(s, page, size, cursor)
                             .index(alias)
-                            .from(page * size) // 페이징 처리 (시작 위치)
-                            .size(size) // 한 페이지에 반환할 결과 개수
+                            .aggregations(aggregations)
                             .query(q -> q
                                             .bool(b -> {
                                                 fields.forEach(field -> {
@@ -157,11 +779,15 @@ public class SearchService {
                                                         ));
                                                     }
                                                 });
+                                                // 해당 카테고리 문서만 대상으로 (filter 컨텍스트라 점수 계산/캐시 측면에서도 유리)
+                                                b.filter(docTypeFilter);
+                                                b.filter(facetFilters);
                                                 return b.minimumShouldMatch("1");
                                             })
                             ),
                     documentClass
-            );
+            ));
+            searchMetrics.recordQuery(System.nanoTime() - start, searchResponse.took(), totalHits(searchResponse));
             return searchResponse; // 검색 결과와 총 개수 반환
         } catch (IOException e) {
             throw new IllegalArgumentException("OpenSearch 검색 중 오류가 발생했습니다.", e);
@@ -169,40 +795,132 @@ public class SearchService {
     }
 
 
-    // 자동완성 기능 추가 (여러 필드를 동시에 검색)
-// 자동완성 기능 수정
-    public List<String> getAutocompleteSuggestions(Long workspaceId, String keyword, List<String> fields) {
-        List<String> suggestions = new ArrayList<>();
+    // 자동완성: edge-ngram 으로 색인된 suggest 필드만 검색하고, _source 도 suggest 만 가져온다
+    public List<String> getAutocompleteSuggestions(Long workspaceId, Long memberId, String keyword, SearchTarget target) {
+        if (keyword == null || keyword.isBlank()) {
+            return Collections.emptyList();
+        }
+        return searchMetrics.record("autocomplete", workspaceId, () -> {
+            try {
+                return loadAutocompleteSuggestions(workspaceId, memberId, keyword, target);
+            } catch (RuntimeException e) {
+                if (!openSearchCircuitBreaker.isUnavailable(e)) {
+                    throw e;
+                }
+                // 자동완성은 없어도 입력에 지장이 없으므로 장애 중에는 빈 목록
+                return Collections.<String>emptyList();
+            }
+        });
+    }
+
+    private List<String> loadAutocompleteSuggestions(Long workspaceId, Long memberId, String keyword, SearchTarget target) {
         String alias = getAliasForWorkspace(workspaceId);
+        String normalizedKeyword = keyword.trim().toLowerCase();
+        List<FieldValue> docTypes = autocompleteDocTypes(target);
+        ChannelAcl acl = channelAclCache.get(workspaceId, memberId);
 
+        long start = System.nanoTime();
         try {
-            SearchResponse<Map> searchResponse = openSearchClient.search(s -> s
+            SearchResponse<AutocompleteSuggestionDto> searchResponse = openSearchCircuitBreaker.execute(() -> openSearchClient.search(s -> s
                             .index(alias)
+                            .source(src -> src.filter(f -> f.includes("suggest")))
                             .query(q -> q
-                                    .multiMatch(m -> m
-                                            .fields(fields)
-                                            .query(keyword)
-                                            .type(TextQueryType.PhrasePrefix)
-                                    )
+                                    .bool(b -> {
+                                        b.must(m -> m.match(mt -> mt
+                                                .field("suggest")
+                                                .query(FieldValue.of(keyword))
+                                                .operator(Operator.And)
+                                        ));
+                                        if (!docTypes.isEmpty()) {
+                                            b.filter(f -> f.terms(t -> t.field("docType").terms(tv -> tv.value(docTypes))));
+                                        }
+                                        // 채널에 속한 문서는 볼 수 있는 채널 것만, 멤버 문서는 채널과 무관하게 통과
+                                        b.filter(f -> f.bool(ab -> ab
+                                                .should(channelAclFilter(acl))
+                                                .should(sh -> sh.term(t -> t.field("docType").value(FieldValue.of(EntityType.WORKSPACE_MEMBER.getValue()))))
+                                                .minimumShouldMatch("1")));
+                                        return b;
+                                    })
                             )
-                            .size(10),
-                    Map.class
-            );
-
-            searchResponse.hits().hits().forEach(hit -> {
-                fields.forEach(field -> {
-                    Object fieldValue = hit.source().get(field);
-                    if (fieldValue instanceof String && !suggestions.contains(fieldValue)) {
-                        suggestions.add((String) fieldValue);
+                            .size(AUTOCOMPLETE_SIZE),
+                    AutocompleteSuggestionDto.class
+            ));
+            searchMetrics.recordQuery(System.nanoTime() - start, searchResponse.took(), totalHits(searchResponse));
+
+            // 문서 하나에 여러 후보(예: 쓰레드 태그)가 있을 수 있으므로 실제로 입력값으로 시작하는 후보만, 순서 유지하며 중복 제거
+            Set<String> suggestions = new LinkedHashSet<>();
+            for (Hit<AutocompleteSuggestionDto> hit : searchResponse.hits().hits()) {
+                if (hit.source() == null || hit.source().getSuggest() == null) {
+                    continue;
+                }
+                for (String suggestion : hit.source().getSuggest()) {
+                    if (matchesPrefix(suggestion, normalizedKeyword)) {
+                        suggestions.add(suggestion);
                     }
-                });
-            });
-
+                }
+                if (suggestions.size() >= AUTOCOMPLETE_SIZE) {
+                    break;
+                }
+            }
+            return suggestions.stream().limit(AUTOCOMPLETE_SIZE).toList();
         } catch (IOException e) {
             throw new IllegalArgumentException("Failed to fetch autocomplete suggestions", e);
+        } finally {
+            autocompleteTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
+    }
+
+    // 자동완성 대상 타입 (ALL 이면 필터 없음)
+    private List<FieldValue> autocompleteDocTypes(SearchTarget target) {
+        EntityType entityType = switch (target) {
+            case MEMBER -> EntityType.WORKSPACE_MEMBER;
+            case FILE -> EntityType.FILE;
+            case CHANNEL -> EntityType.CHANNEL;
+            case THREAD -> EntityType.THREAD;
+            case CANVAS_BLOCK -> EntityType.CANVAS;
+            default -> null;
+        };
+        return entityType != null ? List.of(FieldValue.of(entityType.getValue())) : Collections.emptyList();
+    }
 
-        return suggestions;
+    // 후보 전체 또는 후보 안의 단어 하나가 입력값으로 시작하는지
+    private boolean matchesPrefix(String suggestion, String normalizedKeyword) {
+        String normalized = suggestion.toLowerCase();
+        return normalized.startsWith(normalizedKeyword) || normalized.contains(" " + normalizedKeyword);
+    }
+
+    // 자동완성 대상 텍스트: 멤버 닉네임, 채널 이름, 캔버스 제목, 쓰레드 태그, 파일 이름
+    private List<String> suggestTexts(EntityType entityType, Object document) {
+        Stream<String> texts = switch (entityType) {
+            case WORKSPACE_MEMBER -> Stream.ofNullable(((WorkspaceMemberDocument) document).getNickname());
+            case CHANNEL -> Stream.ofNullable(((ChannelDocument) document).getChannelName());
+            case CANVAS -> Stream.ofNullable(((CanvasBlockDocument) document).getCanvasTitle());
+            case THREAD -> Stream.ofNullable(((ThreadDocument) document).getTags()).flatMap(List::stream);
+            case FILE -> Stream.ofNullable(((FileEntityDocument) document).getFileName());
+            default -> Stream.empty();
+        };
+        return texts.filter(text -> !text.isBlank()).distinct().toList();
+    }
+
+    // _update_by_query / _delete_by_query 전용 클라이언트: 문서 수에 비례해 오래 걸리므로 검색용 소켓 타임아웃보다 길게 둔다
+    @PostConstruct
+    public void initByQueryClient() {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMs)
+                .setSocketTimeout(byQuerySocketTimeoutMs)
+                .build();
+        byQueryClient = openSearchClient.withTransportOptions(
+                new RestClientOptions(RequestOptions.DEFAULT.toBuilder().setRequestConfig(requestConfig).build()));
+    }
+
+    @PostConstruct
+    public void initAutocompleteMetrics() {
+        // 자동완성은 키 입력마다 호출되므로 p99 를 따로 본다 (목표: 10ms 이내)
+        autocompleteTimer = Timer.builder("search.autocomplete.latency")
+                .description("Autocomplete suggestion latency")
+                .publishPercentiles(0.99)
+                .serviceLevelObjectives(Duration.ofMillis(AUTOCOMPLETE_SLO_MILLIS))
+                .register(meterRegistry);
     }
 
     private String escapeSpecialChars(String keyword) {
@@ -211,13 +929,23 @@ public class SearchService {
 
     // 워크스페이스 멤버 검색 (총 결과 수 포함)
     public SearchResultWithTotal<WorkspaceMemberSearchResultDto> searchWorkspaceMembers(Long workspaceId, String keyword, int page, int size) {
+        return searchWorkspaceMembers(workspaceId, keyword, page, size, null);
+    }
+
+    public SearchResultWithTotal<WorkspaceMemberSearchResultDto> searchWorkspaceMembers(Long workspaceId, String keyword, int page, int size, String cursor) {
+        return searchMetrics.record(EntityType.WORKSPACE_MEMBER.getValue(), workspaceId, () ->
+                searchResultCache.getOrLoad(workspaceId, EntityType.WORKSPACE_MEMBER.getValue(), keyword, page, size, cursor, WorkspaceMemberSearchResultDto.class,
+                        () -> degradable(() -> loadWorkspaceMembers(workspaceId, keyword, page, size, cursor))));
+    }
+
+    private SearchResultWithTotal<WorkspaceMemberSearchResultDto> loadWorkspaceMembers(Long workspaceId, String keyword, int page, int size, String cursor) {
         String alias = getAliasForWorkspace(workspaceId);
 
         // 검색어에 특수문자 이스케이프 처리 추가
 //        String escapedKeyword = escapeSpecialChars(keyword);
 //
         // OpenSearch로 검색
-        SearchResponse<WorkspaceMemberDocument> response = searchDocumentsForMultipleFields(alias, keyword, List.of("email", "nickname"), WorkspaceMemberDocument.class, page, size);
+        SearchResponse<WorkspaceMemberDocument> response = searchDocumentsForMultipleFields(alias, keyword, List.of("email", "nickname"), docTypeFilter("wsRole", EntityType.WORKSPACE_MEMBER), WorkspaceMemberDocument.class, page, size, cursor);
 
         // DTO로 변환
         List<WorkspaceMemberSearchResultDto> workspaceMembers = response.hits().hits().stream()
@@ -225,7 +953,7 @@ public class SearchService {
                 .collect(Collectors.toList());
 
         // 총 검색 결과 수와 함께 반환
-        return new SearchResultWithTotal<>(workspaceMembers, response.hits().total().value());
+        return new SearchResultWithTotal<>(workspaceMembers, response.hits().total().value(), nextCursor(response, size));
     }
 
 
@@ -243,29 +971,43 @@ public class SearchService {
 //                .collect(Collectors.toList());
 //    }
     // 파일 검색 (총 결과 수 포함)
-    public SearchResultWithTotal<FileSearchResultDto> searchFiles(Long workspaceId, String keyword, int page, int size) {
+    public SearchResultWithTotal<FileSearchResultDto> searchFiles(Long workspaceId, Long memberId, String keyword, int page, int size) {
+        return searchFiles(workspaceId, memberId, keyword, page, size, null);
+    }
+
+    public SearchResultWithTotal<FileSearchResultDto> searchFiles(Long workspaceId, Long memberId, String keyword, int page, int size, String cursor) {
+        return searchMetrics.record(EntityType.FILE.getValue(), workspaceId, () -> {
+            ChannelAcl acl = channelAclCache.get(workspaceId, memberId);
+            return searchResultCache.getOrLoad(workspaceId, EntityType.FILE.getValue(), keyword, page, size, cursor, acl.getFingerprint(), FileSearchResultDto.class,
+                    () -> degradable(() -> loadFiles(workspaceId, acl, keyword, page, size, cursor)));
+        });
+    }
+
+    private SearchResultWithTotal<FileSearchResultDto> loadFiles(Long workspaceId, ChannelAcl acl, String keyword, int page, int size, String cursor) {
         String alias = getAliasForWorkspace(workspaceId);
-        SearchResponse<FileEntityDocument> response = searchDocumentsForMultipleFields(alias, keyword, List.of("fileName"), FileEntityDocument.class, page, size);
-        List<FileSearchResultDto> files;
-        if (!response.hits().hits().isEmpty()) {
-            Channel channel = channelRepository.findById(response.hits().hits().get(0).source().getChannelId())
-                    .orElseThrow(() -> new EntityNotFoundException("Channel not found with ID: " + response.hits().hits().get(0).source().getChannelId()));
-
-            files = response.hits().hits().stream()
-                    .map(document -> FileSearchResultDto.builder()
-                            .fileId(document.source().getFileId())
-                            .fileName(document.source().getFileName())
-                            .fileUrl(document.source().getFileUrl())
-                            .folderId(document.source().getFolderId())
-                            .channelId(document.source().getChannelId())
-                            .channelName(channel.getChannelName())
-                            .build())
-                    .collect(Collectors.toList());
-        } else {
-            files = Collections.emptyList();
-        }
+        SearchResponse<FileEntityDocument> response = searchDocumentsForMultipleFields(alias, keyword, List.of("fileName"), docTypeFilter("fileId", EntityType.FILE),
+                List.of(channelAclFilter(acl)), Map.of(), FileEntityDocument.class, page, size, cursor);
+
+        // 채널 이름은 문서에 비정규화되어 있고, 이름이 없는 예전 문서만 한 번에 조회해서 채운다
+        Map<Long, Channel> channels = searchMetrics.hydrate(() -> searchResultHydrator.loadChannels(
+                response.hits().hits().stream()
+                        .map(hit -> hit.source())
+                        .filter(source -> source.getChannelName() == null)
+                        .map(FileEntityDocument::getChannelId)
+                        .toList()));
+
+        List<FileSearchResultDto> files = response.hits().hits().stream()
+                .map(document -> FileSearchResultDto.builder()
+                        .fileId(document.source().getFileId())
+                        .fileName(document.source().getFileName())
+                        .fileUrl(document.source().getFileUrl())
+                        .folderId(document.source().getFolderId())
+                        .channelId(document.source().getChannelId())
+                        .channelName(channelName(document.source().getChannelName(), channels, document.source().getChannelId()))
+                        .build())
+                .collect(Collectors.toList());
 
-        return new SearchResultWithTotal<>(files, response.hits().total().value());
+        return new SearchResultWithTotal<>(files, response.hits().total().value(), nextCursor(response, size));
     }
 
     // 채널 검색
@@ -283,9 +1025,22 @@ public class SearchService {
 //    }
 
     // 채널 검색 (총 결과 수 포함)
-    public SearchResultWithTotal<ChannelSearchResultDto> searchChannels(Long workspaceId, String keyword, int page, int size) {
+    public SearchResultWithTotal<ChannelSearchResultDto> searchChannels(Long workspaceId, Long memberId, String keyword, int page, int size) {
+        return searchChannels(workspaceId, memberId, keyword, page, size, null);
+    }
+
+    public SearchResultWithTotal<ChannelSearchResultDto> searchChannels(Long workspaceId, Long memberId, String keyword, int page, int size, String cursor) {
+        return searchMetrics.record(EntityType.CHANNEL.getValue(), workspaceId, () -> {
+            ChannelAcl acl = channelAclCache.get(workspaceId, memberId);
+            return searchResultCache.getOrLoad(workspaceId, EntityType.CHANNEL.getValue(), keyword, page, size, cursor, acl.getFingerprint(), ChannelSearchResultDto.class,
+                    () -> degradable(() -> loadChannels(workspaceId, acl, keyword, page, size, cursor)));
+        });
+    }
+
+    private SearchResultWithTotal<ChannelSearchResultDto> loadChannels(Long workspaceId, ChannelAcl acl, String keyword, int page, int size, String cursor) {
         String alias = getAliasForWorkspace(workspaceId);
-        SearchResponse<ChannelDocument> response = searchDocumentsForMultipleFields(alias, keyword, List.of("channelName"), ChannelDocument.class, page, size);
+        SearchResponse<ChannelDocument> response = searchDocumentsForMultipleFields(alias, keyword, List.of("channelName"), docTypeFilter("sectionId", EntityType.CHANNEL),
+                List.of(channelAclFilter(acl)), Map.of(), ChannelDocument.class, page, size, cursor);
 
         // DTO로 변환
         List<ChannelSearchResultDto> channels = response.hits().hits().stream()
@@ -297,7 +1052,7 @@ public class SearchService {
                         .build())
                 .collect(Collectors.toList());
 
-        return new SearchResultWithTotal<>(channels, response.hits().total().value());
+        return new SearchResultWithTotal<>(channels, response.hits().total().value(), nextCursor(response, size));
     }
 
     // 쓰레드 검색
@@ -316,28 +1071,51 @@ public class SearchService {
 //    }
 
     // 쓰레드 검색 (총 결과 수 포함)
-    public SearchResultWithTotal<ThreadSearchResultDto> searchThreads(Long workspaceId, String keyword, int page, int size) {
+    public SearchResultWithTotal<ThreadSearchResultDto> searchThreads(Long workspaceId, Long memberId, String keyword, int page, int size) {
+        return searchThreads(workspaceId, memberId, keyword, page, size, null);
+    }
+
+    public SearchResultWithTotal<ThreadSearchResultDto> searchThreads(Long workspaceId, Long memberId, String keyword, int page, int size, String cursor) {
+        return searchThreads(workspaceId, memberId, keyword, page, size, cursor, null);
+    }
+
+    // facet 조건(채널/작성자/태그/작성일)으로 좁힌 쓰레드 검색, 첫 페이지에는 facet 집계를 함께 반환
+    public SearchResultWithTotal<ThreadSearchResultDto> searchThreads(Long workspaceId, Long memberId, String keyword, int page, int size, String cursor, SearchFacetFilter facetFilter) {
+        return searchMetrics.record(EntityType.THREAD.getValue(), workspaceId, () -> {
+            ChannelAcl acl = channelAclCache.get(workspaceId, memberId);
+            return searchResultCache.getOrLoad(workspaceId, EntityType.THREAD.getValue(), keyword, page, size, cursor,
+                    resultCacheVariant(acl, facetFilter), ThreadSearchResultDto.class,
+                    () -> degradable(() -> loadThreads(workspaceId, acl, keyword, page, size, cursor, facetFilter)));
+        });
+    }
+
+    private SearchResultWithTotal<ThreadSearchResultDto> loadThreads(Long workspaceId, ChannelAcl acl, String keyword, int page, int size, String cursor, SearchFacetFilter facetFilter) {
         String alias = getAliasForWorkspace(workspaceId);
-        SearchResponse<ThreadDocument> response = searchDocumentsForMultipleFields(alias, keyword, List.of("title", "content"), ThreadDocument.class, page, size);
+        boolean withFacets = isFirstPage(page, cursor);
+        SearchResponse<ThreadDocument> response = searchDocumentsForMultipleFields(alias, keyword, List.of("title", "content"), docTypeFilter("threadId", EntityType.THREAD),
+                facetFilters(acl, facetFilter, "createdTime"), withFacets ? facetAggregations("createdTime", true) : Map.of(),
+                ThreadDocument.class, page, size, cursor);
+
+        // 채널 이름, 작성자 정보는 문서에 비정규화되어 있고, 값이 없는 예전 문서만 타입별로 한 번씩 조회해서 채운다
+        List<ThreadDocument> sources = response.hits().hits().stream().map(hit -> hit.source()).toList();
+        Map<Long, Channel> channels = searchMetrics.hydrate(() -> searchResultHydrator.loadChannels(
+                sources.stream().filter(source -> source.getChannelName() == null).map(ThreadDocument::getChannelId).toList()));
+        Map<Long, WorkspaceMember> workspaceMembers = searchMetrics.hydrate(() -> searchResultHydrator.loadWorkspaceMembers(
+                sources.stream().filter(source -> source.getMemberName() == null).map(ThreadDocument::getWorkspaceMemberId).toList()));
 
         // DTO로 변환
         List<ThreadSearchResultDto> threads = response.hits().hits().stream()
                 .map(document -> {
-                    Channel channel = channelRepository.findById(document.source().getChannelId())
-                            .orElseThrow(() -> new EntityNotFoundException("Channel not found with ID: " + document.source().getChannelId()));
-                    // WorkspaceMember 조회
-                    Long workspaceMemberId = document.source().getWorkspaceMemberId();
-                    WorkspaceMember workspaceMember = workspaceMemberRepository.findById(workspaceMemberId)
-                            .orElseThrow(() -> new EntityNotFoundException("Workspace member not found with ID: " + workspaceMemberId));
+                    WorkspaceMember workspaceMember = workspaceMembers.get(document.source().getWorkspaceMemberId());
 
                     // DTO 생성
                     return ThreadSearchResultDto.builder()
                             .threadId(document.source().getThreadId())
                             .content(document.source().getContent())
-                            .memberName(workspaceMember.getNickname()) // WorkspaceMember에서 memberName 설정
-                            .profileImageUrl(workspaceMember.getProfileImage()) // WorkspaceMember에서 profileImageUrl 설정
+                            .memberName(memberName(document.source(), workspaceMember)) // 문서 값 우선, 없으면 WorkspaceMember에서 설정
+                            .profileImageUrl(profileImageUrl(document.source(), workspaceMember))
                             .channelId(document.source().getChannelId())
-                            .channelName(channel.getChannelName())
+                            .channelName(channelName(document.source().getChannelName(), channels, document.source().getChannelId()))
                             .createdTime(document.source().getCreatedTime())
                             .parentThreadId(document.source().getParentThreadId())
                             .fileUrls(document.source().getFileUrls())
@@ -346,7 +1124,8 @@ public class SearchService {
                 })
                 .collect(Collectors.toList());
 
-        return new SearchResultWithTotal<>(threads, response.hits().total().value());
+        return new SearchResultWithTotal<>(threads, response.hits().total().value(), nextCursor(response, size),
+                withFacets ? facets(response) : null);
     }
 
     // 캔버스 & 블록 검색
@@ -363,28 +1142,51 @@ public class SearchService {
 //    }
 
     // 캔버스 & 블록 검색 (총 결과 수 포함)
-    public SearchResultWithTotal<CanvasBlockSearchResultDto> searchCanvasAndBlocks(Long workspaceId, String keyword, int page, int size) {
+    public SearchResultWithTotal<CanvasBlockSearchResultDto> searchCanvasAndBlocks(Long workspaceId, Long memberId, String keyword, int page, int size) {
+        return searchCanvasAndBlocks(workspaceId, memberId, keyword, page, size, null);
+    }
+
+    public SearchResultWithTotal<CanvasBlockSearchResultDto> searchCanvasAndBlocks(Long workspaceId, Long memberId, String keyword, int page, int size, String cursor) {
+        return searchCanvasAndBlocks(workspaceId, memberId, keyword, page, size, cursor, null);
+    }
+
+    // facet 조건(채널/작성자/작성일)으로 좁힌 캔버스 & 블록 검색, 첫 페이지에는 facet 집계를 함께 반환
+    // 작성일은 캔버스 문서에만 있으므로(canvasCreatedTime) 날짜 조건을 주면 캔버스만 남는다
+    public SearchResultWithTotal<CanvasBlockSearchResultDto> searchCanvasAndBlocks(Long workspaceId, Long memberId, String keyword, int page, int size, String cursor, SearchFacetFilter facetFilter) {
+        return searchMetrics.record(EntityType.CANVAS.getValue(), workspaceId, () -> {
+            ChannelAcl acl = channelAclCache.get(workspaceId, memberId);
+            return searchResultCache.getOrLoad(workspaceId, EntityType.CANVAS.getValue(), keyword, page, size, cursor,
+                    resultCacheVariant(acl, facetFilter), CanvasBlockSearchResultDto.class,
+                    () -> degradable(() -> loadCanvasAndBlocks(workspaceId, acl, keyword, page, size, cursor, facetFilter)));
+        });
+    }
+
+    private SearchResultWithTotal<CanvasBlockSearchResultDto> loadCanvasAndBlocks(Long workspaceId, ChannelAcl acl, String keyword, int page, int size, String cursor, SearchFacetFilter facetFilter) {
         String alias = getAliasForWorkspace(workspaceId);
+        boolean withFacets = isFirstPage(page, cursor);
         SearchResponse<CanvasBlockDocument> response = searchDocumentsForMultipleFields(
-                alias, keyword, List.of("canvasTitle", "blockContents"), CanvasBlockDocument.class, page, size);
+                alias, keyword, List.of("canvasTitle", "blockContents"), docTypeFilter("type", EntityType.CANVAS, EntityType.BLOCK),
+                facetFilters(acl, facetFilter, "canvasCreatedTime"), withFacets ? facetAggregations("canvasCreatedTime", false) : Map.of(),
+                CanvasBlockDocument.class, page, size, cursor);
 
-        // DTO로 변환
-        List<CanvasBlockSearchResultDto> canvasBlocks = response.hits().hits().stream()
-                .map(document -> {
-                    CanvasBlockDocument source = document.source();
+        // 채널 이름, 캔버스 제목은 문서에 비정규화되어 있고, 값이 없는 예전 문서만 타입별로 한 번씩 조회해서 채운다
+        List<CanvasBlockDocument> sources = response.hits().hits().stream().map(hit -> hit.source()).toList();
+        Map<Long, Channel> channels = searchMetrics.hydrate(() -> searchResultHydrator.loadChannels(
+                sources.stream().filter(source -> source.getChannelName() == null).map(CanvasBlockDocument::getChannelId).toList()));
+        Map<Long, Canvas> canvases = searchMetrics.hydrate(() -> searchResultHydrator.loadCanvases(
+                sources.stream().filter(source -> source.getCanvasTitle() == null).map(CanvasBlockDocument::getCanvasId).toList()));
 
-                    // 채널과 캔버스 조회
-                    Channel channel = channelRepository.findById(source.getChannelId())
-                            .orElseThrow(() -> new EntityNotFoundException("Channel not found with ID: " + source.getChannelId()));
-                    Canvas canvas = canvasRepository.findById(source.getCanvasId())
-                            .orElseThrow(() -> new EntityNotFoundException("Canvas not found with ID: " + source.getCanvasId()));
+        // DTO로 변환
+        List<CanvasBlockSearchResultDto> canvasBlocks = sources.stream()
+                .map(source -> {
+                    Canvas canvas = canvases.get(source.getCanvasId());
 
                     // 공통 필드 설정
                     CanvasBlockSearchResultDto.CanvasBlockSearchResultDtoBuilder dtoBuilder = CanvasBlockSearchResultDto.builder()
                             .canvasId(source.getCanvasId())
-                            .canvasTitle(canvas.getTitle())
+                            .canvasTitle(source.getCanvasTitle() != null ? source.getCanvasTitle() : (canvas != null ? canvas.getTitle() : null))
                             .channelId(source.getChannelId())
-                            .channelName(channel.getChannelName())
+                            .channelName(channelName(source.getChannelName(), channels, source.getChannelId()))
                             .type(source.getType());
 
                     // type에 따른 개별 필드 설정
@@ -397,19 +1199,190 @@ public class SearchService {
                 })
                 .collect(Collectors.toList());
 
-        return new SearchResultWithTotal<>(canvasBlocks, response.hits().total().value());
+        return new SearchResultWithTotal<>(canvasBlocks, response.hits().total().value(), nextCursor(response, size),
+                withFacets ? facets(response) : null);
+    }
+
+    // OpenSearch 장애(차단기 열림, 타임아웃) 중에는 요청 스레드를 붙잡지 않고 빈 결과를 degraded 로 표시해서 돌려준다
+    // (캐시에 남아 있는 결과는 SearchResultCache 에서 먼저 반환되고, degraded 결과는 캐시하지 않는다)
+    private <T> SearchResultWithTotal<T> degradable(Supplier<SearchResultWithTotal<T>> loader) {
+        try {
+            return loader.get();
+        } catch (RuntimeException e) {
+            if (!openSearchCircuitBreaker.isUnavailable(e)) {
+                throw e;
+            }
+            log.warn("OpenSearch unavailable, returning degraded search result: {}", e.toString());
+            searchMetrics.markDegraded();
+            return SearchResultWithTotal.degraded();
+        }
+    }
+
+    // track_total_hits 를 끈 요청이면 total 이 없으므로 받은 히트 수로 대신한다
+    private long totalHits(SearchResponse<?> response) {
+        return response.hits().total() != null ? response.hits().total().value() : response.hits().hits().size();
+    }
+
+    // facet 집계는 첫 페이지에서만 계산 (다음 페이지로 넘길 때는 같은 값이므로 다시 집계하지 않는다)
+    private boolean isFirstPage(int page, String cursor) {
+        return page == 0 && (cursor == null || cursor.isBlank());
     }
 
+    // 검색 결과 캐시 키 변형: 볼 수 있는 채널 집합 + facet 조건
+    private String resultCacheVariant(ChannelAcl acl, SearchFacetFilter facetFilter) {
+        String facetKey = facetFilter != null ? facetFilter.cacheKey() : null;
+        return facetKey != null ? acl.getFingerprint() + ":" + facetKey : acl.getFingerprint();
+    }
 
+    // 채널 ACL: 볼 수 있는 채널(공개 채널 + 가입한 비공개 채널)의 문서만 통과시키는 filter 절
+    // 회원마다 같은 terms 필터가 반복되므로 OpenSearch 필터 캐시에 잘 걸린다
+    private Query channelAclFilter(ChannelAcl acl) {
+        List<FieldValue> channelIds = acl.channelIds().stream().map(FieldValue::of).toList();
+        return Query.of(q -> q.terms(t -> t.field(FACET_CHANNEL).terms(tv -> tv.value(channelIds))));
+    }
+
+    // ACL + facet 조건 -> filter 절 (점수 계산 없이 캐시 가능한 filter 컨텍스트로만 적용)
+    private List<Query> facetFilters(ChannelAcl acl, SearchFacetFilter facetFilter, String dateField) {
+        List<Query> filters = new ArrayList<>();
+        filters.add(channelAclFilter(acl));
+        if (facetFilter == null || !facetFilter.hasConditions()) {
+            return filters;
+        }
+        if (facetFilter.getChannelIds() != null && !facetFilter.getChannelIds().isEmpty()) {
+            List<FieldValue> channelIds = facetFilter.getChannelIds().stream().map(FieldValue::of).toList();
+            filters.add(Query.of(q -> q.terms(t -> t.field(FACET_CHANNEL).terms(tv -> tv.value(channelIds)))));
+        }
+        if (facetFilter.getWorkspaceMemberIds() != null && !facetFilter.getWorkspaceMemberIds().isEmpty()) {
+            List<FieldValue> memberIds = facetFilter.getWorkspaceMemberIds().stream().map(FieldValue::of).toList();
+            filters.add(Query.of(q -> q.terms(t -> t.field(FACET_MEMBER).terms(tv -> tv.value(memberIds)))));
+        }
+        if (facetFilter.getTags() != null) {
+            // 선택한 태그를 모두 가진 쓰레드만
+            facetFilter.getTags().forEach(tag ->
+                    filters.add(Query.of(q -> q.term(t -> t.field(FACET_TAG).value(FieldValue.of(tag))))));
+        }
+        if (facetFilter.getFrom() != null || facetFilter.getTo() != null) {
+            filters.add(Query.of(q -> q.range(r -> {
+                r.field(dateField);
+                if (facetFilter.getFrom() != null) {
+                    r.gte(JsonData.of(facetFilter.getFrom().toString()));
+                }
+                if (facetFilter.getTo() != null) {
+                    r.lt(JsonData.of(facetFilter.getTo().plusDays(1).toString()));
+                }
+                return r;
+            })));
+        }
+        return filters;
+    }
+
+    // 검색 결과와 같은 요청에서 계산하는 facet 집계 (채널/작성자/태그 terms + 작성 월 date_histogram)
+    private Map<String, Aggregation> facetAggregations(String dateField, boolean withTags) {
+        Map<String, Aggregation> aggregations = new LinkedHashMap<>();
+        aggregations.put(FACET_CHANNEL, Aggregation.of(a -> a.terms(t -> t.field(FACET_CHANNEL).size(FACET_SIZE))));
+        aggregations.put(FACET_MEMBER, Aggregation.of(a -> a.terms(t -> t.field(FACET_MEMBER).size(FACET_SIZE))));
+        if (withTags) {
+            aggregations.put(FACET_TAG, Aggregation.of(a -> a.terms(t -> t.field(FACET_TAG).size(FACET_SIZE))));
+        }
+        aggregations.put(FACET_DATE, Aggregation.of(a -> a.dateHistogram(d -> d
+                .field(dateField)
+                .calendarInterval(CalendarInterval.Month)
+                .format("yyyy-MM")
+                .minDocCount(1))));
+        return aggregations;
+    }
+
+    private SearchFacetsDto facets(SearchResponse<?> response) {
+        Map<String, Aggregate> aggregations = response.aggregations();
+        return SearchFacetsDto.builder()
+                .channels(termsBuckets(aggregations.get(FACET_CHANNEL)))
+                .members(termsBuckets(aggregations.get(FACET_MEMBER)))
+                .tags(aggregations.containsKey(FACET_TAG) ? termsBuckets(aggregations.get(FACET_TAG)) : null)
+                .dates(dateBuckets(aggregations.get(FACET_DATE)))
+                .build();
+    }
+
+    // 명시적 매핑 인덱스에서는 keyword(sterms), 재색인 전 동적 매핑 인덱스에서는 long(lterms)으로 온다
+    private List<SearchFacetsDto.FacetBucketDto> termsBuckets(Aggregate aggregate) {
+        if (aggregate == null) {
+            return List.of();
+        }
+        if (aggregate.isSterms()) {
+            return aggregate.sterms().buckets().array().stream()
+                    .map(bucket -> new SearchFacetsDto.FacetBucketDto(bucket.key(), bucket.docCount()))
+                    .toList();
+        }
+        if (aggregate.isLterms()) {
+            return aggregate.lterms().buckets().array().stream()
+                    .map(bucket -> new SearchFacetsDto.FacetBucketDto(String.valueOf(bucket.key()), bucket.docCount()))
+                    .toList();
+        }
+        return List.of();
+    }
+
+    private List<SearchFacetsDto.FacetBucketDto> dateBuckets(Aggregate aggregate) {
+        if (aggregate == null || !aggregate.isDateHistogram()) {
+            return List.of();
+        }
+        return aggregate.dateHistogram().buckets().array().stream()
+                .map(bucket -> new SearchFacetsDto.FacetBucketDto(bucket.keyAsString(), bucket.docCount()))
+                .toList();
+    }
+
+
+
+    // 문서에 비정규화된 채널 이름 우선, 없으면 hydration 결과에서 조회 (이미 삭제된 채널이면 null)
+    private String channelName(String documentChannelName, Map<Long, Channel> channels, Long channelId) {
+        if (documentChannelName != null) {
+            return documentChannelName;
+        }
+        Channel channel = channels.get(channelId);
+        return channel != null ? channel.getChannelName() : null;
+    }
+
+    private String memberName(ThreadDocument document, WorkspaceMember workspaceMember) {
+        if (document.getMemberName() != null) {
+            return document.getMemberName();
+        }
+        return workspaceMember != null ? workspaceMember.getNickname() : null;
+    }
+
+    private String profileImageUrl(ThreadDocument document, WorkspaceMember workspaceMember) {
+        if (document.getMemberName() != null) {
+            return document.getProfileImageUrl();
+        }
+        return workspaceMember != null ? workspaceMember.getProfileImage() : null;
+    }
 
     // 전체 검색 (모든 인덱스에서 검색)
-    public CombinedSearchResultDto searchAll(Long workspaceId, String keyword, int page, int size) {
-        SearchResultWithTotal<WorkspaceMemberSearchResultDto> memberResult = searchWorkspaceMembers(workspaceId, keyword, page, size);
-        SearchResultWithTotal<FileSearchResultDto> fileResult = searchFiles(workspaceId, keyword, page, size);
-        SearchResultWithTotal<ChannelSearchResultDto> channelResult = searchChannels(workspaceId, keyword, page, size);
-        SearchResultWithTotal<ThreadSearchResultDto> threadResult = searchThreads(workspaceId, keyword, page, size);
-        SearchResultWithTotal<CanvasBlockSearchResultDto> canvasBlockResult = searchCanvasAndBlocks(workspaceId, keyword, page, size);
+    public CombinedSearchResultDto searchAll(Long workspaceId, Long memberId, String keyword, int page, int size) {
+        return searchMetrics.record("all", workspaceId, () -> loadAll(workspaceId, memberId, keyword, page, size));
+    }
 
+    private CombinedSearchResultDto loadAll(Long workspaceId, Long memberId, String keyword, int page, int size) {
+        // 다섯 카테고리를 동시에 검색하고, 공통 데드라인까지 끝나지 않은 카테고리는 빈 결과로 돌려준다
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(searchAllTimeoutMs);
+        Map<String, Long> completedTimings = new ConcurrentHashMap<>();
+
+        CompletableFuture<SearchResultWithTotal<WorkspaceMemberSearchResultDto>> memberFuture =
+                searchCategoryAsync("members", completedTimings, () -> searchWorkspaceMembers(workspaceId, keyword, page, size));
+        CompletableFuture<SearchResultWithTotal<FileSearchResultDto>> fileFuture =
+                searchCategoryAsync("files", completedTimings, () -> searchFiles(workspaceId, memberId, keyword, page, size));
+        CompletableFuture<SearchResultWithTotal<ChannelSearchResultDto>> channelFuture =
+                searchCategoryAsync("channels", completedTimings, () -> searchChannels(workspaceId, memberId, keyword, page, size));
+        CompletableFuture<SearchResultWithTotal<ThreadSearchResultDto>> threadFuture =
+                searchCategoryAsync("threads", completedTimings, () -> searchThreads(workspaceId, memberId, keyword, page, size));
+        CompletableFuture<SearchResultWithTotal<CanvasBlockSearchResultDto>> canvasBlockFuture =
+                searchCategoryAsync("canvasBlocks", completedTimings, () -> searchCanvasAndBlocks(workspaceId, memberId, keyword, page, size));
+
+        Map<String, Long> timings = new LinkedHashMap<>();
+        List<String> degradedCategories = new ArrayList<>();
+        SearchResultWithTotal<WorkspaceMemberSearchResultDto> memberResult = awaitCategory("members", memberFuture, startedAt, deadline, completedTimings, timings, degradedCategories);
+        SearchResultWithTotal<FileSearchResultDto> fileResult = awaitCategory("files", fileFuture, startedAt, deadline, completedTimings, timings, degradedCategories);
+        SearchResultWithTotal<ChannelSearchResultDto> channelResult = awaitCategory("channels", channelFuture, startedAt, deadline, completedTimings, timings, degradedCategories);
+        SearchResultWithTotal<ThreadSearchResultDto> threadResult = awaitCategory("threads", threadFuture, startedAt, deadline, completedTimings, timings, degradedCategories);
+        SearchResultWithTotal<CanvasBlockSearchResultDto> canvasBlockResult = awaitCategory("canvasBlocks", canvasBlockFuture, startedAt, deadline, completedTimings, timings, degradedCategories);
 
         return CombinedSearchResultDto.builder()
                 .workspaceMembers(memberResult.getResults())
@@ -422,164 +1395,159 @@ public class SearchService {
                 .totalChannels(channelResult.getTotal())
                 .totalThreads(threadResult.getTotal())
                 .totalCanvasBlocks(canvasBlockResult.getTotal())
+                .partial(!degradedCategories.isEmpty())
+                .degradedCategories(degradedCategories)
+                .tookMillis(timings)
+                .nextCursors(nextCursors(memberResult, fileResult, channelResult, threadResult, canvasBlockResult))
                 .build();
     }
 
-    // Nori 분석기를 적용하여 인덱스를 생성하는 메서드
-    private void createIndexWithNoriAnalyzerIfNotExists(Long workspaceId) {
-        String alias = getAliasForWorkspace(workspaceId);
+    // 카테고리별 다음 페이지 커서 (다음 페이지는 각 카테고리 검색 API에 cursor 로 넘겨서 조회)
+    private Map<String, String> nextCursors(SearchResultWithTotal<?> members, SearchResultWithTotal<?> files, SearchResultWithTotal<?> channels,
+                                            SearchResultWithTotal<?> threads, SearchResultWithTotal<?> canvasBlocks) {
+        Map<String, String> nextCursors = new LinkedHashMap<>();
+        nextCursors.put("members", members.getNextCursor());
+        nextCursors.put("files", files.getNextCursor());
+        nextCursors.put("channels", channels.getNextCursor());
+        nextCursors.put("threads", threads.getNextCursor());
+        nextCursors.put("canvasBlocks", canvasBlocks.getNextCursor());
+        nextCursors.values().removeIf(Objects::isNull);
+        return nextCursors;
+    }
 
+    // 카테고리 검색을 전용 스레드 풀에서 실행하고, 끝난 시점의 소요 시간을 기록
+    private <T> CompletableFuture<SearchResultWithTotal<T>> searchCategoryAsync(String category, Map<String, Long> completedTimings,
+                                                                               Supplier<SearchResultWithTotal<T>> search) {
+        // 카테고리 검색은 다른 스레드에서 돌므로, "all" 요청 측정에 OpenSearch 조회/장애 여부가 합쳐지도록 이어 준다
+        Supplier<SearchResultWithTotal<T>> measured = searchMetrics.propagate(search);
         try {
-            // 인덱스 존재 여부 확인
-            boolean indexExists = openSearchClient.indices().exists(e -> e.index(alias)).value();
-
-            // 인덱스가 존재하지 않으면 생성
-            if (!indexExists) {
-                // Nori 분석기를 적용한 인덱스 매핑 설정
-                openSearchClient.indices().create(c -> c
-                        .index(alias)
-                        .settings(s -> s
-                                .analysis(a -> a
-                                        .analyzer("nori_analyzer", na -> na
-                                                .custom(ca -> ca
-                                                        .tokenizer("nori_tokenizer")
-                                                )
-                                        )
-                                )
-                        )
-                        .mappings(m -> m
-                                .properties("content", p -> p
-                                        .text(t -> t
-                                                .analyzer("nori_analyzer")
-                                        )
-                                )
-                        )
-                );
-                log.info("Index created with Nori analyzer: {}", alias);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to create index with Nori analyzer.", e);
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return measured.get();
+                } finally {
+                    completedTimings.put(category, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            }, searchExecutor);
+        } catch (TaskRejectedException e) {
+            // 풀과 큐가 모두 찬 경우: 기다리지 않고 이 카테고리만 부분 결과로 처리
+            log.warn("Search executor saturated, skipping category - category: {}", category);
+            return CompletableFuture.failedFuture(e);
         }
     }
 
+    // 공통 데드라인까지 남은 시간만큼만 기다리고, 시간 초과/실패한 카테고리는 빈 결과로 대체
+    private <T> SearchResultWithTotal<T> awaitCategory(String category, CompletableFuture<SearchResultWithTotal<T>> future,
+                                                       long startedAt, long deadline, Map<String, Long> completedTimings,
+                                                       Map<String, Long> timings, List<String> degradedCategories) {
+        try {
+            SearchResultWithTotal<T> result = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            timings.put(category, completedTimings.get(category));
+            if (result.isDegraded()) {
+                degradedCategories.add(category);
+            }
+            return result;
+        } catch (TimeoutException e) {
+            // 이미 보낸 OpenSearch 요청은 취소되지 않는다 (클라이언트 소켓 타임아웃까지 스레드를 쓴다), 결과만 버린다
+            log.warn("Search category timed out - category: {}", category);
+        } catch (ExecutionException e) {
+            log.error("Search category failed - category: {}", category, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Search category interrupted - category: {}", category);
+        }
+        // 시간 초과/실패한 카테고리는 아직 상위 요청에 합쳐지지 않았으므로 요청 스레드에서 직접 표시
+        searchMetrics.markDegraded();
+        degradedCategories.add(category);
+        timings.put(category, completedTimings.getOrDefault(category, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)));
+        return new SearchResultWithTotal<>(Collections.emptyList(), 0);
+    }
 
     // 워크스페이스 멤버 인덱스 저장
-    @Async
+    // 저장도 인덱싱 토픽으로 보낸다: OpenSearch 장애 중에 직접 호출하면 변경이 사라진다
     public void indexWorkspaceMember(Long workspaceId, WorkspaceMemberDocument document) {
-        // 인덱스가 존재하지 않으면 Nori 분석기를 적용하여 생성
-        createIndexWithNoriAnalyzerIfNotExists(workspaceId);
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("workspaceMember", document.getWorkspaceMemberId());  // threadId를 Long으로 변환
-        log.info("Indexing Workspace Member - Alias: {}, Document ID: {}", alias, documentId);
-        indexDocument(alias, documentId, document);
+        publishIndexMessage(new IndexEntityMessage<>(workspaceId, EntityType.WORKSPACE_MEMBER, document));
     }
 
     // 워크스페이스 멤버 삭제
     public void deleteWorkspaceMember(Long workspaceId, Long workspaceMemberId) {
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("workspaceMember", workspaceMemberId);
-        deleteDocument(alias, documentId);
+        publishTombstone(workspaceId, EntityType.WORKSPACE_MEMBER, IndexOperation.DELETE, workspaceMemberId);
     }
 
     // 파일 인덱스 저장
-    @Async
     public void indexFileEntity(Long workspaceId, FileEntityDocument document) {
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("fileEntity", Long.valueOf(document.getFileId()));
-        indexDocument(alias, documentId, document);
-
-        CompletableFuture.runAsync(() -> {
-            indexDocument(alias, documentId, document);
-        });
+        publishIndexMessage(new IndexEntityMessage<>(workspaceId, EntityType.FILE, document));
     }
 
     // 파일 삭제
     public void deleteFileEntity(Long workspaceId, Long fileId) {
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("fileEntity", fileId);
-        deleteDocument(alias, documentId);
+        publishTombstone(workspaceId, EntityType.FILE, IndexOperation.DELETE, fileId);
     }
 
     // 채널 인덱스 저장
-    @Async
     public void indexChannel(Long workspaceId, ChannelDocument document) {
-        createIndexWithNoriAnalyzerIfNotExists(workspaceId);
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("channel", Long.valueOf(document.getChannelId()));
-        CompletableFuture.runAsync(() -> {
-            indexDocument(alias, documentId, document);
-        });
+        publishIndexMessage(new IndexEntityMessage<>(workspaceId, EntityType.CHANNEL, document));
     }
 
     // 채널 삭제
     public void deleteChannel(Long workspaceId, Long channelId) {
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("channel", channelId);
-        deleteDocument(alias, documentId);
+        // 채널 문서와 채널에 속한 쓰레드/파일/캔버스/블록 문서를 함께 삭제
+        publishTombstone(workspaceId, EntityType.CHANNEL, IndexOperation.DELETE_BY_CHANNEL, channelId);
     }
 
     // 쓰레드 인덱스 저장
-// 쓰레드 인덱스 저장
-    @Async
     public void indexThread(Long workspaceId, ThreadDocument document) {
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("thread", Long.valueOf(document.getThreadId()));  // threadId를 Long으로 변환
-        CompletableFuture.runAsync(() -> {
-            indexDocument(alias, documentId, document);
-        });
+        publishIndexMessage(new IndexEntityMessage<>(workspaceId, EntityType.THREAD, document));
     }
 
     // 쓰레드 삭제
     public void deleteThread(Long workspaceId, Long threadId) {
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("thread", threadId);
-        deleteDocument(alias, documentId);
+        publishTombstone(workspaceId, EntityType.THREAD, IndexOperation.DELETE, threadId);
     }
 
-    @Async
     public void indexCanvas(Long workspaceId, CanvasBlockDocument document) {
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("canvas", document.getCanvasId());
-        CompletableFuture.runAsync(() -> {
-            indexDocument(alias, documentId, document);  // documentId 없이 호출하여 자동 생성
-        });
+        publishIndexMessage(new IndexEntityMessage<>(workspaceId, EntityType.CANVAS, document));
     }
 
     // 캔버스 삭제
     public void deleteCanvas(Long workspaceId, Long canvasId) {
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("canvas", canvasId);
-        deleteDocument(alias, documentId);
+        // 캔버스 문서와 캔버스에 속한 블록 문서를 함께 삭제
+        publishTombstone(workspaceId, EntityType.CANVAS, IndexOperation.DELETE_BY_CANVAS, canvasId);
     }
 
-    @Async
-    public CompletableFuture<Void> indexBlock(Long workspaceId, CanvasBlockDocument document) {
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("block", document.getBlockId());
-
-        return CompletableFuture.runAsync(() -> {
-            indexDocument(alias, documentId, document);  // documentId 없이 호출하여 자동 생성
-        });
+    public void indexBlock(Long workspaceId, CanvasBlockDocument document) {
+        publishIndexMessage(new IndexEntityMessage<>(workspaceId, EntityType.BLOCK, document));
     }
 
 
     // 블록 삭제
     public void deleteBlock(Long workspaceId, Long blockId) {
-        String alias = getAliasForWorkspace(workspaceId);
-        String documentId = generateDocumentId("block", blockId);
-        deleteDocument(alias, documentId);
+        publishTombstone(workspaceId, EntityType.BLOCK, IndexOperation.DELETE, blockId);
+    }
+
+
+    public SearchResultWithTotal<ThreadSearchResultDto> searchThreadsByTags(Long workspaceId, Long memberId, List<String> tags, int page, int size) {
+        return searchThreadsByTags(workspaceId, memberId, tags, page, size, null);
     }
 
+    public SearchResultWithTotal<ThreadSearchResultDto> searchThreadsByTags(Long workspaceId, Long memberId, List<String> tags, int page, int size, String cursor) {
+        return searchMetrics.record("thread_tags", workspaceId, () -> {
+            ChannelAcl acl = channelAclCache.get(workspaceId, memberId);
+            // 태그 순서와 상관없이 같은 조합이면 같은 캐시 키
+            String tagKey = String.join(",", tags.stream().sorted().toList());
+            return searchResultCache.getOrLoad(workspaceId, "thread_tags", tagKey, page, size, cursor, acl.getFingerprint(), ThreadSearchResultDto.class,
+                    () -> degradable(() -> loadThreadsByTags(workspaceId, acl, tags, page, size, cursor)));
+        });
+    }
 
-    public SearchResultWithTotal<ThreadSearchResultDto> searchThreadsByTags(Long workspaceId, List<String> tags, int page, int size) {
+    private SearchResultWithTotal<ThreadSearchResultDto> loadThreadsByTags(Long workspaceId, ChannelAcl acl, List<String> tags, int page, int size, String cursor) {
         String alias = getAliasForWorkspace(workspaceId);
 
+        long start = System.nanoTime();
         try {
             // OpenSearch 쿼리 빌더에서 태그 조건을 추가
-            SearchResponse<ThreadDocument> response = openSearchClient.search(s -> s
+            SearchResponse<ThreadDocument> response = openSearchCircuitBreaker.execute(() -> openSearchClient.search(s -> paginate(s, page, size, cursor)
                             .index(alias)
-                            .from(page * size) // 페이징 처리 (시작 위치)
-                            .size(size) // 한 페이지에 반환할 결과 개수
                             .query(q -> q
                                     .bool(b -> {
                                         // for문을 사용하여 각각의 태그에 대해 should 조건 추가
@@ -591,36 +1559,50 @@ public class SearchService {
                                                     )
                                             );
                                         }
+                                        // 볼 수 있는 채널의 쓰레드 문서만 대상으로
+                                        b.filter(docTypeFilter("threadId", EntityType.THREAD));
+                                        b.filter(channelAclFilter(acl));
                                         // 최소한 하나 이상의 태그가 일치하는 결과만 반환
                                         b.minimumShouldMatch(String.valueOf(tags.size())); // 최소 일치 개수를 1로 설정
                                         return b;
                                     })
                             ),
                     ThreadDocument.class
-            );
+            ));
+            searchMetrics.recordQuery(System.nanoTime() - start, response.took(), totalHits(response));
+
+            // 작성자 정보가 비정규화되지 않은 예전 문서만 상위/자식 쓰레드 작성자를 한 번에 조회
+            List<Long> workspaceMemberIds = new ArrayList<>();
+            response.hits().hits().forEach(hit -> {
+                if (hit.source().getMemberName() == null) {
+                    workspaceMemberIds.add(hit.source().getWorkspaceMemberId());
+                }
+                if (hit.source().getChildThreads() != null) {
+                    hit.source().getChildThreads().stream()
+                            .filter(child -> child.getMemberName() == null)
+                            .forEach(child -> workspaceMemberIds.add(child.getWorkspaceMemberId()));
+                }
+            });
+            Map<Long, WorkspaceMember> workspaceMembers = searchMetrics.hydrate(() -> searchResultHydrator.loadWorkspaceMembers(workspaceMemberIds));
 
             // 검색 결과를 DTO로 변환
             List<ThreadSearchResultDto> threads = response.hits().hits().stream()
                     .map(document -> {
-                        // WorkspaceMember 조회
-                        Long workspaceMemberId = document.source().getWorkspaceMemberId();
-                        WorkspaceMember workspaceMember = workspaceMemberRepository.findById(workspaceMemberId)
-                                .orElseThrow(() -> new EntityNotFoundException("Workspace member not found with ID: " + workspaceMemberId));
+                        WorkspaceMember workspaceMember = workspaceMembers.get(document.source().getWorkspaceMemberId());
 
                         // 자식 쓰레드 정보 변환
-                        List<ThreadSearchResultDto> childThreadDtos = document.source().getChildThreads().stream()
+                        List<ThreadDocument> childThreads = document.source().getChildThreads() != null
+                                ? document.source().getChildThreads() : Collections.emptyList();
+                        List<ThreadSearchResultDto> childThreadDtos = childThreads.stream()
                                 .map(child -> {
-                                    // 자식 쓰레드의 WorkspaceMember 조회
-                                    Long childWorkspaceMemberId = child.getWorkspaceMemberId();
-                                    WorkspaceMember childWorkspaceMember = workspaceMemberRepository.findById(childWorkspaceMemberId)
-                                            .orElseThrow(() -> new EntityNotFoundException("Workspace member not found with ID: " + childWorkspaceMemberId));
+                                    WorkspaceMember childWorkspaceMember = workspaceMembers.get(child.getWorkspaceMemberId());
 
                                     // 자식 쓰레드 DTO 생성
                                     return ThreadSearchResultDto.builder()
                                             .threadId(child.getThreadId())
                                             .content(child.getContent())
-                                            .memberName(childWorkspaceMember.getNickname()) // 자식 쓰레드의 memberName 설정
-                                            .profileImageUrl(childWorkspaceMember.getProfileImage()) // 자식 쓰레드의 profileImageUrl 설정
+                                            .memberName(memberName(child, childWorkspaceMember)) // 자식 쓰레드의 memberName 설정
+                                            .profileImageUrl(profileImageUrl(child, childWorkspaceMember)) // 자식 쓰레드의 profileImageUrl 설정
                                             .channelId(child.getChannelId())
                                             .createdTime(child.getCreatedTime())
                                             .tags(child.getTags())
@@ -634,8 +1616,8 @@ public class SearchService {
                         return ThreadSearchResultDto.builder()
                                 .threadId(document.source().getThreadId())
                                 .content(document.source().getContent())
-                                .memberName(workspaceMember.getNickname()) // WorkspaceMember에서 memberName 설정
-                                .profileImageUrl(workspaceMember.getProfileImage()) // WorkspaceMember에서 profileImageUrl 설정
+                                .memberName(memberName(document.source(), workspaceMember)) // 문서 값 우선, 없으면 WorkspaceMember에서 설정
+                                .profileImageUrl(profileImageUrl(document.source(), workspaceMember))
                                 .channelId(document.source().getChannelId())
                                 .createdTime(document.source().getCreatedTime())
                                 .tags(document.source().getTags())
@@ -646,7 +1628,7 @@ public class SearchService {
                     })
                     .collect(Collectors.toList());
 
-            return new SearchResultWithTotal<>(threads, response.hits().total().value());
+            return new SearchResultWithTotal<>(threads, response.hits().total().value(), nextCursor(response, size));
 
         } catch (IOException e) {
             throw new RuntimeException("OpenSearch 검색 중 오류가 발생했습니다.", e);
@@ -61,9 +61,11 @@ public class TagController {
 
     @Operation(summary = "태그 검색")
     @GetMapping("/search")
-    public ResponseEntity<?> searchTag(@RequestParam Long channelId, @RequestParam List<Long> tagSearchIds) {
-        // 서비스 레이어에서 변환된 결과 가져오기
-        List<ThreadSearchResultDto> threadResults = tagService.searchTag(channelId, tagSearchIds);
+    public ResponseEntity<?> searchTag(@RequestParam Long channelId, @RequestParam List<Long> tagSearchIds,
+                                       @RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(required = false) Integer size) {
+        // 서비스 레이어에서 변환된 결과 가져오기 (size 가 없으면 전체)
+        List<ThreadSearchResultDto> threadResults = tagService.searchTag(channelId, tagSearchIds, page, size);
 
         // 응답을 `CommonResDto` 형식으로 래핑하여 반환
         CommonResDto commonResDto = new CommonResDto(HttpStatus.OK, "태그 검색 성공", threadResults);
@@ -3,11 +3,8 @@ package com.example.coconote.api.thread.tag.service;
 import com.example.coconote.api.channel.channel.entity.Channel;
 import com.example.coconote.api.channel.channel.repository.ChannelRepository;
 import com.example.coconote.api.member.entity.Member;
-import com.example.coconote.api.search.dto.EntityType;
-import com.example.coconote.api.search.dto.IndexEntityMessage;
 import com.example.coconote.api.search.dto.ThreadSearchResultDto;
-import com.example.coconote.api.search.entity.ThreadDocument;
-import com.example.coconote.api.search.mapper.ThreadMapper;
+import com.example.coconote.api.search.service.SearchService;
 import com.example.coconote.api.thread.tag.dto.request.TagCreateReqDto;
 import com.example.coconote.api.thread.tag.dto.request.TagSearchReqListDto;
 import com.example.coconote.api.thread.tag.dto.request.TagUpdateReqDto;
@@ -22,19 +19,24 @@ import com.example.coconote.api.thread.thread.entity.Thread;
 import com.example.coconote.api.thread.thread.repository.ThreadRepository;
 import com.example.coconote.api.thread.threadFile.dto.request.ThreadFileDto;
 import com.example.coconote.api.thread.threadFile.entity.ThreadFile;
+import com.example.coconote.api.thread.threadFile.repository.ThreadFileRepository;
+import com.example.coconote.api.thread.threadTag.component.ThreadTagBitmapIndex;
 import com.example.coconote.api.thread.threadTag.entity.ThreadTag;
 import com.example.coconote.api.thread.threadTag.repository.ThreadTagRepository;
 import com.example.coconote.api.workspace.workspaceMember.entity.WorkspaceMember;
 import com.example.coconote.common.IsDeleted;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -46,8 +48,9 @@ public class TagService {
     private final ChannelRepository channelRepository;
     private final ThreadRepository threadRepository;
     private final ThreadTagRepository threadTagRepository;
-    private final ThreadMapper threadMapper;
-    private final KafkaTemplate kafkaTemplate;
+    private final SearchService searchService;
+    private final ThreadFileRepository threadFileRepository;
+    private final ThreadTagBitmapIndex threadTagBitmapIndex;
 
 
     public Tag createTag(TagCreateReqDto dto) {
@@ -69,10 +72,11 @@ public class TagService {
         }
         Thread thread = threadRepository.findById(dto.getThreadId()).orElseThrow(()->new EntityNotFoundException("Thread not found"));
         ThreadTag threadTag = threadTagRepository.save(new ThreadTag(thread, tag));
+        threadTagBitmapIndex.addThreadTag(thread.getChannel().getChannelId(), tag.getId(), thread.getId());
 
-        ThreadDocument document = threadMapper.toDocument(thread);  // toDocument로 미리 변환
-        IndexEntityMessage<ThreadDocument> indexEntityMessage = new IndexEntityMessage<>(thread.getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.THREAD, document);
-        kafkaTemplate.send("thread_entity_search", indexEntityMessage.toJson());
+        // 검색 인덱스에는 태그만 추가 (쓰레드 전체 문서를 다시 만들지 않는다)
+        searchService.addThreadTag(thread.getChannel().getSection().getWorkspace().getWorkspaceId(), thread.getId(),
+                thread.getParent() != null ? thread.getParent().getId() : null, tag.getName());
 
         return ThreadResDto.builder()
                 .type(messageType)
@@ -97,29 +101,13 @@ public class TagService {
 // 1. 태그를 조회하고 이름을 업데이트
         Tag tag = tagRepository.findById(dto.getTagId())
                 .orElseThrow(() -> new EntityNotFoundException("Tag not found"));
+        String oldName = tag.getName();
         tag.updateName(dto.getUpdateTagName());
         tagRepository.save(tag);
 
-        // 2. 해당 태그를 참조하는 쓰레드들을 조회
-        List<ThreadTag> affectedThreadTags = threadTagRepository.findByTag_Id(tag.getId());
-        List<Thread> affectedThreads = affectedThreadTags.stream()
-                .map(ThreadTag::getThread)
-                .distinct() // 중복 제거
-                .toList();
-
-        // 3. 각 쓰레드의 검색 인덱스를 업데이트하여 변경된 태그를 반영
-        for (Thread thread : affectedThreads) {
-            // ThreadDocument 생성
-            ThreadDocument document = threadMapper.toDocument(thread);
-
-            // 검색 인덱스 메시지 생성 및 Kafka로 전송
-            IndexEntityMessage<ThreadDocument> indexEntityMessage = new IndexEntityMessage<>(
-                    thread.getChannel().getSection().getWorkspace().getWorkspaceId(),
-                    EntityType.THREAD,
-                    document
-            );
-            kafkaTemplate.send("thread_entity_search", indexEntityMessage.toJson());
-        }
+        // 2. 태그가 붙은 쓰레드 수와 상관없이 검색 인덱스는 한 번의 요청으로 이름을 바꾼다
+        Channel channel = tag.getChannel();
+        searchService.renameTag(channel.getSection().getWorkspace().getWorkspaceId(), channel.getChannelId(), oldName, tag.getName());
 
         return tag;
     }
@@ -131,10 +119,6 @@ public class TagService {
 
         // 2. 태그를 참조하는 ThreadTag들을 조회
         List<ThreadTag> affectedThreadTags = threadTagRepository.findByTag_Id(tag.getId());
-        List<Thread> affectedThreads = affectedThreadTags.stream()
-                .map(ThreadTag::getThread)
-                .distinct() // 중복 제거
-                .collect(Collectors.toList());
 
         // 3. 관련된 ThreadTag 삭제
         threadTagRepository.deleteAll(affectedThreadTags);
@@ -142,65 +126,70 @@ public class TagService {
         // 4. 태그를 소프트 삭제
         tag.deleteTag();
         tagRepository.save(tag);
+        threadTagBitmapIndex.removeTag(tag.getChannel().getChannelId(), tag.getId());
 
-        // 5. 검색 인덱스에서 관련된 쓰레드를 업데이트하여 삭제된 태그를 반영
-        for (Thread thread : affectedThreads) {
-            // 삭제된 태그를 반영하여 ThreadDocument 생성
-            ThreadDocument document = threadMapper.toDocument(thread);
-
-            // 필터링된 태그 목록 생성 (삭제된 태그를 제외)
-            List<String> updatedTags = document.getTags().stream()
-                    .filter(tagName -> !tagName.equals(tag.getName()))
-                    .collect(Collectors.toList());
-            document.setTags(updatedTags); // 태그 목록 업데이트
-
-            // 검색 인덱스 메시지 생성 및 Kafka로 전송
-            IndexEntityMessage<ThreadDocument> indexEntityMessage = new IndexEntityMessage<>(
-                    thread.getChannel().getSection().getWorkspace().getWorkspaceId(),
-                    EntityType.THREAD,
-                    document
-            );
-            kafkaTemplate.send("thread_entity_search", indexEntityMessage.toJson());
-        }
+        // 5. 검색 인덱스에서 채널의 쓰레드들에 붙은 태그를 한 번의 요청으로 제거
+        Channel channel = tag.getChannel();
+        searchService.removeTag(channel.getSection().getWorkspace().getWorkspaceId(), channel.getChannelId(), tag.getName());
     }
 
 
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<ThreadSearchResultDto> searchTag(Long channelId, List<Long> tagSearchIds) {
-        // 입력된 태그의 개수
-        Long tagCount = (long) tagSearchIds.size();
+        return searchTag(channelId, tagSearchIds, 0, null);
+    }
+
+    // 모든 태그를 가진 쓰레드 검색 (최신순), size 가 없으면 전체
+    // 비트맵 인덱스 교집합으로 쓰레드 ID 를 구하고, 해당 페이지의 쓰레드/태그/파일만 한 번씩 묶어서 조회한다
+    @Transactional(readOnly = true)
+    public List<ThreadSearchResultDto> searchTag(Long channelId, List<Long> tagSearchIds, int page, Integer size) {
+        Optional<List<Long>> indexedThreadIds = threadTagBitmapIndex.findThreadIdsWithAllTags(channelId, tagSearchIds);
+        List<Long> threadIds;
+        if (indexedThreadIds.isPresent()) {
+            threadIds = indexedThreadIds.get();
+        } else {
+            // 기동 직후 인덱스가 아직 없으면 기존 GROUP BY 쿼리로 대체
+            threadIds = threadTagRepository.findThreadsByChannelAndAllTagIds(channelId, tagSearchIds, tagSearchIds.stream().distinct().count()).stream()
+                    .filter(thread -> thread.getIsDeleted() == IsDeleted.N)
+                    .map(Thread::getId)
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        }
 
-        // 모든 태그를 만족하는 쓰레드를 찾습니다.
-        List<Thread> threads = threadTagRepository.findThreadsByChannelAndAllTagIds(channelId, tagSearchIds, tagCount);
+        List<Long> pageIds = size == null ? threadIds
+                : threadIds.stream().skip((long) page * size).limit(size).toList();
+        if (pageIds.isEmpty()) {
+            return List.of();
+        }
 
-        // DTO로 변환
-        return threads.stream()
+        Map<Long, Thread> threads = threadRepository.findAllWithWorkspaceMemberByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Thread::getId, thread -> thread));
+        // 태그 정보 - isDeleted가 N인 태그 이름만
+        Map<Long, List<String>> tagNames = threadTagRepository.findWithTagByThreadIdIn(pageIds).stream()
+                .filter(threadTag -> threadTag.getTag().getIsDeleted() == IsDeleted.N)
+                .collect(Collectors.groupingBy(threadTag -> threadTag.getThread().getId(),
+                        Collectors.mapping(threadTag -> threadTag.getTag().getName(), Collectors.toList())));
+        // 파일 정보 - 삭제되지 않은 파일 URL만
+        Map<Long, List<String>> fileUrls = threadFileRepository.findAllByThread_IdInAndIsDeleted(pageIds, IsDeleted.N).stream()
+                .collect(Collectors.groupingBy(threadFile -> threadFile.getThread().getId(),
+                        Collectors.mapping(ThreadFile::getFileURL, Collectors.toList())));
+
+        // 인덱스 순서(최신순) 유지하며 DTO로 변환
+        return pageIds.stream()
+                .map(threads::get)
+                .filter(Objects::nonNull)
                 .map(thread -> {
                     WorkspaceMember workspaceMember = thread.getWorkspaceMember();
-
-                    // 태그 정보 변환 - isDeleted가 N인 태그만 포함
-                    List<String> tags = thread.getThreadTags().stream()
-                            .map(tTag -> tTag.getTag())
-                            .filter(tag -> tag.getIsDeleted() == IsDeleted.N) // 삭제되지 않은 태그만 필터링
-                            .map(Tag::getName) // 태그 이름만 추출
-                            .collect(Collectors.toList());
-
-                    // 파일 정보 변환 - 파일 URL만 포함
-                    List<String> fileUrls = thread.getThreadFiles().stream()
-                            .map(ThreadFile::getFileURL) // 파일 URL 추출
-                            .collect(Collectors.toList());
-
-                    // 결과 DTO 생성
                     return ThreadSearchResultDto.builder()
                             .threadId(String.valueOf(thread.getId()))
                             .content(thread.getContent())
                             .memberName(workspaceMember.getNickname())
                             .profileImageUrl(workspaceMember.getProfileImage())
-                            .channelId(thread.getChannel().getChannelId())
+                            .channelId(channelId)
                             .createdTime(thread.getCreatedTime().toString())
-                            .tags(tags)
-                            .fileUrls(fileUrls)
+                            .tags(tagNames.getOrDefault(thread.getId(), List.of()))
+                            .fileUrls(fileUrls.getOrDefault(thread.getId(), List.of()))
                             .parentThreadId(thread.getParent() != null ? thread.getParent().getId() : null)
                             .build();
                 })
@@ -5,9 +5,8 @@ import com.example.coconote.api.member.repository.MemberRepository;
 import com.example.coconote.api.thread.tag.service.TagService;
 import com.example.coconote.api.thread.threadFile.service.ThreadFileService;
 import com.example.coconote.api.thread.threadTag.service.ThreadTagService;
+import com.example.coconote.common.KafkaMessageCodec;
 import com.example.coconote.security.token.JwtTokenProvider;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.example.coconote.api.thread.thread.entity.MessageType;
 import com.example.coconote.api.thread.thread.dto.requset.ThreadReqDto;
 import com.example.coconote.api.thread.thread.dto.response.ThreadResDto;
@@ -40,6 +39,7 @@ public class WebSocketController {
     private final TagService tagService;
     private final ThreadTagService threadTagService;
     private final MemberRepository memberRepository;
+    private final KafkaMessageCodec kafkaMessageCodec;
 
     @MessageMapping("/chat/message")
     public void message(ThreadReqDto threadReqDto, @Header("Authorization") String token) {
@@ -69,14 +69,7 @@ public class WebSocketController {
 
     @KafkaListener(topics = "chat_topic")
     public void listen(String message) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        ThreadResDto threadResDto;
-
-        try {
-            threadResDto = objectMapper.readValue(message, ThreadResDto.class);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
+        ThreadResDto threadResDto = kafkaMessageCodec.decode(message, ThreadResDto.class);
 
         // 수신한 메시지를 채널로 브로드캐스트하기 전에 로그 찍기
         log.info("Received message from Kafka: {}", threadResDto);
@@ -23,4 +23,8 @@ public interface ThreadRepository extends JpaRepository<Thread, Long> {
     Long countByChannelAndParentIsNullAndIdGreaterThanEqual(Channel channel, Long id, IsDeleted isDeleted);
 
 //    Long countByChannelAndParentIsNull(Channel channel, Long id);
+
+    // 태그 검색 결과 한 페이지를 작성자와 함께 한 번에 조회
+    @Query("SELECT t FROM Thread t JOIN FETCH t.workspaceMember WHERE t.id IN ?1")
+    List<Thread> findAllWithWorkspaceMemberByIdIn(List<Long> ids);
 }
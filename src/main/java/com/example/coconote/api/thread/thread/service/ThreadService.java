@@ -19,6 +19,7 @@ import com.example.coconote.api.thread.thread.repository.ThreadRepository;
 import com.example.coconote.api.thread.threadFile.dto.request.ThreadFileDto;
 import com.example.coconote.api.thread.threadFile.entity.ThreadFile;
 import com.example.coconote.api.thread.threadFile.repository.ThreadFileRepository;
+import com.example.coconote.api.thread.threadTag.component.ThreadTagBitmapIndex;
 import com.example.coconote.api.thread.threadTag.repository.ThreadTagRepository;
 import com.example.coconote.api.workspace.workspace.entity.Workspace;
 import com.example.coconote.api.workspace.workspace.repository.WorkspaceRepository;
@@ -55,6 +56,7 @@ public class ThreadService {
     private final ThreadMapper threadMapper;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final ThreadNotificationService threadNotificationService;
+    private final ThreadTagBitmapIndex threadTagBitmapIndex;
 
     @Transactional
     public ThreadResDto createThread(ThreadReqDto dto, Long memberId) {
@@ -94,7 +96,8 @@ public class ThreadService {
         ThreadDocument document = threadMapper.toDocument(thread);
         IndexEntityMessage<ThreadDocument> indexEntityMessage = new IndexEntityMessage<>(workspace.getWorkspaceId(), EntityType.THREAD, document);
         log.info("indexEntityMessage : {}", indexEntityMessage);
-        kafkaTemplate.send("thread_entity_search", indexEntityMessage.toJson());
+        // 워크스페이스 id 키: 태그/파일 부분 업데이트 메시지와 같은 파티션에서 순서대로 처리
+        kafkaTemplate.send("thread_entity_search", String.valueOf(workspace.getWorkspaceId()), indexEntityMessage);
 
         // ThreadResDto 반환 시 파일 정보를 포함
         return thread.fromEntity();
@@ -135,6 +138,7 @@ public class ThreadService {
 //        isDeleted를 true로 바꾸는 것으로 대체
         thread.markAsDeleted();
         searchService.deleteThread(thread.getChannel().getSection().getWorkspace().getWorkspaceId(), thread.getId());
+        threadTagBitmapIndex.removeThread(thread.getChannel().getChannelId(), thread.getId());
 //        return ThreadResDto.builder()
 //                .id(thread.getId())
 //                .type(MessageType.DELETE)
@@ -149,7 +153,7 @@ public class ThreadService {
 
         ThreadDocument document = threadMapper.toDocument(thread); // toDocument로 미리 변환
         IndexEntityMessage<ThreadDocument> indexEntityMessage = new IndexEntityMessage<>(thread.getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.THREAD, document);
-        kafkaTemplate.send("thread_entity_search", indexEntityMessage.toJson());
+        kafkaTemplate.send("thread_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
         return thread.fromEntity(MessageType.UPDATE);
     }
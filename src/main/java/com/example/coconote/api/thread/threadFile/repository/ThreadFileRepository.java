@@ -2,6 +2,7 @@ package com.example.coconote.api.thread.threadFile.repository;
 
 import com.example.coconote.api.thread.thread.entity.Thread;
 import com.example.coconote.api.thread.threadFile.entity.ThreadFile;
+import com.example.coconote.common.IsDeleted;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -10,4 +11,6 @@ import java.util.Optional;
 public interface ThreadFileRepository extends JpaRepository<ThreadFile, Long> {
     Optional<ThreadFile> findByFileID(Long fileID);
 
+    List<ThreadFile> findAllByThread_IdInAndIsDeleted(List<Long> threadIds, IsDeleted isDeleted);
+
 }
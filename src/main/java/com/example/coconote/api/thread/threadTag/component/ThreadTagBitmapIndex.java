@@ -0,0 +1,278 @@
+package com.example.coconote.api.thread.threadTag.component;
+
+import com.example.coconote.api.thread.threadTag.repository.ThreadTagRepository;
+import com.example.coconote.common.IsDeleted;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// 채널별 태그 -> 쓰레드 ID 압축 비트맵(RoaringBitmap) 인덱스
+// 여러 태그를 모두 가진 쓰레드 찾기(AND 검색)를 GROUP BY/HAVING 대신 비트맵 교집합으로 처리한다
+// - 기동 시 DB 에서 전체를 한 번 만들고, 태그 추가/제거/삭제와 쓰레드 삭제 시 커밋 후에 갱신한다
+// - 변경은 Redis pub/sub(thread-tag-index)으로 다른 서버 인스턴스에도 바로 전파한다
+// - pub/sub 은 유실될 수 있으므로(구독 재연결 중 등) 드물게 전체 재구성을 전용 스레드에서 돌려 맞춘다
+// 채널의 태그 맵과 비트맵은 한 번 공개하면 수정하지 않고, 바꿀 때는 복사본을 만들어 교체한다 (검색은 락 없이 읽는다)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ThreadTagBitmapIndex implements MessageListener {
+
+    public static final String TOPIC = "thread-tag-index";
+
+    private final ThreadTagRepository threadTagRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    // 자기가 보낸 변경은 이미 적용했으므로 구독에서 건너뛴다
+    private final String nodeId = UUID.randomUUID().toString();
+    // 전체 재구성은 스케줄러 스레드가 아닌 전용 스레드에서 하나씩만 실행
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "thread-tag-index-rebuild"));
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    // channelId -> (tagId -> threadId 비트맵), 아직 만들어지지 않았으면 null
+    private volatile Map<Long, Map<Long, RoaringBitmap>> channels;
+    // 재구성 중에 들어온 변경 (DB 조회 이후의 변경을 놓치지 않도록 새 인덱스에 다시 적용한다)
+    private List<ChannelChange> pendingDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        requestRebuild();
+    }
+
+    // 유실된 pub/sub 변경 보정용 전체 재구성 (기본 6시간), 스케줄러 스레드는 요청만 넣고 바로 돌아온다
+    @Scheduled(fixedDelayString = "${thread-tag-index.rebuild-interval-ms:21600000}", initialDelayString = "${thread-tag-index.rebuild-interval-ms:21600000}")
+    public void scheduledRebuild() {
+        requestRebuild();
+    }
+
+    // 이미 대기 중인 재구성이 있으면 합친다
+    public void requestRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        } catch (RejectedExecutionException e) {
+            rebuildQueued.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    public void rebuild() {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Map<Long, Map<Long, RoaringBitmap>> rebuilt = new ConcurrentHashMap<>();
+            List<Object[]> entries = threadTagRepository.findTagIndexEntries(IsDeleted.N);
+            for (Object[] entry : entries) {
+                rebuilt.computeIfAbsent((Long) entry[0], channelId -> new HashMap<>())
+                        .computeIfAbsent((Long) entry[1], tagId -> new RoaringBitmap())
+                        .add(Math.toIntExact((Long) entry[2]));
+            }
+            rebuilt.values().forEach(tags -> tags.values().forEach(RoaringBitmap::runOptimize));
+
+            synchronized (this) {
+                pendingDuringRebuild.forEach(change -> change.applyTo(rebuilt));
+                channels = rebuilt;
+            }
+            log.info("Thread tag bitmap index built - channels: {}, entries: {}, {}ms", rebuilt.size(), entries.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // 재구성에 실패하면 기존 인덱스를 그대로 쓴다 (처음이면 검색은 DB 조회로 대체된다)
+            log.error("Failed to build thread tag bitmap index", e);
+        } finally {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    // 채널에서 모든 태그를 가진 쓰레드 ID (최신순), 인덱스가 아직 준비되지 않았으면 empty
+    public Optional<List<Long>> findThreadIdsWithAllTags(Long channelId, List<Long> tagIds) {
+        Map<Long, Map<Long, RoaringBitmap>> snapshot = channels;
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        Map<Long, RoaringBitmap> tags = snapshot.getOrDefault(channelId, Map.of());
+        List<RoaringBitmap> bitmaps = new ArrayList<>();
+        for (Long tagId : tagIds.stream().distinct().toList()) {
+            RoaringBitmap bitmap = tags.get(tagId);
+            if (bitmap == null) {
+                return Optional.of(List.of());
+            }
+            bitmaps.add(bitmap);
+        }
+        if (bitmaps.isEmpty()) {
+            return Optional.of(List.of());
+        }
+
+        // 작은 비트맵부터 교집합을 구하면 중간 결과가 빨리 줄어든다
+        bitmaps.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+        RoaringBitmap result = bitmaps.get(0).clone();
+        for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+            result.and(bitmaps.get(i));
+        }
+
+        List<Long> threadIds = new ArrayList<>(result.getCardinality());
+        IntIterator iterator = result.getReverseIntIterator();
+        while (iterator.hasNext()) {
+            threadIds.add((long) iterator.next());
+        }
+        return Optional.of(threadIds);
+    }
+
+    public void addThreadTag(Long channelId, Long tagId, Long threadId) {
+        afterCommit(new TagIndexEvent(nodeId, TagIndexEvent.ADD, channelId, tagId, threadId));
+    }
+
+    public void removeThreadTag(Long channelId, Long tagId, Long threadId) {
+        afterCommit(new TagIndexEvent(nodeId, TagIndexEvent.REMOVE, channelId, tagId, threadId));
+    }
+
+    // 태그 자체가 삭제된 경우
+    public void removeTag(Long channelId, Long tagId) {
+        afterCommit(new TagIndexEvent(nodeId, TagIndexEvent.REMOVE_TAG, channelId, tagId, null));
+    }
+
+    // 쓰레드가 삭제된 경우: 채널의 모든 태그 비트맵에서 제거
+    public void removeThread(Long channelId, Long threadId) {
+        afterCommit(new TagIndexEvent(nodeId, TagIndexEvent.REMOVE_THREAD, channelId, null, threadId));
+    }
+
+    // 다른 인스턴스에서 보낸 변경
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            if (redisTemplate.getValueSerializer().deserialize(message.getBody()) instanceof TagIndexEvent event
+                    && !nodeId.equals(event.nodeId())) {
+                apply(event.toChange());
+            }
+        } catch (RuntimeException e) {
+            // 처리하지 못한 변경은 다음 전체 재구성에서 맞춰진다
+            log.warn("Failed to apply thread tag index event", e);
+        }
+    }
+
+    // 공개된 비트맵은 건드리지 않고 복사본을 바꿔서 넣는다
+    private static void changeBitmap(Map<Long, RoaringBitmap> tags, Long tagId, Consumer<RoaringBitmap> change) {
+        RoaringBitmap current = tags.get(tagId);
+        RoaringBitmap updated = current != null ? current.clone() : new RoaringBitmap();
+        change.accept(updated);
+        if (updated.isEmpty()) {
+            tags.remove(tagId);
+        } else {
+            tags.put(tagId, updated);
+        }
+    }
+
+    // 롤백된 변경이 인덱스에 남지 않도록 커밋 후에 적용하고 다른 인스턴스에 알린다
+    private void afterCommit(TagIndexEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyAndPublish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyAndPublish(event);
+            }
+        });
+    }
+
+    private void applyAndPublish(TagIndexEvent event) {
+        apply(event.toChange());
+        try {
+            redisTemplate.convertAndSend(TOPIC, event);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish thread tag index event - channel: {}", event.channelId(), e);
+        }
+    }
+
+    private synchronized void apply(ChannelChange change) {
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(change);
+        }
+        Map<Long, Map<Long, RoaringBitmap>> current = channels;
+        if (current != null) {
+            change.applyTo(current);
+        }
+    }
+
+    // 인스턴스 사이에 주고받는 태그 인덱스 변경
+    public record TagIndexEvent(String nodeId, String type, Long channelId, Long tagId, Long threadId) {
+        static final String ADD = "ADD";
+        static final String REMOVE = "REMOVE";
+        static final String REMOVE_TAG = "REMOVE_TAG";
+        static final String REMOVE_THREAD = "REMOVE_THREAD";
+
+        ChannelChange toChange() {
+            return switch (type) {
+                case ADD -> {
+                    int id = Math.toIntExact(threadId);
+                    yield new ChannelChange(channelId, tags -> changeBitmap(tags, tagId, bitmap -> bitmap.add(id)));
+                }
+                case REMOVE -> {
+                    int id = Math.toIntExact(threadId);
+                    yield new ChannelChange(channelId, tags -> changeBitmap(tags, tagId, bitmap -> bitmap.remove(id)));
+                }
+                case REMOVE_TAG -> new ChannelChange(channelId, tags -> tags.remove(tagId));
+                case REMOVE_THREAD -> {
+                    int id = Math.toIntExact(threadId);
+                    yield new ChannelChange(channelId, tags -> {
+                        for (Long existingTagId : List.copyOf(tags.keySet())) {
+                            if (tags.get(existingTagId).contains(id)) {
+                                changeBitmap(tags, existingTagId, bitmap -> bitmap.remove(id));
+                            }
+                        }
+                    });
+                }
+                default -> throw new IllegalArgumentException("Unknown thread tag index event: " + type);
+            };
+        }
+    }
+
+    // 한 채널의 태그 맵 변경: 복사본에 적용한 뒤 채널 항목만 교체
+    private record ChannelChange(Long channelId, Consumer<Map<Long, RoaringBitmap>> change) {
+        void applyTo(Map<Long, Map<Long, RoaringBitmap>> index) {
+            Map<Long, RoaringBitmap> tags = new HashMap<>(index.getOrDefault(channelId, Map.of()));
+            change.accept(tags);
+            if (tags.isEmpty()) {
+                index.remove(channelId);
+            } else {
+                index.put(channelId, tags);
+            }
+        }
+    }
+}
@@ -2,9 +2,10 @@ package com.example.coconote.api.thread.threadTag.repository;
 
 import com.example.coconote.api.thread.thread.entity.Thread;
 import com.example.coconote.api.thread.threadTag.entity.ThreadTag;
-import io.lettuce.core.dynamic.annotation.Param;
+import com.example.coconote.common.IsDeleted;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,4 +26,15 @@ public interface ThreadTagRepository extends JpaRepository<ThreadTag, Long> {
             @Param("tagCount") Long tagCount);
 
     List<ThreadTag> findByTag_Id(Long id);
+
+    // 태그 비트맵 인덱스 재구성용 (채널 ID, 태그 ID, 쓰레드 ID) - 삭제된 쓰레드/태그 제외
+    @Query("SELECT th.channel.channelId, t.id, th.id FROM ThreadTag tt " +
+            "JOIN tt.thread th " +
+            "JOIN tt.tag t " +
+            "WHERE th.isDeleted = :isDeleted AND t.isDeleted = :isDeleted")
+    List<Object[]> findTagIndexEntries(@Param("isDeleted") IsDeleted isDeleted);
+
+    // 한 페이지 쓰레드들의 태그를 한 번에 조회
+    @Query("SELECT tt FROM ThreadTag tt JOIN FETCH tt.tag WHERE tt.thread.id IN :threadIds")
+    List<ThreadTag> findWithTagByThreadIdIn(@Param("threadIds") List<Long> threadIds);
 }
@@ -1,9 +1,6 @@
 package com.example.coconote.api.thread.threadTag.service;
 
-import com.example.coconote.api.search.dto.EntityType;
-import com.example.coconote.api.search.dto.IndexEntityMessage;
-import com.example.coconote.api.search.entity.ThreadDocument;
-import com.example.coconote.api.search.mapper.ThreadMapper;
+import com.example.coconote.api.search.service.SearchService;
 import com.example.coconote.api.thread.tag.entity.Tag;
 import com.example.coconote.api.thread.tag.repository.TagRepository;
 import com.example.coconote.api.thread.thread.dto.requset.ThreadReqDto;
@@ -11,13 +8,13 @@ import com.example.coconote.api.thread.thread.dto.response.ThreadResDto;
 import com.example.coconote.api.thread.thread.entity.MessageType;
 import com.example.coconote.api.thread.thread.entity.Thread;
 import com.example.coconote.api.thread.thread.repository.ThreadRepository;
+import com.example.coconote.api.thread.threadTag.component.ThreadTagBitmapIndex;
 import com.example.coconote.api.thread.threadTag.dto.ThreadTagReqDto;
 import com.example.coconote.api.thread.threadTag.entity.ThreadTag;
 import com.example.coconote.api.thread.threadTag.repository.ThreadTagRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,27 +27,30 @@ public class ThreadTagService {
     private final ThreadTagRepository threadTagRepository;
     private final ThreadRepository ThreadRepository;
     private final TagRepository tagRepository;
-    private final ThreadMapper threadMapper;
-    private final KafkaTemplate kafkaTemplate;
+    private final SearchService searchService;
+    private final ThreadTagBitmapIndex threadTagBitmapIndex;
 
 
     public void addThreadTag(ThreadTagReqDto dto) {
         Thread thread = ThreadRepository.findById(dto.getThreadId()).get();
         Tag tag = tagRepository.findById(dto.getTagId()).get();
         threadTagRepository.save(new ThreadTag(thread, tag));
-        ThreadDocument document = threadMapper.toDocument(thread);  // toDocument로 미리 변환
-        IndexEntityMessage<ThreadDocument> indexEntityMessage = new IndexEntityMessage<>(thread.getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.THREAD, document);
-        kafkaTemplate.send("thread_entity_search", indexEntityMessage.toJson());
+        threadTagBitmapIndex.addThreadTag(thread.getChannel().getChannelId(), tag.getId(), thread.getId());
+        // 검색 인덱스에는 태그만 추가
+        searchService.addThreadTag(thread.getChannel().getSection().getWorkspace().getWorkspaceId(), thread.getId(),
+                thread.getParent() != null ? thread.getParent().getId() : null, tag.getName());
     }
 
     public void deleteThreadTag(Long id) {
-//        ThreadTag threadTag = findThreadTag(id);
-//        ThreadTagRepository.delete(threadTag);
-        threadTagRepository.deleteById(id);
+        ThreadTag threadTag = findThreadTag(id);
+        threadTagRepository.delete(threadTag);
+        removeTagFromSearchIndex(threadTag);
     }
     public ThreadResDto deleteThreadTag(ThreadReqDto dto) {
         log.info("dto.getThreadTagId() {}", dto.getThreadTagId());
-        threadTagRepository.deleteById(dto.getThreadTagId());
+        ThreadTag threadTag = findThreadTag(dto.getThreadTagId());
+        threadTagRepository.delete(threadTag);
+        removeTagFromSearchIndex(threadTag);
         Thread thread = ThreadRepository.findById(dto.getThreadId()).orElseThrow(()-> new EntityNotFoundException("Thread not found"));
         return ThreadResDto.builder()
                 .type(MessageType.REMOVE_TAG)
@@ -60,6 +60,14 @@ public class ThreadTagService {
                 .channelId(thread.getChannel().getChannelId())
                 .build();
     }
+    // 검색 인덱스와 태그 비트맵 인덱스에서 해당 쓰레드의 태그만 제거
+    private void removeTagFromSearchIndex(ThreadTag threadTag) {
+        Thread thread = threadTag.getThread();
+        threadTagBitmapIndex.removeThreadTag(thread.getChannel().getChannelId(), threadTag.getTag().getId(), thread.getId());
+        searchService.removeThreadTag(thread.getChannel().getSection().getWorkspace().getWorkspaceId(), thread.getId(),
+                thread.getParent() != null ? thread.getParent().getId() : null, threadTag.getTag().getName());
+    }
+
     private ThreadTag findThreadTag(Long id) {
         return threadTagRepository.findById(id).orElseThrow(()->new EntityNotFoundException("threadTag not found"));
     }
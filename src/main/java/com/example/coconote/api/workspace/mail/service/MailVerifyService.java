@@ -6,6 +6,7 @@ import com.example.coconote.api.channel.channelMember.entity.ChannelMember;
 import com.example.coconote.api.channel.channelMember.repository.ChannelMemberRepository;
 import com.example.coconote.api.member.entity.Member;
 import com.example.coconote.api.member.repository.MemberRepository;
+import com.example.coconote.api.search.component.ChannelAclCache;
 import com.example.coconote.api.search.dto.EntityType;
 import com.example.coconote.api.search.dto.IndexEntityMessage;
 import com.example.coconote.api.search.entity.ChannelDocument;
@@ -62,6 +63,7 @@ public class MailVerifyService {
 	private final WorkspaceRepository workspaceRepository;
 	private final WorkspaceMemberMapper workspaceMemberMapper;
 	private final KafkaTemplate<String, Object> kafkaTemplate;
+	private final ChannelAclCache channelAclCache;
 
 	@Value("${spring.mail.auth-code-expiration-millis}")
 	private long authCodeExpirationMillis;
@@ -1282,11 +1284,13 @@ public class MailVerifyService {
 				}
 			}
 		}
+		// 다시 가입한 회원이면 이전 가입 때 캐시된 검색용 채널 ACL 이 남아 있을 수 있다
+		channelAclCache.evictMember(workspace.getWorkspaceId(), member.getId());
 
 
 		WorkspaceMemberDocument document = workspaceMemberMapper.toDocument(workspaceMember);
 		IndexEntityMessage<WorkspaceMemberDocument> indexEntityMessage = new IndexEntityMessage<>(workspace.getWorkspaceId(), EntityType.WORKSPACE_MEMBER , document);
-		kafkaTemplate.send("workspace_member_entity_search", indexEntityMessage.toJson());
+		kafkaTemplate.send("workspace_member_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
 		return workspace.fromEntity();
 	}
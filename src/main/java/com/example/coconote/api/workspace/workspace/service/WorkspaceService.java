@@ -10,6 +10,7 @@ import com.example.coconote.api.channel.channelMember.entity.ChannelRole;
 import com.example.coconote.api.channel.channelMember.service.ChannelMemberService;
 import com.example.coconote.api.member.entity.Member;
 import com.example.coconote.api.member.repository.MemberRepository;
+import com.example.coconote.api.search.component.SearchIndexManager;
 import com.example.coconote.api.search.dto.EntityType;
 import com.example.coconote.api.search.dto.IndexEntityMessage;
 import com.example.coconote.api.search.entity.ChannelDocument;
@@ -52,6 +53,7 @@ public class WorkspaceService {
     private final WorkspaceMemberRepository workspaceMemberRepository;
     private final ChannelMemberService channelMemberService;
     private final SearchService searchService;
+    private final SearchIndexManager searchIndexManager;
     private final ChannelService channelService;
     private final WorkspaceMemberMapper workspaceMemberMapper;
     private final KafkaTemplate<String, Object> kafkaTemplate;
@@ -121,15 +123,15 @@ public class WorkspaceService {
 
         WorkspaceMemberDocument document = workspaceMemberMapper.toDocument(workspaceMember);
         IndexEntityMessage<WorkspaceMemberDocument> indexEntityMessage = new IndexEntityMessage<>(workspaceMember.getWorkspace().getWorkspaceId(), EntityType.WORKSPACE_MEMBER , document);
-        kafkaTemplate.send("workspace_member_entity_search", indexEntityMessage.toJson());
+        kafkaTemplate.send("workspace_member_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
         ChannelDocument document1 = channelMapper.toDocument(channelDefault);
         IndexEntityMessage<ChannelDocument> indexEntityMessage1 = new IndexEntityMessage<>(channelDefault.getSection().getWorkspace().getWorkspaceId(), EntityType.CHANNEL , document1);
-        kafkaTemplate.send("channel_entity_search", indexEntityMessage1.toJson());
+        kafkaTemplate.send("channel_entity_search", String.valueOf(indexEntityMessage1.getWorkspaceId()), indexEntityMessage1);
 
         ChannelDocument document2 = channelMapper.toDocument(channelNotice);
         IndexEntityMessage<ChannelDocument> indexEntityMessage2 = new IndexEntityMessage<>(channelNotice.getSection().getWorkspace().getWorkspaceId(), EntityType.CHANNEL , document2);
-        kafkaTemplate.send("channel_entity_search", indexEntityMessage2.toJson());
+        kafkaTemplate.send("channel_entity_search", String.valueOf(indexEntityMessage2.getWorkspaceId()), indexEntityMessage2);
 
         return workspace.fromEntity();
     }
@@ -189,6 +191,7 @@ public class WorkspaceService {
             throw new IllegalArgumentException("이미 삭제된 워크스페이스입니다.");
         }
         workspace.deleteEntity();
+        searchIndexManager.deleteIndex(id);
     }
 
     public WorkspaceListResDto workspaceFirst(String email) {
@@ -19,4 +19,6 @@ public interface WorkspaceMemberRepository extends JpaRepository<WorkspaceMember
     Optional<WorkspaceMember> findByMemberAndWorkspace(Member member, Workspace workspace);
 
     WorkspaceMember findByWorkspace_WorkspaceIdAndMember_Id(Long workspaceId, Long memberId);
+
+    long countByWorkspace_WorkspaceIdAndIsDeleted(Long workspaceId, IsDeleted isDeleted);
 }
@@ -27,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -75,7 +76,7 @@ public class WorkspaceMemberService {
         // OpenSearch에 인덱싱
         WorkspaceMemberDocument document = workspaceMemberMapper.toDocument(workspaceMember);
         IndexEntityMessage<WorkspaceMemberDocument> indexEntityMessage = new IndexEntityMessage<>(workspace.getWorkspaceId(), EntityType.WORKSPACE_MEMBER , document);
-        kafkaTemplate.send("workspace_member_entity_search", indexEntityMessage.toJson());
+        kafkaTemplate.send("workspace_member_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
         return workspaceMember.fromEntity();
     }
@@ -99,13 +100,22 @@ public class WorkspaceMemberService {
         if(workspaceMember.getIsDeleted().equals(IsDeleted.Y)) {
             throw new IllegalArgumentException("이미 워크스페이스에서 탈퇴한 회원입니다.");
         }
+        String previousNickname = workspaceMember.getNickname();
+        String previousProfileImage = workspaceMember.getProfileImage();
         workspaceMember.updateEntity(dto);
 
         workspaceMemberRepository.save(workspaceMember);
+
+        // 닉네임/프로필 이미지가 바뀌면 쓰레드/캔버스 문서에 비정규화된 작성자 정보도 갱신
+        if (!Objects.equals(previousNickname, workspaceMember.getNickname())
+                || !Objects.equals(previousProfileImage, workspaceMember.getProfileImage())) {
+            searchService.propagateWorkspaceMemberProfile(workspaceMember.getWorkspace().getWorkspaceId(),
+                    workspaceMember.getWorkspaceMemberId(), workspaceMember.getNickname(), workspaceMember.getProfileImage());
+        }
 // OpenSearch에 인덱싱
         WorkspaceMemberDocument document = workspaceMemberMapper.toDocument(workspaceMember);
         IndexEntityMessage<WorkspaceMemberDocument> indexEntityMessage = new IndexEntityMessage<>(workspaceMember.getWorkspace().getWorkspaceId(), EntityType.WORKSPACE_MEMBER , document);
-        kafkaTemplate.send("workspace_member_entity_search", indexEntityMessage.toJson());
+        kafkaTemplate.send("workspace_member_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
         WorkspaceMemberResDto restDto = workspaceMember.fromEntity();
         return restDto;
@@ -0,0 +1,71 @@
+package com.example.coconote.common;
+
+import com.example.coconote.api.search.dto.IndexEntityMessage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 모든 Kafka 프로듀서/리스너가 공유하는 JSON 코덱
+// ObjectMapper 는 한 번만 만들고, 타입별 ObjectReader 를 미리 만들어 재사용한다 (ObjectReader 는 불변이라 스레드 안전)
+@Component
+public class KafkaMessageCodec {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    // 검색 인덱싱 메시지 봉투: entity 는 entityType 을 보고 나중에 문서 타입으로 변환한다
+    private final ObjectReader indexEntityMessageReader =
+            objectMapper.readerFor(new TypeReference<IndexEntityMessage<JsonNode>>() {});
+
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    // KafkaTemplate 의 JsonSerializer 도 같은 설정으로 직렬화하도록 공유
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public <T> T decode(String message, Class<T> type) {
+        try {
+            return reader(type).readValue(message);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decode Kafka message to " + type.getSimpleName(), e);
+        }
+    }
+
+    public <T> T decode(JsonNode node, Class<T> type) {
+        try {
+            return reader(type).readValue(node);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decode Kafka message to " + type.getSimpleName(), e);
+        }
+    }
+
+    // 인덱싱 메시지 파싱
+    // 예전 프로듀서는 toJson() 문자열을 보내서 JSON 문자열로 한 번 더 감싸져 있으므로, 그 경우에만 문자열을 먼저 푼다
+    public IndexEntityMessage<JsonNode> decodeIndexEntityMessage(String message) {
+        try {
+            String json = message.startsWith("\"") ? objectMapper.readValue(message, String.class) : message;
+            return indexEntityMessageReader.readValue(json);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decode IndexEntityMessage", e);
+        }
+    }
+
+    private ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+}
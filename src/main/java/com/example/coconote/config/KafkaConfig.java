@@ -1,6 +1,9 @@
 package com.example.coconote.config;
 
-
+import com.example.coconote.api.search.component.OpenSearchCircuitBreaker;
+import com.example.coconote.common.KafkaMessageCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -20,7 +23,11 @@ import java.util.Map;
 
 @EnableKafka
 @Configuration
+@RequiredArgsConstructor
 public class KafkaConfig {
+    private final KafkaMessageCodec kafkaMessageCodec;
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
@@ -31,8 +38,19 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffSet;
 
-    @Bean
-    public ConsumerFactory<String, String> consumerFactory(){
+    // 검색 인덱싱 배치 크기 (한 번의 poll로 가져올 최대 레코드 수 = 한 번의 _bulk 요청 크기)
+    @Value("${search.indexing.batch-size:500}")
+    private int searchBatchSize;
+
+    // 배치가 다 차지 않아도 이 시간(ms)이 지나면 flush
+    @Value("${search.indexing.batch-wait-ms:500}")
+    private int searchBatchWaitMs;
+
+    // 브로커가 응답하기 전에 모을 최소 바이트 수 (batch-wait-ms와 함께 시간/크기 윈도우를 만든다)
+    @Value("${search.indexing.batch-min-bytes:65536}")
+    private int searchBatchMinBytes;
+
+    private Map<String, Object> consumerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -40,8 +58,25 @@ public class KafkaConfig {
 
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        return props;
+    }
 
-        return new DefaultKafkaConsumerFactory<>(props);
+    @Bean
+    public ConsumerFactory<String, String> consumerFactory(){
+        return new DefaultKafkaConsumerFactory<>(consumerProps());
+    }
+
+    // 검색 인덱싱 전용 ConsumerFactory: 크기/시간 윈도우로 레코드를 모아서 가져온다
+    @Bean
+    public ConsumerFactory<String, String> searchBatchConsumerFactory(){
+        Map<String, Object> props = consumerProps();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, searchBatchSize);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, searchBatchWaitMs);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, searchBatchMinBytes);
+        DefaultKafkaConsumerFactory<String, String> factory = new DefaultKafkaConsumerFactory<>(props);
+        // 컨슈머 클라이언트 지표(kafka.consumer.fetch.manager.records.lag.max 등 오프셋 lag)를 prometheus 로 노출
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
@@ -60,16 +95,37 @@ public class KafkaConfig {
         return factory;
     }
 
+    // *_entity_search 토픽용 배치 리스너 팩토리
+    // 리스너가 BatchListenerFailedException(index)을 던지면 그 이전 레코드까지는 커밋하고, 실패한 레코드부터 다시 시도한다
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> searchBatchListenerContainerFactory(){
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(searchBatchConsumerFactory());
+        factory.setBatchListener(true);
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(
+                new FixedBackOff(3000L, 3)  // 3초 간격으로 3번 재시도
+        );
+        // OpenSearch 장애(차단기 열림, 타임아웃/연결 실패, 429/5xx)로 실패한 경우는 재시도 횟수를 소진해 레코드를 건너뛰지 않도록 무제한으로 기다린다
+        // (차단기가 열리면 컨테이너는 일시 정지되고, 닫히면 재개되어 같은 레코드부터 다시 처리한다)
+        errorHandler.setBackOffFunction((record, exception) ->
+                OpenSearchCircuitBreaker.isUnavailableCause(exception) ? new FixedBackOff(3000L, FixedBackOff.UNLIMITED_ATTEMPTS) : null);
+        factory.setCommonErrorHandler(errorHandler);
+
+        return factory;
+    }
 
 
     @Bean
     public ProducerFactory<String, Object> producerFactory(){
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers); // 서버위치 넣어주는 것
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class); //StringSerializer는, kafka에 있는걸 불러오기
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class); //JsonSerializer도 kafka 안에 있는걸로
 
-        return new DefaultKafkaProducerFactory<>(configProps);
+        // 값은 리스너와 같은 ObjectMapper 설정으로 직렬화 (타입 헤더 없이 JSON 본문만 보낸다)
+        JsonSerializer<Object> valueSerializer = new JsonSerializer<>(kafkaMessageCodec.getObjectMapper());
+        valueSerializer.setAddTypeInfo(false);
+
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), valueSerializer);
     }
 
     @Bean // 템플릿 제작
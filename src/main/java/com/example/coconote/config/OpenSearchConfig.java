@@ -15,6 +15,7 @@ import org.opensearch.client.transport.rest_client.RestClientTransport;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class OpenSearchConfig {
@@ -28,6 +29,21 @@ public class OpenSearchConfig {
     @Value("${spring.opensearch.password}")
     private String password;
 
+    // 호출별 타임아웃: OpenSearch 가 느려져도 요청 스레드가 기본값(30초)까지 묶이지 않도록 짧게 둔다
+    @Value("${spring.opensearch.connect-timeout-ms:1000}")
+    private int connectTimeoutMs;
+
+    @Value("${spring.opensearch.socket-timeout-ms:5000}")
+    private int socketTimeoutMs;
+
+    // 통합 검색 fan-out 전용 스레드 풀 (요청당 카테고리 5개를 동시에 실행)
+    @Value("${search.all.threads:20}")
+    private int searchAllThreads;
+
+    // 풀이 밀리면 큐에 무한히 쌓지 않고 거절 -> 해당 카테고리는 부분 결과로 처리
+    @Value("${search.all.queue-capacity:100}")
+    private int searchAllQueueCapacity;
+
 
     @Bean
     public OpenSearchClient openSearchClient() {
@@ -38,6 +54,9 @@ public class OpenSearchConfig {
         );
 
         RestClientBuilder builder = RestClient.builder(new HttpHost(host, 443, "https"))
+                .setRequestConfigCallback(requestConfigBuilder -> requestConfigBuilder
+                        .setConnectTimeout(connectTimeoutMs)
+                        .setSocketTimeout(socketTimeoutMs))
                 .setHttpClientConfigCallback(httpAsyncClientBuilder -> httpAsyncClientBuilder
                         .setDefaultCredentialsProvider(credentialsProvider)
                         .setDefaultIOReactorConfig(IOReactorConfig.custom()
@@ -47,4 +66,16 @@ public class OpenSearchConfig {
         RestClient restClient = builder.build();
         return new OpenSearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper(new ObjectMapper())));
     }
+
+    // 컨텍스트가 관리하는 풀: 스레드 이름(search-all-N), executor 지표(actuator), 종료 시 shutdown 이 함께 처리된다
+    @Bean
+    public ThreadPoolTaskExecutor searchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(searchAllThreads);
+        executor.setMaxPoolSize(searchAllThreads);
+        executor.setQueueCapacity(searchAllQueueCapacity);
+        executor.setThreadNamePrefix("search-all-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
 }
@@ -1,6 +1,8 @@
 package com.example.coconote.config;
 
+import com.example.coconote.api.canvas.canvas.service.CanvasEditService;
 import com.example.coconote.api.sse.NotificationMessageListener;
+import com.example.coconote.api.thread.threadTag.component.ThreadTagBitmapIndex;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +11,7 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
@@ -87,11 +90,17 @@ public class RedisConfig {
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(
             RedisConnectionFactory notificationRedisConnectionFactory,
-            MessageListenerAdapter messageListenerAdapter) {
+            MessageListenerAdapter messageListenerAdapter,
+            ThreadTagBitmapIndex threadTagBitmapIndex,
+            CanvasEditService canvasEditService) {
 
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(notificationRedisConnectionFactory);
         container.addMessageListener(messageListenerAdapter, new PatternTopic("notification-channel"));
+        // 다른 인스턴스의 쓰레드 태그 변경 (pub/sub 채널은 DB 번호와 상관없이 공유된다)
+        container.addMessageListener(threadTagBitmapIndex, new ChannelTopic(ThreadTagBitmapIndex.TOPIC));
+        // 다른 인스턴스가 넘긴 캔버스 블록 편집과 그 응답
+        container.addMessageListener(canvasEditService, new ChannelTopic(CanvasEditService.TOPIC));
         return container;
     }
 
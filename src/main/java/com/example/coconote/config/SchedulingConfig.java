@@ -0,0 +1,26 @@
+package com.example.coconote.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class SchedulingConfig {
+
+    // @Scheduled 작업 전용 스케줄러
+    // 이 빈이 없으면 @EnableScheduling 이 WebSocket 브로커의 스케줄러(또는 단일 스레드)를 함께 쓰게 되어,
+    // 오래 걸리는 작업 하나가 캔버스 세션 flush 같은 짧은 주기 작업을 밀어낸다
+    @Value("${scheduler.pool-size:4}")
+    private int poolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduled-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.coconote.config.reindexConfig;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.batch.item.data.AbstractPaginatedDataItemReader;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// id 기준 keyset 페이징 리더 (WHERE id > :lastId ORDER BY id, LIMIT pageSize)
+// OFFSET 페이징과 달리 뒤쪽 페이지도 PK 인덱스로 바로 찾아가고, 읽는 도중 행이 추가/삭제돼도 건너뛰거나 중복되지 않는다
+// 청크 트랜잭션의 EntityManager 로 읽으므로 pageSize 는 청크 크기와 같게 둬야 processor 에서 지연 로딩이 된다
+public class KeysetPagingItemReader<T> extends AbstractPaginatedDataItemReader<T> {
+
+    private final EntityManager entityManager;
+    private final String queryString;
+    private final Map<String, Object> parameterValues;
+    private final Class<T> type;
+    private final Function<T, Long> idExtractor;
+
+    private Long lastId = 0L;
+
+    public KeysetPagingItemReader(String name, EntityManager entityManager, String queryString, Map<String, Object> parameterValues,
+                                  Class<T> type, Function<T, Long> idExtractor, int pageSize) {
+        this.entityManager = entityManager;
+        this.queryString = queryString;
+        this.parameterValues = parameterValues;
+        this.type = type;
+        this.idExtractor = idExtractor;
+        setName(name);
+        setPageSize(pageSize);
+        setSaveState(false); // 재시작하면 처음부터 다시 읽는다
+    }
+
+    @Override
+    protected Iterator<T> doPageRead() {
+        TypedQuery<T> query = entityManager.createQuery(queryString, type)
+                .setParameter("lastId", lastId)
+                .setMaxResults(pageSize);
+        parameterValues.forEach(query::setParameter);
+
+        List<T> items = query.getResultList();
+        if (!items.isEmpty()) {
+            lastId = idExtractor.apply(items.get(items.size() - 1));
+        }
+        return items.iterator();
+    }
+}
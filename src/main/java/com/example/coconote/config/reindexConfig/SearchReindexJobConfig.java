@@ -0,0 +1,508 @@
+package com.example.coconote.config.reindexConfig;
+
+import com.example.coconote.api.canvas.block.entity.Block;
+import com.example.coconote.api.canvas.canvas.entity.Canvas;
+import com.example.coconote.api.channel.channel.entity.Channel;
+import com.example.coconote.api.search.component.SearchIndexManager;
+import com.example.coconote.api.search.component.SearchResultCache;
+import com.example.coconote.api.search.dto.EntityType;
+import com.example.coconote.api.search.mapper.CanvasBlockMapper;
+import com.example.coconote.api.search.mapper.ChannelMapper;
+import com.example.coconote.api.search.mapper.FileEntityMapper;
+import com.example.coconote.api.search.mapper.ThreadMapper;
+import com.example.coconote.api.search.mapper.WorkspaceMemberMapper;
+import com.example.coconote.api.search.service.SearchService;
+import com.example.coconote.api.thread.thread.entity.Thread;
+import com.example.coconote.api.workspace.workspaceMember.entity.WorkspaceMember;
+import com.example.coconote.common.IsDeleted;
+import com.example.coconote.global.fileUpload.entity.FileEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// 워크스페이스 검색 인덱스 재색인 Job
+// FULL: 새 버전 인덱스(workspace_{id}_v{ts})에 MariaDB 데이터를 전부 적재한 뒤 workspace_{id} alias 를 한 번에 전환 (무중단)
+// FULL 적재 중에는 인덱싱 컨슈머가 실시간 변경을 새 버전 인덱스에도 같이 쓰고(SearchIndexManager#writeIndexes),
+// 적재가 끝난 뒤에 읽은 행과 겹친 변경은 다음 INCREMENTAL 이 시작 시각 기준으로 다시 반영한다
+// INCREMENTAL: 마지막 재색인 이후 updatedTime 이 바뀐 행만 현재 alias 에 다시 반영 (야간 드리프트 보정)
+//              DB 에서 행이 아예 지워진(hard delete) 문서는 updatedTime 으로 찾을 수 없으므로 prune 스텝에서 따로 지운다
+// Job 파라미터: workspaceId(필수), mode(FULL / INCREMENTAL, 기본 FULL)
+@Slf4j
+@Configuration
+public class SearchReindexJobConfig {
+
+    public static final String JOB_NAME = "searchReindexJob";
+    public static final String MODE_FULL = "FULL";
+    public static final String MODE_INCREMENTAL = "INCREMENTAL";
+
+    // keyset 페이지 크기 = 청크 크기 = _bulk 한 번의 문서 수
+    private static final int CHUNK_SIZE = 500;
+    // 워크스페이스별 마지막 재색인 시작 시각 (다음 INCREMENTAL 실행의 기준)
+    private static final String WATERMARK_KEY_PREFIX = "search:reindex:watermark:";
+    // prune 스텝이 훑는 문서 타입 -> DB 엔티티 (문서 ID 는 {prefix}_{엔티티 id})
+    private static final List<PruneTarget> PRUNE_TARGETS = List.of(
+            new PruneTarget(EntityType.CHANNEL, "Channel", "channelId"),
+            new PruneTarget(EntityType.WORKSPACE_MEMBER, "WorkspaceMember", "workspaceMemberId"),
+            new PruneTarget(EntityType.THREAD, "Thread", "id"),
+            new PruneTarget(EntityType.FILE, "FileEntity", "id"),
+            new PruneTarget(EntityType.CANVAS, "Canvas", "id"),
+            new PruneTarget(EntityType.BLOCK, "Block", "id")
+    );
+
+    @Value("${search.reindex.threads:1}")
+    private int reindexThreads;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private OpenSearchClient openSearchClient;
+
+    @Autowired
+    private SearchIndexManager searchIndexManager;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ThreadMapper threadMapper;
+
+    @Autowired
+    private CanvasBlockMapper canvasBlockMapper;
+
+    @Autowired
+    private FileEntityMapper fileEntityMapper;
+
+    @Autowired
+    private ChannelMapper channelMapper;
+
+    @Autowired
+    private WorkspaceMemberMapper workspaceMemberMapper;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    // 재색인 Job 실행기: 스케줄러 스레드를 붙잡지 않도록 Job 은 여기서 돌고, 워크스페이스별 Job 은 큐에서 차례로 실행된다
+    @Bean
+    public ThreadPoolTaskExecutor searchReindexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reindexThreads);
+        executor.setMaxPoolSize(reindexThreads);
+        executor.setThreadNamePrefix("search-reindex-");
+        return executor;
+    }
+
+    @Bean
+    public Job searchReindexJob() {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .listener(reindexFailureListener())
+                .start(reindexPrepareStep())
+                .next(reindexStep("reindexChannelStep", channelReindexReader(null, null), channelReindexProcessor(null, null)))
+                .next(reindexStep("reindexWorkspaceMemberStep", workspaceMemberReindexReader(null, null), workspaceMemberReindexProcessor(null, null)))
+                .next(reindexStep("reindexThreadStep", threadReindexReader(null, null), threadReindexProcessor(null, null)))
+                .next(reindexStep("reindexFileStep", fileReindexReader(null, null), fileReindexProcessor(null, null)))
+                .next(reindexStep("reindexCanvasStep", canvasReindexReader(null, null), canvasReindexProcessor(null, null)))
+                .next(reindexStep("reindexBlockStep", blockReindexReader(null, null), blockReindexProcessor(null, null)))
+                .next(reindexPruneStep())
+                .next(reindexFinishStep())
+                .build();
+    }
+
+    // 1. 모드 결정: 대상 인덱스와 기준 시각(since)을 Job ExecutionContext 에 넣는다
+    @Bean
+    public Step reindexPrepareStep() {
+        return new StepBuilder("reindexPrepareStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    Map<String, Object> params = chunkContext.getStepContext().getJobParameters();
+                    Long workspaceId = (Long) params.get("workspaceId");
+                    if (workspaceId == null) {
+                        throw new IllegalArgumentException("workspaceId 파라미터가 필요합니다.");
+                    }
+                    String mode = params.get("mode") != null ? params.get("mode").toString() : MODE_FULL;
+                    ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution().getJobExecution().getExecutionContext();
+
+                    Object watermark = redisTemplate.opsForValue().get(watermarkKey(workspaceId));
+                    boolean full = !MODE_INCREMENTAL.equals(mode) || watermark == null; // 기준 시각이 없으면 전체 재색인
+                    String targetIndex = full ? searchIndexManager.createVersionedIndex(workspaceId) : searchIndexManager.getIndexName(workspaceId);
+                    if (full) {
+                        searchIndexManager.startReindexWrites(workspaceId, targetIndex);
+                    }
+
+                    jobContext.putString("targetIndex", targetIndex);
+                    jobContext.putString("full", String.valueOf(full));
+                    jobContext.putString("startedAt", LocalDateTime.now().toString());
+                    if (!full) {
+                        jobContext.putString("since", watermark.toString());
+                    }
+                    log.info("Search reindex prepared - workspace: {}, mode: {}, target: {}, since: {}",
+                            workspaceId, full ? MODE_FULL : MODE_INCREMENTAL, targetIndex, full ? null : watermark);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    // 3. INCREMENTAL: DB 에서 행이 지워진 문서 정리
+    // 문서 타입별로 인덱스의 문서 ID 를 docId 순서로 훑고, 한 페이지의 id 중 DB 에 없는 것만 지운다
+    // (FULL 은 DB 에 있는 행만 새 인덱스에 적재하므로 건너뛴다)
+    @Bean
+    public Step reindexPruneStep() {
+        return new StepBuilder("reindexPruneStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution().getJobExecution().getExecutionContext();
+                    if (Boolean.parseBoolean(jobContext.getString("full"))) {
+                        return RepeatStatus.FINISHED;
+                    }
+                    String index = jobContext.getString("targetIndex");
+                    for (PruneTarget target : PRUNE_TARGETS) {
+                        long pruned = pruneMissing(index, target);
+                        if (pruned > 0) {
+                            log.info("Search reindex pruned {} {} documents from {}", pruned, target.entityType().getValue(), index);
+                        }
+                    }
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    // 4. FULL 이면 alias 전환, 마지막으로 다음 INCREMENTAL 기준 시각 저장
+    @Bean
+    public Step reindexFinishStep() {
+        return new StepBuilder("reindexFinishStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    Long workspaceId = (Long) chunkContext.getStepContext().getJobParameters().get("workspaceId");
+                    ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution().getJobExecution().getExecutionContext();
+                    if (Boolean.parseBoolean(jobContext.getString("full"))) {
+                        // 전환 후에 이중 쓰기를 끈다 (전환 전에 끄면 그 사이 변경이 새 인덱스에 빠진다)
+                        searchIndexManager.swapAlias(workspaceId, jobContext.getString("targetIndex"));
+                        searchIndexManager.stopReindexWrites(workspaceId);
+                    } else {
+                        // INCREMENTAL 은 refresh 없이 적재했으므로, 캐시 세대를 올리기 전에 반영분이 검색에 보이게 한다
+                        openSearchClient.indices().refresh(r -> r.index(jobContext.getString("targetIndex")));
+                    }
+                    // 재색인으로 바뀐 문서가 바로 보이도록 검색 결과 캐시 무효화
+                    searchResultCache.invalidate(workspaceId);
+                    // 종료 시각이 아니라 시작 시각을 저장: 적재하는 동안 바뀐 행은 다음 INCREMENTAL 에서 다시 반영된다
+                    redisTemplate.opsForValue().set(watermarkKey(workspaceId), jobContext.getString("startedAt"));
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    // FULL 재색인이 중간에 실패하면 alias 는 그대로 두고 적재 중이던 버전 인덱스만 지운다
+    @Bean
+    public JobExecutionListener reindexFailureListener() {
+        return new JobExecutionListener() {
+            @Override
+            public void afterJob(JobExecution jobExecution) {
+                ExecutionContext jobContext = jobExecution.getExecutionContext();
+                if (ExitStatus.COMPLETED.getExitCode().equals(jobExecution.getExitStatus().getExitCode())
+                        || !Boolean.parseBoolean(jobContext.getString("full", "false"))) {
+                    return;
+                }
+                log.warn("Search reindex failed, dropping partial index: {}", jobContext.getString("targetIndex"));
+                searchIndexManager.stopReindexWrites(jobExecution.getJobParameters().getLong("workspaceId"));
+                searchIndexManager.deleteVersionedIndex(jobContext.getString("targetIndex"));
+            }
+        };
+    }
+
+    // 2. 엔티티별 적재 스텝: keyset 페이지 -> BulkOperation -> _bulk
+    private <T> Step reindexStep(String name, ItemReader<T> reader, ItemProcessor<T, BulkOperation> processor) {
+        return new StepBuilder(name, jobRepository)
+                .<T, BulkOperation>chunk(CHUNK_SIZE, transactionManager)
+                .reader(reader)
+                .processor(processor)
+                .writer(searchReindexWriter())
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public KeysetPagingItemReader<Channel> channelReindexReader(
+            @Value("#{jobParameters['workspaceId']}") Long workspaceId,
+            @Value("#{jobExecutionContext['since']}") String since) {
+        return reader("channelReindexReader", "Channel", "channelId", "e.section.workspace.workspaceId",
+                Channel.class, Channel::getChannelId, workspaceId, since);
+    }
+
+    @Bean
+    @StepScope
+    public ItemProcessor<Channel, BulkOperation> channelReindexProcessor(
+            @Value("#{jobExecutionContext['targetIndex']}") String targetIndex,
+            @Value("#{jobExecutionContext['full']}") String full) {
+        return processor(targetIndex, full, EntityType.CHANNEL, Channel::getChannelId,
+                channel -> channel.getIsDeleted() == IsDeleted.Y,
+                channelMapper::toDocument);
+    }
+
+    @Bean
+    @StepScope
+    public KeysetPagingItemReader<WorkspaceMember> workspaceMemberReindexReader(
+            @Value("#{jobParameters['workspaceId']}") Long workspaceId,
+            @Value("#{jobExecutionContext['since']}") String since) {
+        return reader("workspaceMemberReindexReader", "WorkspaceMember", "workspaceMemberId", "e.workspace.workspaceId",
+                WorkspaceMember.class, WorkspaceMember::getWorkspaceMemberId, workspaceId, since);
+    }
+
+    @Bean
+    @StepScope
+    public ItemProcessor<WorkspaceMember, BulkOperation> workspaceMemberReindexProcessor(
+            @Value("#{jobExecutionContext['targetIndex']}") String targetIndex,
+            @Value("#{jobExecutionContext['full']}") String full) {
+        return processor(targetIndex, full, EntityType.WORKSPACE_MEMBER, WorkspaceMember::getWorkspaceMemberId,
+                workspaceMember -> workspaceMember.getIsDeleted() == IsDeleted.Y,
+                workspaceMemberMapper::toDocument);
+    }
+
+    @Bean
+    @StepScope
+    public KeysetPagingItemReader<Thread> threadReindexReader(
+            @Value("#{jobParameters['workspaceId']}") Long workspaceId,
+            @Value("#{jobExecutionContext['since']}") String since) {
+        return reader("threadReindexReader", "Thread", "id", "e.channel.section.workspace.workspaceId",
+                Thread.class, Thread::getId, workspaceId, since);
+    }
+
+    @Bean
+    @StepScope
+    public ItemProcessor<Thread, BulkOperation> threadReindexProcessor(
+            @Value("#{jobExecutionContext['targetIndex']}") String targetIndex,
+            @Value("#{jobExecutionContext['full']}") String full) {
+        return processor(targetIndex, full, EntityType.THREAD, Thread::getId,
+                thread -> thread.getIsDeleted() == IsDeleted.Y || thread.getChannel().getIsDeleted() == IsDeleted.Y,
+                threadMapper::toDocument);
+    }
+
+    @Bean
+    @StepScope
+    public KeysetPagingItemReader<FileEntity> fileReindexReader(
+            @Value("#{jobParameters['workspaceId']}") Long workspaceId,
+            @Value("#{jobExecutionContext['since']}") String since) {
+        return reader("fileReindexReader", "FileEntity", "id", "e.folder.channel.section.workspace.workspaceId",
+                FileEntity.class, FileEntity::getId, workspaceId, since);
+    }
+
+    @Bean
+    @StepScope
+    public ItemProcessor<FileEntity, BulkOperation> fileReindexProcessor(
+            @Value("#{jobExecutionContext['targetIndex']}") String targetIndex,
+            @Value("#{jobExecutionContext['full']}") String full) {
+        return processor(targetIndex, full, EntityType.FILE, FileEntity::getId,
+                file -> file.getIsDeleted() == IsDeleted.Y || file.getFolder().getChannel().getIsDeleted() == IsDeleted.Y,
+                fileEntityMapper::toDocument);
+    }
+
+    @Bean
+    @StepScope
+    public KeysetPagingItemReader<Canvas> canvasReindexReader(
+            @Value("#{jobParameters['workspaceId']}") Long workspaceId,
+            @Value("#{jobExecutionContext['since']}") String since) {
+        return reader("canvasReindexReader", "Canvas", "id", "e.channel.section.workspace.workspaceId",
+                Canvas.class, Canvas::getId, workspaceId, since);
+    }
+
+    @Bean
+    @StepScope
+    public ItemProcessor<Canvas, BulkOperation> canvasReindexProcessor(
+            @Value("#{jobExecutionContext['targetIndex']}") String targetIndex,
+            @Value("#{jobExecutionContext['full']}") String full) {
+        return processor(targetIndex, full, EntityType.CANVAS, Canvas::getId,
+                canvas -> canvas.getIsDeleted() == IsDeleted.Y || canvas.getChannel().getIsDeleted() == IsDeleted.Y,
+                canvasBlockMapper::toDocument);
+    }
+
+    @Bean
+    @StepScope
+    public KeysetPagingItemReader<Block> blockReindexReader(
+            @Value("#{jobParameters['workspaceId']}") Long workspaceId,
+            @Value("#{jobExecutionContext['since']}") String since) {
+        return reader("blockReindexReader", "Block", "id", "e.canvas.channel.section.workspace.workspaceId",
+                Block.class, Block::getId, workspaceId, since);
+    }
+
+    @Bean
+    @StepScope
+    public ItemProcessor<Block, BulkOperation> blockReindexProcessor(
+            @Value("#{jobExecutionContext['targetIndex']}") String targetIndex,
+            @Value("#{jobExecutionContext['full']}") String full) {
+        return processor(targetIndex, full, EntityType.BLOCK, Block::getId,
+                block -> block.getIsDeleted() == IsDeleted.Y || block.getCanvas().getIsDeleted() == IsDeleted.Y
+                        || block.getCanvas().getChannel().getIsDeleted() == IsDeleted.Y,
+                canvasBlockMapper::toDocument);
+    }
+
+    // 청크 하나를 _bulk 한 번으로 전송, 429/5xx 가 있으면 스텝을 실패시킨다 (FULL 은 alias 를 바꾸지 않은 채 끝난다)
+    @Bean
+    public ItemWriter<BulkOperation> searchReindexWriter() {
+        return chunk -> {
+            List<BulkOperation> operations = new ArrayList<>(chunk.getItems());
+            if (operations.isEmpty()) {
+                return;
+            }
+            BulkResponse response;
+            try {
+                response = openSearchClient.bulk(b -> b.operations(operations));
+            } catch (IOException e) {
+                throw new RuntimeException("OpenSearch 재색인 bulk 요청 중 오류가 발생했습니다.", e);
+            }
+            if (!response.errors()) {
+                return;
+            }
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() == null) {
+                    continue;
+                }
+                log.error("Reindex item failed - index: {}, id: {}, status: {}, reason: {}",
+                        item.index(), item.id(), item.status(), item.error().reason());
+                if (item.status() == 429 || item.status() >= 500) {
+                    throw new RuntimeException("OpenSearch 재색인 bulk 요청 일부가 실패했습니다.");
+                }
+            }
+        };
+    }
+
+    // FULL: 삭제되지 않은 행 전체, INCREMENTAL: since 이후 수정된 행 (삭제된 행 포함 -> delete 작업으로 반영)
+    private <T> KeysetPagingItemReader<T> reader(String name, String entityName, String idField, String workspacePath,
+                                                 Class<T> type, Function<T, Long> idExtractor, Long workspaceId, String since) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("workspaceId", workspaceId);
+        StringBuilder query = new StringBuilder("SELECT e FROM ").append(entityName).append(" e")
+                .append(" WHERE ").append(workspacePath).append(" = :workspaceId")
+                .append(" AND e.").append(idField).append(" > :lastId");
+        if (since == null) {
+            query.append(" AND e.isDeleted = :notDeleted");
+            params.put("notDeleted", IsDeleted.N);
+        } else {
+            query.append(" AND e.updatedTime > :since");
+            params.put("since", LocalDateTime.parse(since));
+        }
+        query.append(" ORDER BY e.").append(idField);
+        return new KeysetPagingItemReader<>(name, entityManager, query.toString(), params, type, idExtractor, CHUNK_SIZE);
+    }
+
+    // 삭제됐거나 상위(채널/캔버스)가 삭제된 행: FULL 은 건너뛰고, INCREMENTAL 은 문서를 지운다
+    private <T> ItemProcessor<T, BulkOperation> processor(String targetIndex, String full, EntityType entityType,
+                                                          Function<T, Long> idExtractor, Predicate<T> removed,
+                                                          Function<T, Object> toDocument) {
+        boolean fullMode = Boolean.parseBoolean(full);
+        return entity -> {
+            if (removed.test(entity)) {
+                return fullMode ? null : searchService.reindexDeleteOperation(targetIndex, entityType, idExtractor.apply(entity));
+            }
+            return searchService.reindexOperation(targetIndex, entityType, idExtractor.apply(entity), toDocument.apply(entity));
+        };
+    }
+
+    private long pruneMissing(String index, PruneTarget target) {
+        String existingIdsQuery = "SELECT e." + target.idField() + " FROM " + target.entityName() + " e WHERE e." + target.idField() + " IN :ids";
+        long pruned = 0;
+        List<String> searchAfter = null;
+        while (true) {
+            List<String> after = searchAfter;
+            SearchResponse<JsonData> response;
+            try {
+                response = openSearchClient.search(s -> {
+                    s.index(index)
+                            .size(CHUNK_SIZE)
+                            .source(src -> src.fetch(false))
+                            .query(q -> q.term(t -> t.field("docType").value(FieldValue.of(target.entityType().getValue()))))
+                            .sort(so -> so.field(f -> f.field("docId").order(SortOrder.Asc)));
+                    if (after != null) {
+                        s.searchAfter(after);
+                    }
+                    return s;
+                }, JsonData.class);
+            } catch (IOException e) {
+                throw new RuntimeException("OpenSearch 재색인 정리 조회 중 오류가 발생했습니다.", e);
+            }
+
+            List<Hit<JsonData>> hits = response.hits().hits();
+            if (hits.isEmpty()) {
+                return pruned;
+            }
+            Map<Long, String> documentIds = new HashMap<>(); // 엔티티 id -> 문서 ID
+            for (Hit<JsonData> hit : hits) {
+                try {
+                    documentIds.put(Long.parseLong(hit.id().substring(hit.id().lastIndexOf('_') + 1)), hit.id());
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping document with unexpected id during prune: {}", hit.id());
+                }
+            }
+            if (!documentIds.isEmpty()) {
+                entityManager.createQuery(existingIdsQuery, Long.class)
+                        .setParameter("ids", documentIds.keySet())
+                        .getResultList()
+                        .forEach(documentIds::remove);
+            }
+            if (!documentIds.isEmpty()) {
+                List<BulkOperation> deletes = new ArrayList<>();
+                documentIds.keySet().forEach(id -> deletes.add(searchService.reindexDeleteOperation(index, target.entityType(), id)));
+                try {
+                    openSearchClient.bulk(b -> b.operations(deletes));
+                } catch (IOException e) {
+                    throw new RuntimeException("OpenSearch 재색인 정리 bulk 요청 중 오류가 발생했습니다.", e);
+                }
+                pruned += deletes.size();
+            }
+            if (hits.size() < CHUNK_SIZE) {
+                return pruned;
+            }
+            searchAfter = hits.get(hits.size() - 1).sort();
+        }
+    }
+
+    private record PruneTarget(EntityType entityType, String entityName, String idField) {
+    }
+
+    private String watermarkKey(Long workspaceId) {
+        return WATERMARK_KEY_PREFIX + workspaceId;
+    }
+}
@@ -185,7 +185,7 @@ public class S3Service {
             // OpenSearch에 인덱싱
             FileEntityDocument document = fileEntityMapper.toDocument(fileEntity);
             IndexEntityMessage<FileEntityDocument> indexEntityMessage = new IndexEntityMessage<>(workspace.getWorkspaceId(), EntityType.FILE, document);
-            kafkaTemplate.send("file_entity_search", indexEntityMessage.toJson());
+            kafkaTemplate.send("file_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
         });
 
         return savedEntities.stream()
@@ -262,7 +262,7 @@ public class S3Service {
 
         FileEntityDocument document = fileEntityMapper.toDocument(fileEntity);
         IndexEntityMessage<FileEntityDocument> indexEntityMessage = new IndexEntityMessage<>(fileEntity.getFolder().getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.FILE, document);
-        kafkaTemplate.send("file_entity_search", indexEntityMessage.toJson());
+        kafkaTemplate.send("file_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
         return MoveFileResDto.builder()
                 .fileId(fileEntity.getId())
@@ -344,7 +344,7 @@ public class S3Service {
         // 인덱싱 업데이트
         FileEntityDocument document = fileEntityMapper.toDocument(fileEntity);
         IndexEntityMessage<FileEntityDocument> indexEntityMessage = new IndexEntityMessage<>(fileEntity.getFolder().getChannel().getSection().getWorkspace().getWorkspaceId(), EntityType.FILE, document);
-        kafkaTemplate.send("file_entity_search", indexEntityMessage.toJson());
+        kafkaTemplate.send("file_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
     }
 
     @Transactional
@@ -355,8 +355,8 @@ public class S3Service {
         workspaceMemberRepository.save(workspaceMember);
 
         WorkspaceMemberDocument document = workspaceMemberMapper.toDocument(workspaceMember);
-        IndexEntityMessage<WorkspaceMemberDocument> indexEntityMessage = new IndexEntityMessage<>(workspaceMember.getWorkspace().getWorkspaceId(), EntityType.FILE, document);
-        kafkaTemplate.send("workspace_member_entity_search", indexEntityMessage.toJson());
+        IndexEntityMessage<WorkspaceMemberDocument> indexEntityMessage = new IndexEntityMessage<>(workspaceMember.getWorkspace().getWorkspaceId(), EntityType.WORKSPACE_MEMBER, document);
+        kafkaTemplate.send("workspace_member_entity_search", String.valueOf(indexEntityMessage.getWorkspaceId()), indexEntityMessage);
 
         return workspaceMember.fromEntity();
     }
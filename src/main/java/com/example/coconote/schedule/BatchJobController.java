@@ -1,6 +1,6 @@
 package com.example.coconote.schedule;
 
-
+import com.example.coconote.config.reindexConfig.SearchReindexJobConfig;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
@@ -21,6 +21,9 @@ public class BatchJobController {
     @Autowired
     private Job canvasCleanupJob;
 
+    @Autowired
+    private SearchReindexScheduler searchReindexScheduler;
+
     @PostMapping("/trigger")
     public ResponseEntity<String> triggerJob() {
         try {
@@ -35,4 +38,16 @@ public class BatchJobController {
             return ResponseEntity.status(500).body("Failed to trigger job: " + e.getMessage());
         }
     }
+
+    // 워크스페이스 검색 인덱스 재색인 (mode: FULL / INCREMENTAL)
+    @PostMapping("/search-reindex")
+    public ResponseEntity<String> triggerSearchReindex(@RequestParam Long workspaceId,
+                                                       @RequestParam(defaultValue = SearchReindexJobConfig.MODE_FULL) String mode) {
+        try {
+            searchReindexScheduler.launch(workspaceId, mode);
+            return ResponseEntity.ok("Search reindex job triggered successfully");
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Failed to trigger job: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package com.example.coconote.schedule;
+
+import com.example.coconote.api.workspace.workspace.entity.Workspace;
+import com.example.coconote.api.workspace.workspace.repository.WorkspaceRepository;
+import com.example.coconote.common.IsDeleted;
+import com.example.coconote.config.reindexConfig.SearchReindexJobConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+@Slf4j
+@Component
+public class SearchReindexScheduler {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    @Qualifier("searchReindexExecutor")
+    private ThreadPoolTaskExecutor searchReindexExecutor;
+
+    @Autowired
+    private Job searchReindexJob;
+
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+
+    // 재색인 Job 은 전용 실행기에서 돌린다: 스케줄러 스레드와 API 요청 스레드는 Job 을 큐에 넣고 바로 돌아온다
+    private TaskExecutorJobLauncher jobLauncher;
+
+    @PostConstruct
+    public void init() throws Exception {
+        jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(searchReindexExecutor);
+        jobLauncher.afterPropertiesSet();
+    }
+
+    // 매일 새벽 3시, 워크스페이스마다 마지막 재색인 이후 바뀐 데이터만 다시 반영 (검색 인덱스 드리프트 보정)
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void runIncrementalSearchReindex() {
+        for (Workspace workspace : workspaceRepository.findAll()) {
+            if (workspace.getIsDeleted() == IsDeleted.Y) {
+                continue;
+            }
+            try {
+                launch(workspace.getWorkspaceId(), SearchReindexJobConfig.MODE_INCREMENTAL);
+            } catch (Exception e) {
+                // 한 워크스페이스가 실패해도 나머지는 계속 진행
+                log.error("Incremental search reindex failed - workspace: {}", workspace.getWorkspaceId(), e);
+            }
+        }
+    }
+
+    public void launch(Long workspaceId, String mode) throws Exception {
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLong("workspaceId", workspaceId)
+                .addString("mode", mode)
+                .addDate("date", new Date())
+                .toJobParameters();
+        jobLauncher.run(searchReindexJob, jobParameters);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.coconote.api.canvas.block.service;
+
+import com.example.coconote.api.canvas.block.dto.request.BlockContentDelta;
+import com.example.coconote.api.canvas.canvas.dto.request.CanvasSocketReqDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockDeltasTest {
+
+    @Test
+    void fullContentsMessageReplacesContents() {
+        CanvasSocketReqDto message = CanvasSocketReqDto.builder().blockContents("<p>new</p>").build();
+
+        assertThat(BlockDeltas.apply("<p>old</p>", 3, message)).isEqualTo("<p>new</p>");
+    }
+
+    @Test
+    void appliesSplicesInOrderAgainstMatchingBaseVersion() {
+        CanvasSocketReqDto message = deltaMessage(2L,
+                new BlockContentDelta(5, 0, " world"),
+                new BlockContentDelta(0, 1, "H"));
+
+        assertThat(BlockDeltas.apply("hello", 2, message)).isEqualTo("Hello world");
+    }
+
+    @Test
+    void treatsNullContentsAsEmpty() {
+        CanvasSocketReqDto message = deltaMessage(0L, new BlockContentDelta(0, 0, "a"));
+
+        assertThat(BlockDeltas.apply(null, 0, message)).isEqualTo("a");
+    }
+
+    @Test
+    void rejectsStaleOrMissingBaseVersion() {
+        assertThat(BlockDeltas.apply("abc", 5, deltaMessage(4L, new BlockContentDelta(0, 0, "x")))).isNull();
+        assertThat(BlockDeltas.apply("abc", 5, deltaMessage(null, new BlockContentDelta(0, 0, "x")))).isNull();
+    }
+
+    @Test
+    void rejectsOutOfRangeSplices() {
+        assertThat(BlockDeltas.apply("abc", 1, deltaMessage(1L, new BlockContentDelta(2, 2, "")))).isNull();
+        assertThat(BlockDeltas.apply("abc", 1, deltaMessage(1L, new BlockContentDelta(-1, 0, "x")))).isNull();
+        assertThat(BlockDeltas.apply("abc", 1, deltaMessage(1L, new BlockContentDelta(null, 0, "x")))).isNull();
+        assertThat(BlockDeltas.apply("abc", 1, deltaMessage(1L, new BlockContentDelta(0, -1, "x")))).isNull();
+    }
+
+    @Test
+    void appliedDeltaBroadcastsWithoutContents() {
+        CanvasSocketReqDto message = deltaMessage(1L, new BlockContentDelta(0, 0, "x"));
+        message.setBlockContents("xabc");
+
+        BlockDeltas.toApplied(message, 2);
+
+        assertThat(message.getBlockContents()).isNull();
+        assertThat(message.getBlockDelta()).hasSize(1);
+        assertThat(message.getBlockVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void appliedFullContentsKeepsContents() {
+        CanvasSocketReqDto message = CanvasSocketReqDto.builder().blockContents("abc").build();
+
+        BlockDeltas.toApplied(message, 7);
+
+        assertThat(message.getBlockContents()).isEqualTo("abc");
+        assertThat(message.getBlockVersion()).isEqualTo(7L);
+    }
+
+    @Test
+    void snapshotReplacesDeltaWithCurrentContents() {
+        CanvasSocketReqDto message = deltaMessage(1L, new BlockContentDelta(0, 0, "x"));
+
+        BlockDeltas.toSnapshot(message, "server", 9);
+
+        assertThat(message.getBlockDelta()).isNull();
+        assertThat(message.getBlockContents()).isEqualTo("server");
+        assertThat(message.getBlockVersion()).isEqualTo(9L);
+    }
+
+    private CanvasSocketReqDto deltaMessage(Long baseVersion, BlockContentDelta... delta) {
+        return CanvasSocketReqDto.builder()
+                .blockDelta(List.of(delta))
+                .blockBaseVersion(baseVersion)
+                .build();
+    }
+}
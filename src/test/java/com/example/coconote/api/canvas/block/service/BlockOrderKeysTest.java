@@ -0,0 +1,103 @@
+package com.example.coconote.api.canvas.block.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlockOrderKeysTest {
+
+    @Test
+    void firstKeyAndOpenEnds() {
+        String first = BlockOrderKeys.between(null, null);
+        String before = BlockOrderKeys.between(null, first);
+        String after = BlockOrderKeys.between(first, null);
+
+        assertThat(before).isLessThan(first);
+        assertThat(after).isGreaterThan(first);
+    }
+
+    @Test
+    void keyBetweenAdjacentKeysIsStrictlyInside() {
+        assertBetween("a", "b");
+        assertBetween("a", "a1");
+        assertBetween("a0z", "a1");
+        assertBetween("zz", null);
+        assertBetween(null, "01");
+    }
+
+    @Test
+    void repeatedInsertsAtSamePositionStayOrdered() {
+        String lower = "a";
+        String upper = "b";
+        for (int i = 0; i < 200; i++) {
+            String key = BlockOrderKeys.between(lower, upper);
+            assertThat(key).isGreaterThan(lower).isLessThan(upper);
+            assertThat(key).doesNotEndWith("0");
+            upper = key;
+        }
+    }
+
+    @Test
+    void appendingKeepsKeysShort() {
+        String key = BlockOrderKeys.between(null, null);
+        for (int i = 0; i < 1000; i++) {
+            String next = BlockOrderKeys.between(key, null);
+            assertThat(next).isGreaterThan(key);
+            key = next;
+        }
+        // 맨 뒤 추가는 자리마다 35번씩 올린 뒤에야 한 자리 늘어난다
+        assertThat(key.length()).isLessThanOrEqualTo(1000 / (BlockOrderKeys.DIGITS.length() - 1) + 2);
+    }
+
+    @Test
+    void usesOnlyLowercaseDigits() {
+        String key = BlockOrderKeys.between("y", "z");
+        assertThat(key.chars()).allMatch(c -> BlockOrderKeys.DIGITS.indexOf(c) >= 0);
+    }
+
+    @Test
+    void rejectsInvertedRange() {
+        assertThatThrownBy(() -> BlockOrderKeys.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BlockOrderKeys.between("a", "a")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void evenlySpacedKeysAreSortedAndLeaveRoom() {
+        String[] keys = BlockOrderKeys.evenlySpaced(5000);
+
+        List<String> sorted = new ArrayList<>(List.of(keys));
+        sorted.sort(null);
+        assertThat(sorted).containsExactly(keys).doesNotHaveDuplicates();
+        for (int i = 1; i < keys.length; i++) {
+            assertBetween(keys[i - 1], keys[i]);
+        }
+        assertThat(keys).allMatch(key -> !key.endsWith("0"));
+    }
+
+    @Test
+    void manyKeysBetweenNeighboursAreSortedAndShort() {
+        String[] keys = BlockOrderKeys.between("a", "a1", 1000);
+
+        assertThat(keys[0]).isGreaterThan("a");
+        assertThat(keys[keys.length - 1]).isLessThan("a1");
+        for (int i = 1; i < keys.length; i++) {
+            assertThat(keys[i]).isGreaterThan(keys[i - 1]);
+        }
+        // 반씩 나누므로 1000 개여도 몇 자리만 늘어난다
+        assertThat(keys).allMatch(key -> key.length() <= 12 && !key.endsWith("0"));
+    }
+
+    private void assertBetween(String lower, String upper) {
+        String key = BlockOrderKeys.between(lower, upper);
+        if (lower != null) {
+            assertThat(key).isGreaterThan(lower);
+        }
+        if (upper != null) {
+            assertThat(key).isLessThan(upper);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.coconote.api.canvas.block.service;
+
+import com.example.coconote.api.canvas.block.entity.Block;
+import com.example.coconote.api.canvas.block.repository.BlockRepository;
+import com.example.coconote.common.IsDeleted;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlockOrderServiceTest {
+
+    private static final long CANVAS_ID = 1L;
+
+    private BlockRepository blockRepository;
+    private BlockOrderService blockOrderService;
+    private final List<Block> blocks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        blockRepository = mock(BlockRepository.class);
+        blockOrderService = new BlockOrderService(blockRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        when(blockRepository.findByCanvasIdAndIsDeletedOrderByOrderKeyAscIdAsc(eq(CANVAS_ID), eq(IsDeleted.N)))
+                .thenAnswer(invocation -> blocks.stream()
+                        .sorted(Comparator.comparing(Block::getOrderKey, Comparator.nullsFirst(Comparator.naturalOrder())))
+                        .toList());
+        when(blockRepository.findByCanvasIdAndIsDeleted(eq(CANVAS_ID), eq(IsDeleted.N))).thenAnswer(invocation -> List.copyOf(blocks));
+        when(blockRepository.existsByCanvasIdAndIsDeletedAndOrderKeyIsNull(anyLong(), eq(IsDeleted.N)))
+                .thenAnswer(invocation -> blocks.stream().anyMatch(block -> block.getOrderKey() == null));
+    }
+
+    @Test
+    void newBlockGoesAfterPrevSiblingsChildren() {
+        Block parent = add(1L, null, null, "a");
+        Block child = add(2L, parent, parent, "b");
+        Block next = add(3L, parent, null, "c");
+
+        Block created = Block.builder().prevBlock(parent).build();
+        blockOrderService.place(CANVAS_ID, created, parent, null);
+
+        assertThat(created.getOrderKey()).isGreaterThan(child.getOrderKey()).isLessThan(next.getOrderKey());
+    }
+
+    @Test
+    void firstChildGoesRightAfterParent() {
+        Block parent = add(1L, null, null, "a");
+        Block child = add(2L, parent, parent, "b");
+
+        Block created = Block.builder().prevBlock(parent).parentBlock(parent).build();
+        blockOrderService.place(CANVAS_ID, created, parent, parent);
+
+        assertThat(created.getOrderKey()).isGreaterThan(parent.getOrderKey()).isLessThan(child.getOrderKey());
+    }
+
+    @Test
+    void movedBlockTakesItsChildrenAlong() {
+        Block parent = add(1L, null, null, "a");
+        Block child = add(2L, parent, parent, "b");
+        Block last = add(3L, parent, null, "c");
+
+        blockOrderService.place(CANVAS_ID, parent, last, null);
+
+        assertThat(parent.getOrderKey()).isGreaterThan(last.getOrderKey());
+        assertThat(child.getOrderKey()).isGreaterThan(parent.getOrderKey());
+    }
+
+    @Test
+    void blockAlreadyInPlaceKeepsItsKey() {
+        Block first = add(1L, null, null, "a");
+        Block second = add(2L, first, null, "b");
+
+        blockOrderService.place(CANVAS_ID, second, first, null);
+
+        assertThat(second.getOrderKey()).isEqualTo("b");
+    }
+
+    @Test
+    void migrationOnlyKeysBlocksWithoutKey() {
+        Block first = add(1L, null, null, "m");
+        Block legacy = add(2L, first, null, null);
+        Block moved = add(3L, legacy, null, "c"); // 새 서버가 키로 맨 앞에 옮긴 블록 (연결은 갱신되지 않음)
+
+        blockOrderService.ensureOrderKeys(CANVAS_ID);
+
+        assertThat(first.getOrderKey()).isEqualTo("m");
+        assertThat(moved.getOrderKey()).isEqualTo("c");
+        assertThat(legacy.getOrderKey()).isGreaterThan("m");
+    }
+
+    private Block add(Long id, Block prevBlock, Block parentBlock, String orderKey) {
+        Block block = Block.builder().id(id).prevBlock(prevBlock).parentBlock(parentBlock).orderKey(orderKey).build();
+        blocks.add(block);
+        return block;
+    }
+}
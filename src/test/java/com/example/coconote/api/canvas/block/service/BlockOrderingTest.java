@@ -0,0 +1,66 @@
+package com.example.coconote.api.canvas.block.service;
+
+import com.example.coconote.api.canvas.block.entity.Block;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockOrderingTest {
+
+    @Test
+    void ordersChildrenBeforeNextBlock() {
+        Block first = block(1L, null, null);
+        Block second = block(2L, first, null);
+        Block child = block(3L, first, first);
+        Block grandChild = block(4L, child, child);
+        Block third = block(5L, second, null);
+
+        BlockOrdering.Result result = BlockOrdering.order(List.of(third, grandChild, second, child, first));
+
+        assertThat(ids(result)).containsExactly(1L, 3L, 4L, 2L, 5L);
+        assertThat(result.hasBrokenLinks()).isFalse();
+    }
+
+    @Test
+    void appendsOrphansAndCyclesById() {
+        Block root = block(1L, null, null);
+        Block deleted = block(99L, null, null);
+        Block orphan = block(2L, deleted, null);
+        Block cycleA = block(3L, null, null);
+        Block cycleB = block(4L, cycleA, null);
+        cycleA.changePrevBlock(cycleB);
+
+        BlockOrdering.Result result = BlockOrdering.order(List.of(cycleB, orphan, cycleA, root));
+
+        assertThat(ids(result)).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(result.orphanIds()).containsExactly(2L);
+        assertThat(result.cycleIds()).containsExactly(3L, 4L);
+        assertThat(result.hasBrokenLinks()).isTrue();
+    }
+
+    @Test
+    void handlesLongChainsWithoutRecursion() {
+        Block prev = block(1L, null, null);
+        List<Block> blocks = new ArrayList<>(List.of(prev));
+        for (long id = 2; id <= 50_000; id++) {
+            prev = block(id, prev, null);
+            blocks.add(prev);
+        }
+
+        BlockOrdering.Result result = BlockOrdering.order(blocks);
+
+        assertThat(result.ordered()).hasSize(50_000);
+        assertThat(result.ordered().get(49_999).getId()).isEqualTo(50_000L);
+    }
+
+    private Block block(Long id, Block prev, Block parent) {
+        return Block.builder().id(id).feId("fe-" + id).prevBlock(prev).parentBlock(parent).build();
+    }
+
+    private List<Long> ids(BlockOrdering.Result result) {
+        return result.ordered().stream().map(Block::getId).toList();
+    }
+}
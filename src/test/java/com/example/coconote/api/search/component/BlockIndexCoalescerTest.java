@@ -0,0 +1,87 @@
+package com.example.coconote.api.search.component;
+
+import com.example.coconote.api.search.dto.IndexEntityMessage;
+import com.example.coconote.api.search.entity.CanvasBlockDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class BlockIndexCoalescerTest {
+
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private BlockIndexCoalescer blockIndexCoalescer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        blockIndexCoalescer = new BlockIndexCoalescer(kafkaTemplate);
+        ReflectionTestUtils.setField(blockIndexCoalescer, "quietWindowMs", 60_000L);
+        ReflectionTestUtils.setField(blockIndexCoalescer, "maxDelayMs", 60_000L);
+    }
+
+    @Test
+    void keepsOnlyLatestVersionPerBlock() {
+        blockIndexCoalescer.submitBlock(1L, document(10L, 100L, "first"));
+        blockIndexCoalescer.submitBlock(1L, document(10L, 100L, "second"));
+
+        blockIndexCoalescer.flushAll();
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate, times(1)).send(eq("canvas_block_entity_search"), eq("1"), captor.capture());
+        IndexEntityMessage<?> message = (IndexEntityMessage<?>) captor.getValue();
+        assertThat(((CanvasBlockDocument) message.getEntity()).getBlockContents()).isEqualTo("second");
+        assertThat(message.getWorkspaceId()).isEqualTo(1L);
+    }
+
+    @Test
+    void waitsForQuietWindowBeforeFlushing() {
+        blockIndexCoalescer.submitBlock(1L, document(10L, 100L, "typing"));
+
+        blockIndexCoalescer.flushQuietDocuments();
+        verify(kafkaTemplate, never()).send(any(String.class), any(String.class), any());
+
+        ReflectionTestUtils.setField(blockIndexCoalescer, "quietWindowMs", 0L);
+        blockIndexCoalescer.flushQuietDocuments();
+        verify(kafkaTemplate, times(1)).send(eq("canvas_block_entity_search"), eq("1"), any());
+    }
+
+    @Test
+    void flushCanvasOnlySendsThatCanvas() {
+        blockIndexCoalescer.submitBlock(1L, document(10L, 100L, "a"));
+        blockIndexCoalescer.submitBlock(1L, document(11L, 200L, "b"));
+
+        blockIndexCoalescer.flushCanvas(100L);
+        verify(kafkaTemplate, times(1)).send(eq("canvas_block_entity_search"), eq("1"), any());
+
+        blockIndexCoalescer.flushAll();
+        verify(kafkaTemplate, times(2)).send(eq("canvas_block_entity_search"), eq("1"), any());
+    }
+
+    @Test
+    void discardedBlocksAreNotIndexed() {
+        blockIndexCoalescer.submitBlock(1L, document(10L, 100L, "a"));
+        blockIndexCoalescer.submitBlock(1L, document(11L, 100L, "b"));
+        blockIndexCoalescer.submitBlock(1L, document(12L, 200L, "c"));
+
+        blockIndexCoalescer.discardBlock(12L);
+        blockIndexCoalescer.discardCanvas(100L);
+        blockIndexCoalescer.flushAll();
+
+        verify(kafkaTemplate, never()).send(any(String.class), any(String.class), any());
+    }
+
+    private CanvasBlockDocument document(Long blockId, Long canvasId, String contents) {
+        return CanvasBlockDocument.builder().blockId(blockId).canvasId(canvasId).blockContents(contents).build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.coconote.api.search.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchCursorCodecTest {
+
+    private final SearchCursorCodec searchCursorCodec = new SearchCursorCodec();
+
+    @Test
+    void roundTripsSortValues() {
+        List<String> sortValues = List.of("1.2345", "1717171717000", "thread_42");
+
+        String cursor = searchCursorCodec.encode(sortValues);
+
+        assertThat(cursor).doesNotContain("+", "/", "=");
+        assertThat(searchCursorCodec.decode(cursor)).isEqualTo(sortValues);
+    }
+
+    @Test
+    void noCursorForEmptySortValues() {
+        assertThat(searchCursorCodec.encode(null)).isNull();
+        assertThat(searchCursorCodec.encode(List.of())).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> searchCursorCodec.decode("not a cursor!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchCursorCodec.decode("e30")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
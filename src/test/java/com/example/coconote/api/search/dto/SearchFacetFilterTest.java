@@ -0,0 +1,35 @@
+package com.example.coconote.api.search.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchFacetFilterTest {
+
+    @Test
+    void noCacheKeyWithoutConditions() {
+        assertThat(new SearchFacetFilter().cacheKey()).isNull();
+        assertThat(SearchFacetFilter.builder().channelIds(List.of()).tags(List.of()).build().cacheKey()).isNull();
+    }
+
+    @Test
+    void cacheKeyIgnoresValueOrder() {
+        SearchFacetFilter a = SearchFacetFilter.builder().channelIds(List.of(3L, 1L)).tags(List.of("b", "a")).build();
+        SearchFacetFilter b = SearchFacetFilter.builder().channelIds(List.of(1L, 3L)).tags(List.of("a", "b")).build();
+
+        assertThat(a.cacheKey()).isEqualTo(b.cacheKey());
+    }
+
+    @Test
+    void cacheKeyDistinguishesFields() {
+        SearchFacetFilter channels = SearchFacetFilter.builder().channelIds(List.of(1L)).build();
+        SearchFacetFilter members = SearchFacetFilter.builder().workspaceMemberIds(List.of(1L)).build();
+        SearchFacetFilter from = SearchFacetFilter.builder().from(LocalDate.of(2024, 1, 1)).build();
+        SearchFacetFilter to = SearchFacetFilter.builder().to(LocalDate.of(2024, 1, 1)).build();
+
+        assertThat(List.of(channels.cacheKey(), members.cacheKey(), from.cacheKey(), to.cacheKey())).doesNotHaveDuplicates();
+    }
+}
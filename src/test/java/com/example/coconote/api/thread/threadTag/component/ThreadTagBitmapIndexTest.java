@@ -0,0 +1,116 @@
+package com.example.coconote.api.thread.threadTag.component;
+
+import com.example.coconote.api.thread.threadTag.repository.ThreadTagRepository;
+import com.example.coconote.common.IsDeleted;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ThreadTagBitmapIndexTest {
+
+    private ThreadTagRepository threadTagRepository;
+    private RedisTemplate<String, Object> redisTemplate;
+    private ThreadTagBitmapIndex threadTagBitmapIndex;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        threadTagRepository = mock(ThreadTagRepository.class);
+        redisTemplate = mock(RedisTemplate.class);
+        threadTagBitmapIndex = new ThreadTagBitmapIndex(threadTagRepository, redisTemplate);
+        // (channelId, tagId, threadId)
+        when(threadTagRepository.findTagIndexEntries(IsDeleted.N)).thenReturn(List.of(
+                new Object[]{1L, 10L, 100L},
+                new Object[]{1L, 10L, 101L},
+                new Object[]{1L, 10L, 102L},
+                new Object[]{1L, 20L, 101L},
+                new Object[]{1L, 20L, 102L},
+                new Object[]{2L, 10L, 200L}
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        threadTagBitmapIndex.shutdown();
+    }
+
+    @Test
+    void emptyUntilBuilt() {
+        assertThat(threadTagBitmapIndex.findThreadIdsWithAllTags(1L, List.of(10L))).isEmpty();
+    }
+
+    @Test
+    void intersectsTagsNewestFirst() {
+        threadTagBitmapIndex.rebuild();
+
+        assertThat(threadTagBitmapIndex.findThreadIdsWithAllTags(1L, List.of(10L, 20L))).contains(List.of(102L, 101L));
+        assertThat(threadTagBitmapIndex.findThreadIdsWithAllTags(1L, List.of(10L, 10L))).contains(List.of(102L, 101L, 100L));
+        assertThat(threadTagBitmapIndex.findThreadIdsWithAllTags(2L, List.of(10L, 20L))).contains(List.of());
+        assertThat(threadTagBitmapIndex.findThreadIdsWithAllTags(3L, List.of(10L))).contains(List.of());
+        assertThat(threadTagBitmapIndex.findThreadIdsWithAllTags(1L, List.of())).contains(List.of());
+    }
+
+    @Test
+    void appliesLocalChangesAndPublishesThem() {
+        threadTagBitmapIndex.rebuild();
+
+        threadTagBitmapIndex.addThreadTag(1L, 20L, 100L);
+        threadTagBitmapIndex.removeThreadTag(1L, 10L, 102L);
+
+        assertThat(threadTagBitmapIndex.findThreadIdsWithAllTags(1L, List.of(10L, 20L))).contains(List.of(101L, 100L));
+        verify(redisTemplate, times(2)).convertAndSend(eq(ThreadTagBitmapIndex.TOPIC), any());
+    }
+
+    @Test
+    void removesTagsAndThreads() {
+        threadTagBitmapIndex.rebuild();
+
+        threadTagBitmapIndex.removeThread(1L, 101L);
+        assertThat(threadTagBitmapIndex.findThreadIdsWithAllTags(1L, List.of(10L))).contains(List.of(102L, 100L));
+
+        threadTagBitmapIndex.removeTag(1L, 20L);
+        assertThat(threadTagBitmapIndex.findThreadIdsWithAllTags(1L, List.of(20L))).contains(List.of());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void appliesEventsFromOtherNodesOnly() {
+        threadTagBitmapIndex.rebuild();
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        byte[] remote = {1};
+        byte[] own = {2};
+        when(serializer.deserialize(remote)).thenReturn(
+                new ThreadTagBitmapIndex.TagIndexEvent("other-node", ThreadTagBitmapIndex.TagIndexEvent.ADD, 2L, 20L, 200L));
+        threadTagBitmapIndex.addThreadTag(2L, 30L, 200L);
+        String ownNodeId = lastPublishedNodeId();
+        when(serializer.deserialize(own)).thenReturn(
+                new ThreadTagBitmapIndex.TagIndexEvent(ownNodeId, ThreadTagBitmapIndex.TagIndexEvent.REMOVE, 2L, 30L, 200L));
+
+        threadTagBitmapIndex.onMessage(new DefaultMessage(ThreadTagBitmapIndex.TOPIC.getBytes(), remote), null);
+        threadTagBitmapIndex.onMessage(new DefaultMessage(ThreadTagBitmapIndex.TOPIC.getBytes(), own), null);
+
+        assertThat(threadTagBitmapIndex.findThreadIdsWithAllTags(2L, List.of(10L, 20L, 30L))).contains(List.of(200L));
+    }
+
+    private String lastPublishedNodeId() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(ThreadTagBitmapIndex.TOPIC), captor.capture());
+        return ((ThreadTagBitmapIndex.TagIndexEvent) captor.getValue()).nodeId();
+    }
+}